@@ -0,0 +1,154 @@
+package model;
+
+import java.io.File;
+import java.util.List;
+import model.card.CardDefinition;
+import model.card.DeckGenerator;
+import model.card.DeckReader;
+import strategy.AlphaBetaStrategy;
+import strategy.Move;
+import strategy.Strategy;
+
+/**
+ * Builds the positions the benchmarks run on. Positions are made by letting two greedy players (an
+ * AlphaBetaStrategy that looks one move ahead) play from the start, so the same arguments always
+ * give the same position. Boards of the PawnsGame size use the deck file; larger boards use decks
+ * made by DeckGenerator from a fixed seed.
+ */
+public final class BenchmarkPositions {
+
+  /**
+   * The deck file the benchmarks use, relative to the code directory.
+   */
+  public static final String DECK_PATH = "docs" + File.separator + "deck.config";
+
+  /**
+   * The number of rows of the benchmark board, same as PawnsGame.
+   */
+  public static final int ROWS = 5;
+
+  /**
+   * The number of columns of the benchmark board, same as PawnsGame.
+   */
+  public static final int COLS = 7;
+
+  /**
+   * The hand size of the benchmark players, same as PawnsGame.
+   */
+  public static final int HAND_SIZE = 5;
+
+  private static final long SEED = 42;
+
+  private BenchmarkPositions() {
+  }
+
+  /**
+   * Starts a new game with freshly read decks.
+   *
+   * @param updated true for an UpdatedGameBoard, false for a GameBoard.
+   * @return the started board.
+   */
+  public static Board start(boolean updated) {
+    DeckReader reader = new DeckReader();
+    return start(updated, reader.readDefinitions(DECK_PATH),
+        reader.readDefinitionsReverse(DECK_PATH));
+  }
+
+  /**
+   * Starts a new game with new cards made from the given decks, as a card can only ever have one
+   * owner.
+   *
+   * @param updated  true for an UpdatedGameBoard, false for a GameBoard.
+   * @param redDeck  red's deck.
+   * @param blueDeck blue's deck.
+   * @return the started board.
+   */
+  public static Board start(boolean updated, List<CardDefinition> redDeck,
+      List<CardDefinition> blueDeck) {
+    return start(updated, ROWS, COLS, redDeck, blueDeck);
+  }
+
+  /**
+   * Starts a new game on a board of the given size. Boards other than the PawnsGame size get
+   * generated decks with exactly enough cards for the board, blue's being red's reversed.
+   *
+   * @param updated true for an UpdatedGameBoard, false for a GameBoard.
+   * @param rows    the number of rows.
+   * @param cols    the number of columns, odd and more than 1.
+   * @return the started board.
+   */
+  public static Board start(boolean updated, int rows, int cols) {
+    if (rows == ROWS && cols == COLS) {
+      return start(updated);
+    }
+    List<CardDefinition> redDeck = DeckGenerator.generate(rows * cols, updated, SEED);
+    return start(updated, rows, cols, redDeck, CardDefinition.reverseAll(redDeck));
+  }
+
+  private static Board start(boolean updated, int rows, int cols, List<CardDefinition> redDeck,
+      List<CardDefinition> blueDeck) {
+    Player red = new SimplePlayer(HAND_SIZE, true);
+    red.setDeck(CardDefinition.newDeck(redDeck));
+    Player blue = new SimplePlayer(HAND_SIZE, false);
+    blue.setDeck(CardDefinition.newDeck(blueDeck));
+    Board board = updated ? new UpdatedGameBoard(rows, cols) : new GameBoard(rows, cols);
+    board.startGame(red, blue);
+    return board;
+  }
+
+  /**
+   * Returns a game that has been played for the given number of turns. The player to move has
+   * already drawn the card the board would draw at the start of their turn, so their hand is full
+   * the way it is when their move is checked.
+   *
+   * @param updated true for an UpdatedGameBoard, false for a GameBoard.
+   * @param turns   how many turns to play.
+   * @return the board in the middle of the game.
+   * @throws IllegalStateException if the game ends before the given number of turns.
+   */
+  public static Board midGame(boolean updated, int turns) {
+    return midGame(updated, ROWS, COLS, turns);
+  }
+
+  /**
+   * Returns a game on a board of the given size that has been played for the given number of
+   * turns, like midGame on the PawnsGame board.
+   *
+   * @param updated true for an UpdatedGameBoard, false for a GameBoard.
+   * @param rows    the number of rows.
+   * @param cols    the number of columns, odd and more than 1.
+   * @param turns   how many turns to play.
+   * @return the board in the middle of the game.
+   * @throws IllegalStateException if the game ends before the given number of turns.
+   */
+  public static Board midGame(boolean updated, int rows, int cols, int turns) {
+    Board board = start(updated, rows, cols);
+    Strategy strategy = greedy();
+    for (int i = 0; i < turns; i++) {
+      if (board.isGameOver()) {
+        throw new IllegalStateException("Game ended after " + i + " turns.");
+      }
+      Player player = board.getTurn() ? board.getP1() : board.getP2();
+      Move move = strategy.getMove(board, player);
+      if (move.isPass()) {
+        board.passTurn(player);
+      } else {
+        board.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+      }
+    }
+    Player toMove = board.getTurn() ? board.getP1() : board.getP2();
+    if (toMove.getHand().size() < toMove.getHandSize() && !toMove.getDeck().isEmpty()) {
+      toMove.drawFromDeckToHand();
+    }
+    return board;
+  }
+
+  /**
+   * Returns the strategy positions are played with.
+   *
+   * @return a strategy that picks the move with the best score after one move.
+   */
+  public static Strategy greedy() {
+    return new AlphaBetaStrategy(60_000, 1);
+  }
+}
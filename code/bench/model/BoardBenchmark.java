@@ -0,0 +1,169 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.card.Card;
+import model.card.CardDefinition;
+import model.card.DeckReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import strategy.Move;
+import strategy.Strategy;
+
+/**
+ * Benchmarks for the board's hot paths: placing cards, applying influence and scoring. In the
+ * model package so that the protected applyInfluence can be called directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+  @Param({"false", "true"})
+  public boolean updated;
+
+  private List<CardDefinition> redDeck;
+  private List<CardDefinition> blueDeck;
+  private List<Move> script;
+  private Board midGame;
+
+  /**
+   * Reads the decks once, records the moves of a whole game between greedy players to replay, and
+   * builds a mid-game position to score.
+   */
+  @Setup
+  public void setUp() {
+    DeckReader reader = new DeckReader();
+    redDeck = reader.readDefinitions(BenchmarkPositions.DECK_PATH);
+    blueDeck = reader.readDefinitionsReverse(BenchmarkPositions.DECK_PATH);
+    script = new ArrayList<>();
+    Board board = BenchmarkPositions.start(updated, redDeck, blueDeck);
+    Strategy strategy = BenchmarkPositions.greedy();
+    while (!board.isGameOver()) {
+      Player player = board.getTurn() ? board.getP1() : board.getP2();
+      Move move = strategy.getMove(board, player);
+      script.add(move);
+      play(board, move);
+    }
+    midGame = BenchmarkPositions.midGame(updated, 10);
+  }
+
+  /**
+   * Starts a game, as a baseline for placeCard.
+   *
+   * @return the started board.
+   */
+  @Benchmark
+  public Board startGame() {
+    return BenchmarkPositions.start(updated, redDeck, blueDeck);
+  }
+
+  /**
+   * Starts a game and replays a whole game of moves on it. Subtract startGame for the cost of the
+   * moves alone.
+   *
+   * @return the finished board.
+   */
+  @Benchmark
+  public Board placeCard() {
+    Board board = BenchmarkPositions.start(updated, redDeck, blueDeck);
+    for (Move move : script) {
+      play(board, move);
+    }
+    return board;
+  }
+
+  /**
+   * Applies a card's influence to the middle of a mid-game board. Every call gets a fresh board,
+   * because influence changes the board: applied again and again it would keep adding to the value
+   * modifiers and never do the same work twice. A single call is too short to time on its own, so
+   * each iteration times a batch of calls on boards restored before the iteration starts and
+   * reports the time per call.
+   *
+   * @param positions the fresh boards.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 5, batchSize = InfluencePositions.BATCH)
+  @Measurement(iterations = 5, batchSize = InfluencePositions.BATCH)
+  @OperationsPerInvocation(InfluencePositions.BATCH)
+  public void applyInfluence(InfluencePositions positions) {
+    int i = positions.nextBoard++;
+    positions.boards[i].applyInfluence(positions.influencers[i], positions.cards[i], 2, 3);
+  }
+
+  /**
+   * Scores a mid-game board for red.
+   *
+   * @return red's total score.
+   */
+  @Benchmark
+  public int getTotalScore() {
+    return midGame.getTotalScore(midGame.getP1());
+  }
+
+  /**
+   * A batch of mid-game boards restored from a snapshot before every iteration of applyInfluence,
+   * one for each call, along with each board's player to move and the first card in their hand.
+   */
+  @State(Scope.Thread)
+  public static class InfluencePositions {
+
+    static final int BATCH = 1024;
+
+    private final GameBoard[] boards = new GameBoard[BATCH];
+    private final Player[] influencers = new Player[BATCH];
+    private final Card[] cards = new Card[BATCH];
+    private ByteBuffer snapshot;
+    private int nextBoard;
+
+    /**
+     * Saves the mid-game board once.
+     *
+     * @param benchmark the benchmark, for the rules to play by.
+     */
+    @Setup
+    public void save(BoardBenchmark benchmark) {
+      Board board = BenchmarkPositions.midGame(benchmark.updated, 10);
+      snapshot = BoardSnapshot.write((GameBoard) board);
+    }
+
+    /**
+     * Restores a board for every call of the coming iteration, which is not timed.
+     */
+    @Setup(Level.Iteration)
+    public void restore() {
+      for (int i = 0; i < BATCH; i++) {
+        boards[i] = BoardSnapshot.read(snapshot.duplicate());
+        influencers[i] = boards[i].getTurn() ? boards[i].getP1() : boards[i].getP2();
+        cards[i] = influencers[i].getHand().get(0);
+      }
+      nextBoard = 0;
+    }
+  }
+
+  private static void play(Board board, Move move) {
+    Player player = board.getTurn() ? board.getP1() : board.getP2();
+    if (move.isPass()) {
+      board.passTurn(player);
+    } else {
+      board.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package model.card;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.BenchmarkPositions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for reading the standard deck file with each reader.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckReaderBenchmark {
+
+  private final DeckReader reader = new DeckReader();
+  private final StreamingDeckReader streamingReader = new StreamingDeckReader();
+  private final MappedDeckReader mappedReader = new MappedDeckReader();
+  private String compiledPath;
+
+  /**
+   * Compiles docs/deck.config to a temporary file for the mapped reader.
+   *
+   * @throws IOException if the temporary file cannot be created.
+   */
+  @Setup
+  public void compile() throws IOException {
+    File compiled = File.createTempFile("deck", MappedDeckReader.EXTENSION);
+    compiled.deleteOnExit();
+    compiledPath = compiled.getPath();
+    DeckCompiler.compile(BenchmarkPositions.DECK_PATH, compiledPath);
+  }
+
+  /**
+   * Reads docs/deck.config.
+   *
+   * @return the deck.
+   */
+  @Benchmark
+  public List<Card> readDeck() {
+    return reader.readDeck(BenchmarkPositions.DECK_PATH);
+  }
+
+  /**
+   * Reads docs/deck.config with the streaming reader.
+   *
+   * @return the deck.
+   */
+  @Benchmark
+  public List<Card> readDeckStreaming() {
+    return streamingReader.readDeck(BenchmarkPositions.DECK_PATH);
+  }
+
+  /**
+   * Loads the compiled docs/deck.config with the mapped reader and decodes every card, as setting
+   * up a player would.
+   *
+   * @return the deck.
+   */
+  @Benchmark
+  public List<Card> readDeckMapped() {
+    List<Card> deck = mappedReader.readDeck(compiledPath);
+    for (int i = 0; i < deck.size(); i++) {
+      deck.get(i);
+    }
+    return deck;
+  }
+}
@@ -0,0 +1,89 @@
+package strategy;
+
+import java.util.concurrent.TimeUnit;
+import model.Board;
+import model.BenchmarkPositions;
+import model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for every strategy's getMove on the same mid-game position. The search strategies are
+ * given a fixed depth or a short budget, so their numbers measure the search rather than the
+ * budget. Positions are played on the PawnsGame board and on a larger one, where the parallel
+ * board control strategy has enough placements to split; run with different numbers of cores
+ * (for example -Djava.util.concurrent.ForkJoinPool.common.parallelism) to see how it scales.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+  @Param({"fillFirst", "maximizeRowScore", "boardControl", "parallelBoardControl", "alphaBeta"})
+  public String strategy;
+
+  @Param({"5x7", "15x31"})
+  public String board;
+
+  @Param({"false", "true"})
+  public boolean updated;
+
+  @Param({"8"})
+  public int turns;
+
+  private Strategy subject;
+  private Board position;
+  private Player player;
+
+  /**
+   * Builds the position and the strategy under test.
+   */
+  @Setup
+  public void setUp() {
+    String[] size = board.split("x");
+    position = BenchmarkPositions.midGame(updated, Integer.parseInt(size[0]),
+        Integer.parseInt(size[1]), turns);
+    player = position.getTurn() ? position.getP1() : position.getP2();
+    switch (strategy) {
+      case "fillFirst":
+        subject = new FillFirstStrategy();
+        break;
+      case "maximizeRowScore":
+        subject = new MaximizeRowScoreStrategy();
+        break;
+      case "boardControl":
+        subject = new BoardControlStrategy();
+        break;
+      case "parallelBoardControl":
+        subject = new ParallelBoardControlStrategy();
+        break;
+      case "alphaBeta":
+        subject = new AlphaBetaStrategy(60_000, 3);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown strategy " + strategy);
+    }
+  }
+
+  /**
+   * Asks the strategy for its move.
+   *
+   * @return the move.
+   */
+  @Benchmark
+  public Move getMove() {
+    return subject.getMove(position, player);
+  }
+}
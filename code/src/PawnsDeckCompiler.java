@@ -0,0 +1,24 @@
+import model.card.DeckCompiler;
+import model.card.MappedDeckReader;
+
+/**
+ * Main class for compiling a deck configuration file into the binary deck format, which loads
+ * much faster for large decks.
+ */
+public final class PawnsDeckCompiler {
+
+  /**
+   * Main method. Compiles the deck.
+   * @param args the command line args.
+   */
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      System.err.println("Usage: PawnsDeckCompiler <deck_config> <compiled_deck>");
+      System.err.println("Example: PawnsDeckCompiler code/docs/deck.config code/docs/standard"
+          + MappedDeckReader.EXTENSION);
+      return;
+    }
+    DeckCompiler.compile(args[0], args[1]);
+    System.out.println("Compiled " + args[0] + " to " + args[1]);
+  }
+}
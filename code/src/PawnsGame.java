@@ -1,16 +1,24 @@
 import controller.PawnsGameController;
+import java.util.Arrays;
 import java.util.List;
 import javax.swing.SwingUtilities;
-import model.Board;
 import model.GameBoard;
 import model.Player;
 import model.SimplePlayer;
 import model.UpdatedGameBoard;
 import model.card.Card;
-import model.card.DeckReader;
+import model.card.CachingReader;
+import model.card.Reader;
+import model.card.StreamingDeckReader;
+import model.record.GameLogWriter;
+import model.record.GameRecord;
+import model.record.GameRecorder;
+import strategy.AlphaBetaStrategy;
 import strategy.BoardControlStrategy;
 import strategy.FillFirstStrategy;
 import strategy.MaximizeRowScoreStrategy;
+import strategy.MonteCarloStrategy;
+import strategy.ParallelBoardControlStrategy;
 import strategy.Strategy;
 import view.AccessiblePawnsBoardGame;
 import view.PawnsBoardGame;
@@ -21,18 +29,21 @@ import view.PawnsBoardGame;
  */
 public final class PawnsGame {
 
+  private static final String LOG_FLAG = "--log";
+
   /**
    * Main method. Runs the program.
    * @param args the command line args.
    */
   public static void main(String[] args) {
-    if (args.length < 6) {
-      System.err.println(
-          "Usage: PawnsGame <game_type> <view_mode> <red_deck> <blue_deck> <red_player> "
-              + "<blue_player>");
-      System.err.println(
-          "Example: PawnsGame original accessible code/docs/deck.config "
-              + "code/docs/deck.config human human");
+    final String logPath = getLogPath(args);
+    args = withoutLogPath(args);
+    if (args.length < 6 || args.length > 9) {
+      printUsage();
+      return;
+    }
+    if (args.length > 6 && args.length < 9) {
+      System.err.println("Give the rows, columns and hand size together.");
       return;
     }
 
@@ -42,17 +53,35 @@ public final class PawnsGame {
     final String blueDeckPath = args[3];
     final String redPlayerType = args[4].toLowerCase();
     final String bluePlayerType = args[5].toLowerCase();
+    final int rows;
+    final int cols;
+    final int handSize;
+    try {
+      rows = args.length > 6 ? Integer.parseInt(args[6]) : 5;
+      cols = args.length > 6 ? Integer.parseInt(args[7]) : 7;
+      handSize = args.length > 6 ? Integer.parseInt(args[8]) : 5;
+    } catch (NumberFormatException e) {
+      System.err.println("The rows, columns and hand size must be whole numbers.");
+      printUsage();
+      return;
+    }
 
-    final DeckReader reader = new DeckReader();
+    // Both decks are often the same file, which is then only parsed once.
+    final Reader reader = new CachingReader(new StreamingDeckReader(), 2);
     final List<Card> redDeck = reader.readDeck(redDeckPath);
     final List<Card> blueDeck = reader.readDeckReverse(blueDeckPath);
 
-    final Player redPlayer = new SimplePlayer(5, true);
-    final Player bluePlayer = new SimplePlayer(5, false);
+    final Player redPlayer = new SimplePlayer(handSize, true);
+    final Player bluePlayer = new SimplePlayer(handSize, false);
     redPlayer.setDeck(redDeck);
     bluePlayer.setDeck(blueDeck);
-    final Board board = whichGame ? new GameBoard(5, 7)
-        : new UpdatedGameBoard(5, 7);
+    final GameBoard board = whichGame ? new GameBoard(rows, cols)
+        : new UpdatedGameBoard(rows, cols);
+    if (logPath != null) {
+      // The log is flushed after every game, so it is never closed.
+      board.setRecorder(new GameRecorder(new GameRecord(whichGame, rows, cols, handSize,
+          redDeckPath, blueDeckPath, 0).withDeckHashes(), new GameLogWriter(logPath)));
+    }
     board.startGame(redPlayer, bluePlayer);
 
     // Create appropriate views based on accessibility mode
@@ -93,17 +122,47 @@ public final class PawnsGame {
       blueView.makeVisible();
       if (redStrategy != null) {
         System.out.println("Red is " + redStrategy.getClass().getSimpleName());
-        redController.playGame();
       }
-
       if (blueStrategy != null) {
         System.out.println("Blue is " + blueStrategy.getClass().getSimpleName());
-        blueController.playGame();
       }
+      redController.playGame();
+      blueController.playGame();
     });
   }
 
-  private static Strategy getStrat(String type) {
+  private static void printUsage() {
+    System.err.println(
+        "Usage: PawnsGame <game_type> <view_mode> <red_deck> <blue_deck> <red_player> "
+            + "<blue_player> [rows cols hand_size] [--log <file>]");
+    System.err.println(
+        "Example: PawnsGame original accessible code/docs/deck.config "
+            + "code/docs/deck.config human human");
+  }
+
+  /**
+   * Returns the file given after --log in the command line args, or null if there is none.
+   */
+  static String getLogPath(String[] args) {
+    int flag = Arrays.asList(args).indexOf(LOG_FLAG);
+    return flag >= 0 && flag + 1 < args.length ? args[flag + 1] : null;
+  }
+
+  /**
+   * Returns the command line args without --log and the file after it.
+   */
+  static String[] withoutLogPath(String[] args) {
+    int flag = Arrays.asList(args).indexOf(LOG_FLAG);
+    if (flag < 0 || flag + 1 >= args.length) {
+      return args;
+    }
+    String[] rest = new String[args.length - 2];
+    System.arraycopy(args, 0, rest, 0, flag);
+    System.arraycopy(args, flag + 2, rest, flag, args.length - flag - 2);
+    return rest;
+  }
+
+  static Strategy getStrat(String type) {
     switch (type) {
       case "human":
         return null;
@@ -113,6 +172,12 @@ public final class PawnsGame {
         return new MaximizeRowScoreStrategy();
       case "strategy3":
         return new BoardControlStrategy();
+      case "strategy4":
+        return new AlphaBetaStrategy(1000);
+      case "strategy5":
+        return new MonteCarloStrategy(1000);
+      case "strategy6":
+        return new ParallelBoardControlStrategy();
       default:
         System.err.println("Invalid strategy type");
         return null;
@@ -0,0 +1,44 @@
+import java.io.IOException;
+import model.GameBoard;
+import model.record.GameLogReader;
+import model.record.GameRecord;
+import model.record.ReplayEngine;
+import view.SimpleTextualView;
+
+/**
+ * Main class for replaying a game from a game log written by PawnsGame or PawnsTournament, and
+ * printing the board as it was after any number of its moves.
+ */
+public final class PawnsReplay {
+
+  /**
+   * Main method. Replays the game.
+   * @param args the command line args.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: PawnsReplay <game_log> <game> [moves]");
+      System.err.println("Example: PawnsReplay games.log 0 10");
+      return;
+    }
+    int game = Integer.parseInt(args[1]);
+    GameRecord record;
+    try (GameLogReader reader = new GameLogReader(args[0])) {
+      for (int i = 0; i < game && reader.skip(); i++) {
+        // Skip the games before the one asked for.
+      }
+      record = reader.next();
+    }
+    if (record == null) {
+      System.err.println("The log has no game " + game);
+      return;
+    }
+    int moves = args.length > 2 ? Integer.parseInt(args[2]) : record.getMoveCount();
+    GameBoard board = new ReplayEngine().replay(record, moves);
+    System.out.println("Game " + game + " after " + moves + " of " + record.getMoveCount()
+        + " moves");
+    System.out.print(new SimpleTextualView(board));
+    System.out.println("Red " + board.getTotalScore(board.getP1()) + ", blue "
+        + board.getTotalScore(board.getP2()));
+  }
+}
@@ -0,0 +1,100 @@
+import controller.Tournament;
+import controller.TournamentResult;
+import java.io.IOException;
+import model.record.GameLogWriter;
+
+/**
+ * Main class for playing many games between two strategies without any views, and printing how
+ * each side did. The board and hand size can be given after the number of threads, and a deck
+ * named "synthetic" is generated to fit the board, so large boards can be played to see how the
+ * game and the strategies cope with them. With --log followed by a file, every game is appended
+ * to that game log, which PawnsReplay can play back.
+ */
+public final class PawnsTournament {
+
+  private static final String SYNTHETIC = "synthetic";
+  private static final long SYNTHETIC_SEED = 42;
+
+  /**
+   * Main method. Runs the tournament.
+   * @param args the command line args.
+   */
+  public static void main(String[] args) {
+    final String logPath = PawnsGame.getLogPath(args);
+    args = PawnsGame.withoutLogPath(args);
+    if (args.length < 6 || args.length > 10) {
+      printUsage();
+      return;
+    }
+    if (args.length > 7 && args.length < 10) {
+      System.err.println("Give the rows, columns and hand size together.");
+      return;
+    }
+
+    final boolean whichGame = args[0].equals("original");
+    final String redPlayerType = args[3].toLowerCase();
+    final String bluePlayerType = args[4].toLowerCase();
+    final int games;
+    final int threads;
+    final int rows;
+    final int cols;
+    final int handSize;
+    try {
+      games = Integer.parseInt(args[5]);
+      threads = args.length > 6 ? Integer.parseInt(args[6])
+          : Runtime.getRuntime().availableProcessors();
+      rows = args.length > 7 ? Integer.parseInt(args[7]) : 5;
+      cols = args.length > 7 ? Integer.parseInt(args[8]) : 7;
+      handSize = args.length > 7 ? Integer.parseInt(args[9]) : 5;
+    } catch (NumberFormatException e) {
+      System.err.println("The games, threads, rows, columns and hand size must be whole numbers.");
+      printUsage();
+      return;
+    }
+
+    if (PawnsGame.getStrat(redPlayerType) == null || PawnsGame.getStrat(bluePlayerType) == null) {
+      System.err.println("Both players must be strategies.");
+      return;
+    }
+
+    Tournament tournament;
+    if (args[1].equals(SYNTHETIC) || args[2].equals(SYNTHETIC)) {
+      if (!args[1].equals(args[2])) {
+        System.err.println("Either both decks or neither must be synthetic.");
+        return;
+      }
+      tournament = Tournament.synthetic(whichGame, SYNTHETIC_SEED,
+          () -> PawnsGame.getStrat(redPlayerType), () -> PawnsGame.getStrat(bluePlayerType),
+          rows, cols, handSize);
+    } else {
+      tournament = new Tournament(whichGame, args[1], args[2],
+          () -> PawnsGame.getStrat(redPlayerType), () -> PawnsGame.getStrat(bluePlayerType),
+          rows, cols, handSize);
+    }
+    TournamentResult result;
+    if (logPath == null) {
+      result = tournament.play(games, threads);
+    } else {
+      try (GameLogWriter log = new GameLogWriter(logPath)) {
+        result = tournament.play(games, threads, log);
+      } catch (IOException e) {
+        throw new IllegalStateException("Could not close game log: " + logPath, e);
+      }
+    }
+    System.out.println("Red is " + redPlayerType + ", blue is " + bluePlayerType + " on a "
+        + rows + "x" + cols + " board with hands of " + handSize);
+    System.out.println(result);
+  }
+
+  private static void printUsage() {
+    System.err.println(
+        "Usage: PawnsTournament <game_type> <red_deck> <blue_deck> <red_player> <blue_player> "
+            + "<games> [threads] [rows cols hand_size] [--log <file>]");
+    System.err.println(
+        "Example: PawnsTournament original code/docs/deck.config code/docs/deck.config "
+            + "strategy1 strategy4 1000");
+    System.err.println(
+        "Example: PawnsTournament updated synthetic synthetic strategy1 strategy2 10 1 "
+            + "101 201 5");
+  }
+}
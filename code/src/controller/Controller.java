@@ -43,7 +43,8 @@ public interface Controller extends PawnsBoardViewListener, CommandListener {
   void processAICommand();
 
   /**
-   * Plays the game for the AI.
+   * Starts playing the game: the controller follows the board from now on, and an AI makes its
+   * moves whenever it is its turn.
    */
   void playGame();
 
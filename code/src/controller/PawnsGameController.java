@@ -1,7 +1,11 @@
 package controller;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 import model.Board;
+import model.BoardListener;
 import model.Player;
 import strategy.Move;
 import strategy.Strategy;
@@ -9,13 +13,18 @@ import view.PawnsBoardViewInterface;
 
 /**
  * Controller implementation for the PawnsGame. Each Player has their own specific controller, which
- * interacts with the model and the view on behalf of each player.
+ * interacts with the model and the view on behalf of each player. Once the game is played, the
+ * controller listens to the board and an AI makes its move as soon as its turn comes up, on its own
+ * thread so that the player who just moved is never kept waiting; if the board rejects an AI's
+ * move, the AI passes instead. Everything shown to the user is shown on the event thread. When
+ * the game ends, every player, human or AI, is told the result once.
  */
-public class PawnsGameController implements Controller {
+public class PawnsGameController implements Controller, BoardListener {
 
   private final Board board;
   private final Player player;
   private final Strategy strat;
+  private final ExecutorService aiExecutor;
   private PawnsBoardViewInterface view;
   private int selectedRow;
   private int selectedCol;
@@ -37,6 +46,7 @@ public class PawnsGameController implements Controller {
     this.board = board;
     this.player = player;
     this.strat = null;
+    this.aiExecutor = null;
     this.selectedRow = -1;
     this.selectedCol = -1;
     this.cardIdx = -1;
@@ -62,6 +72,11 @@ public class PawnsGameController implements Controller {
     this.board = board;
     this.player = player;
     this.strat = strat;
+    this.aiExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, (player.getIsRed() ? "Red" : "Blue") + " AI");
+      thread.setDaemon(true);
+      return thread;
+    });
     this.selectedCol = -1;
     this.selectedRow = -1;
     this.cardIdx = -1;
@@ -108,9 +123,6 @@ public class PawnsGameController implements Controller {
         selectedRow = -1;
         selectedCol = -1;
         cardIdx = -1;
-        if (board.isGameOver()) {
-          announceGameOver();
-        }
       } catch (IllegalArgumentException | IllegalStateException e) {
         JOptionPane.showMessageDialog(null, "Invalid Move."
             + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -135,29 +147,44 @@ public class PawnsGameController implements Controller {
   public void processAICommand() {
 
     if (strat == null) {
-      JOptionPane.showMessageDialog(null, "Not an AI.",
-          "Error", JOptionPane.ERROR_MESSAGE);
+      showError("Not an AI.");
+      return;
     }
     Move move = strat.getMove(board, player);
-    if (move.isPass()) {
+    boolean pass = move.isPass();
+    if (!pass) {
       try {
-        board.passTurn(player);
+        board.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
       } catch (IllegalArgumentException | IllegalStateException e) {
-        JOptionPane.showMessageDialog(null, "Invalid Move."
-            + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        // Nothing would ask this AI to move again, so it passes instead, as in a tournament.
+        showError("Invalid Move." + e.getMessage());
+        pass = true;
       }
-    } else {
+    }
+    if (pass) {
       try {
-        board.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+        board.passTurn(player);
       } catch (IllegalArgumentException | IllegalStateException e) {
-        JOptionPane.showMessageDialog(null, "Invalid Move."
-            + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        showError("Invalid Move." + e.getMessage());
       }
     }
-    if (board.isGameOver()) {
-      announceGameOver();
-    }
-    view.refreshBoard(board, player);
+    refreshView();
+  }
+
+  /**
+   * Shows an error on the event thread, since an AI moves on its own thread.
+   */
+  private void showError(String message) {
+    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, message, "Error",
+        JOptionPane.ERROR_MESSAGE));
+  }
+
+  /**
+   * Refreshes the view on the event thread, since the board tells its listeners on the thread
+   * that made the move.
+   */
+  private void refreshView() {
+    SwingUtilities.invokeLater(() -> view.refreshBoard(board, player));
   }
 
 
@@ -167,6 +194,7 @@ public class PawnsGameController implements Controller {
       if (winner == null) {
         JOptionPane.showMessageDialog(null, "Game Over. It's A Tie!",
             "Game Over", JOptionPane.INFORMATION_MESSAGE);
+        return;
       }
       int winningScore = board.getTotalScore(player);
       if (winner == player) {
@@ -187,24 +215,48 @@ public class PawnsGameController implements Controller {
 
   @Override
   public void playGame() {
-    new Thread(() -> {
-      try {
-        while (!board.isGameOver()) {
-          if (board.getTurn() == player.getIsRed()) {
-            if (this.strat != null) {
-              processAICommand();
-            } else {
-              continue;
-            }
-          }
-          Thread.sleep(200);
-        }
-        announceGameOver();
-      } catch (IllegalArgumentException | IllegalStateException e) {
-        view.displayMessage("Invalid Move.");
-      } catch (InterruptedException ex) {
-        view.displayMessage("?");
+    board.addListener(this);
+    if (board.isGameOver()) {
+      gameOver();
+    } else {
+      turnChanged(board.getTurn());
+    }
+  }
+
+  @Override
+  public void cellChanged(int row, int col) {
+    // The views redraw changed squares themselves; players only act on whole moves.
+  }
+
+  @Override
+  public void turnChanged(boolean redTurn) {
+    if (strat == null) {
+      refreshView();
+    } else if (redTurn == player.getIsRed()) {
+      aiExecutor.execute(this::playAiTurn);
+    }
+  }
+
+  @Override
+  public void gameOver() {
+    if (aiExecutor != null) {
+      aiExecutor.shutdown();
+    }
+    // The board tells its listeners in the middle of the move that ended the game, which may be
+    // on an AI's thread, so the result is shown once that move is over, on the event thread.
+    SwingUtilities.invokeLater(() -> {
+      view.refreshBoard(board, player);
+      announceGameOver();
+    });
+  }
+
+  private void playAiTurn() {
+    try {
+      if (!board.isGameOver() && board.getTurn() == player.getIsRed()) {
+        processAICommand();
       }
-    }).start();
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      SwingUtilities.invokeLater(() -> view.displayMessage("Invalid Move."));
+    }
   }
 }
@@ -0,0 +1,317 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import model.Board;
+import model.GameBoard;
+import model.Player;
+import model.SimplePlayer;
+import model.UpdatedGameBoard;
+import model.card.CachingReader;
+import model.card.CardDefinition;
+import model.card.DeckGenerator;
+import model.card.MappedDeckReader;
+import model.card.Reader;
+import model.card.StreamingDeckReader;
+import model.record.GameLogWriter;
+import model.record.GameRecord;
+import model.record.GameRecorder;
+import strategy.Move;
+import strategy.Strategy;
+
+/**
+ * Headless runner that plays many games between two strategies without any views, spread over a
+ * number of threads. The decks are read once per call to play, as card definitions shared by every
+ * game, and each game gets a new board and new cards made from them. Each thread asks the
+ * strategy suppliers for its own strategies, so strategies that keep state between moves are never
+ * shared between games that run at the same time.
+ *
+ * <p>Moves the board rejects are counted and turned into passes, the same way a player who cannot
+ * make their move has to pass.</p>
+ *
+ * <p>Deck paths ending in MappedDeckReader.EXTENSION are loaded as compiled decks, anything else
+ * as deck configuration files, which are cached between tournaments until they change. Decks that
+ * are already loaded can be given directly, and synthetic makes decks with DeckGenerator, which
+ * together with the board and hand size allows playing boards far larger than any deck file
+ * covers.</p>
+ *
+ * <p>Games can be appended to a game log as they finish, to be replayed later by ReplayEngine.</p>
+ */
+public class Tournament {
+
+  private static final int ROWS = 5;
+  private static final int COLS = 7;
+  private static final int HAND_SIZE = 5;
+  // Deck files shared by every tournament, so running many tournaments on the same decks only
+  // parses them once.
+  private static final Reader TEXT_DECKS = new CachingReader(new StreamingDeckReader(), 16);
+
+  private final boolean original;
+  private final Supplier<List<CardDefinition>> redDeck;
+  private final Supplier<List<CardDefinition>> blueDeck;
+  private final Supplier<Strategy> redStrategy;
+  private final Supplier<Strategy> blueStrategy;
+  private final int rows;
+  private final int cols;
+  private final int handSize;
+  // The record each game starts from when games are logged.
+  private final GameRecord header;
+
+  /**
+   * Constructor for a tournament on the usual 5x7 board with hands of 5 cards.
+   *
+   * @param original     true to play the original rules on a GameBoard, false to play the updated
+   *                     rules on an UpdatedGameBoard.
+   * @param redDeckPath  the deck file for red.
+   * @param blueDeckPath the deck file for blue, which is read in reverse like in PawnsGame.
+   * @param redStrategy  supplies red's strategy, called once per thread.
+   * @param blueStrategy supplies blue's strategy, called once per thread.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public Tournament(boolean original, String redDeckPath, String blueDeckPath,
+      Supplier<Strategy> redStrategy, Supplier<Strategy> blueStrategy) {
+    this(original, redDeckPath, blueDeckPath, redStrategy, blueStrategy, ROWS, COLS, HAND_SIZE);
+  }
+
+  /**
+   * Constructor for a tournament on a board of any size.
+   *
+   * @param original     true to play the original rules on a GameBoard, false to play the updated
+   *                     rules on an UpdatedGameBoard.
+   * @param redDeckPath  the deck file for red.
+   * @param blueDeckPath the deck file for blue, which is read in reverse like in PawnsGame.
+   * @param redStrategy  supplies red's strategy, called once per thread.
+   * @param blueStrategy supplies blue's strategy, called once per thread.
+   * @param rows         the number of rows on the board.
+   * @param cols         the number of columns on the board, odd and more than 1.
+   * @param handSize     the number of cards in each player's hand.
+   * @throws IllegalArgumentException if any argument is null or the sizes are invalid.
+   */
+  public Tournament(boolean original, String redDeckPath, String blueDeckPath,
+      Supplier<Strategy> redStrategy, Supplier<Strategy> blueStrategy, int rows, int cols,
+      int handSize) {
+    this(original, deckFile(redDeckPath, false), deckFile(blueDeckPath, true), redStrategy,
+        blueStrategy, rows, cols, handSize, redDeckPath, blueDeckPath, 0);
+  }
+
+  /**
+   * Constructor for a tournament on decks that are already loaded. Blue's deck is used as given,
+   * so it should already be reversed. Logged games do not say which decks were played, so they
+   * can only be replayed by giving ReplayEngine the same decks.
+   *
+   * @param original     true to play the original rules on a GameBoard, false to play the updated
+   *                     rules on an UpdatedGameBoard.
+   * @param redDeck      the card definitions for red.
+   * @param blueDeck     the card definitions for blue.
+   * @param redStrategy  supplies red's strategy, called once per thread.
+   * @param blueStrategy supplies blue's strategy, called once per thread.
+   * @param rows         the number of rows on the board.
+   * @param cols         the number of columns on the board, odd and more than 1.
+   * @param handSize     the number of cards in each player's hand.
+   * @throws IllegalArgumentException if any argument is null or the sizes are invalid.
+   */
+  public Tournament(boolean original, List<CardDefinition> redDeck, List<CardDefinition> blueDeck,
+      Supplier<Strategy> redStrategy, Supplier<Strategy> blueStrategy, int rows, int cols,
+      int handSize) {
+    this(original, loaded(redDeck), loaded(blueDeck), redStrategy, blueStrategy, rows, cols,
+        handSize, GameRecord.UNKNOWN_DECK, GameRecord.UNKNOWN_DECK, 0);
+  }
+
+  private Tournament(boolean original, Supplier<List<CardDefinition>> redDeck,
+      Supplier<List<CardDefinition>> blueDeck, Supplier<Strategy> redStrategy,
+      Supplier<Strategy> blueStrategy, int rows, int cols, int handSize, String redDeckRef,
+      String blueDeckRef, long seed) {
+    if (redStrategy == null || blueStrategy == null) {
+      throw new IllegalArgumentException("Decks and strategies can't be null.");
+    }
+    if (rows <= 0 || cols <= 1 || cols % 2 == 0 || handSize <= 0) {
+      throw new IllegalArgumentException("Invalid board or hand size.");
+    }
+    this.original = original;
+    this.redDeck = redDeck;
+    this.blueDeck = blueDeck;
+    this.redStrategy = redStrategy;
+    this.blueStrategy = blueStrategy;
+    this.rows = rows;
+    this.cols = cols;
+    this.handSize = handSize;
+    this.header = new GameRecord(original, rows, cols, handSize, redDeckRef, blueDeckRef, seed);
+  }
+
+  /**
+   * Makes a tournament on decks generated by DeckGenerator with exactly enough cards for the
+   * board. Blue gets the same cards as red, reversed, like playing one deck file against itself,
+   * and logged games can be replayed from the seed alone.
+   *
+   * @param original     true to play the original rules on a GameBoard, false to play the updated
+   *                     rules on an UpdatedGameBoard.
+   * @param seed         the seed for the generated decks.
+   * @param redStrategy  supplies red's strategy, called once per thread.
+   * @param blueStrategy supplies blue's strategy, called once per thread.
+   * @param rows         the number of rows on the board.
+   * @param cols         the number of columns on the board, odd and more than 1.
+   * @param handSize     the number of cards in each player's hand.
+   * @return the tournament.
+   * @throws IllegalArgumentException if a strategy is null or the sizes are invalid.
+   */
+  public static Tournament synthetic(boolean original, long seed, Supplier<Strategy> redStrategy,
+      Supplier<Strategy> blueStrategy, int rows, int cols, int handSize) {
+    if (rows <= 0 || cols <= 1 || cols % 2 == 0) {
+      throw new IllegalArgumentException("Invalid board or hand size.");
+    }
+    List<CardDefinition> redDeck = DeckGenerator.generate(rows * cols, !original, seed);
+    List<CardDefinition> blueDeck = CardDefinition.reverseAll(redDeck);
+    return new Tournament(original, loaded(redDeck), loaded(blueDeck), redStrategy, blueStrategy,
+        rows, cols, handSize, GameRecord.SYNTHETIC_DECK, GameRecord.SYNTHETIC_DECK, seed);
+  }
+
+  private static Supplier<List<CardDefinition>> deckFile(String deckPath, boolean reverse) {
+    if (deckPath == null) {
+      throw new IllegalArgumentException("Decks and strategies can't be null.");
+    }
+    return reverse ? () -> readerFor(deckPath).readDefinitionsReverse(deckPath)
+        : () -> readerFor(deckPath).readDefinitions(deckPath);
+  }
+
+  private static Supplier<List<CardDefinition>> loaded(List<CardDefinition> deck) {
+    if (deck == null) {
+      throw new IllegalArgumentException("Decks and strategies can't be null.");
+    }
+    return () -> deck;
+  }
+
+  /**
+   * Plays the given number of games and waits for all of them to finish.
+   *
+   * @param games   the number of games to play.
+   * @param threads the number of games to play at the same time.
+   * @return the summary of all the games.
+   * @throws IllegalArgumentException if games is negative, threads is not positive or a deck
+   *                                  cannot be read or is smaller than the board.
+   * @throws IllegalStateException    if a game fails or the runner is interrupted.
+   */
+  public TournamentResult play(int games, int threads) {
+    return play(games, threads, null);
+  }
+
+  /**
+   * Plays the given number of games, appending each one to a game log as it finishes, and waits
+   * for all of them to finish.
+   *
+   * @param games   the number of games to play.
+   * @param threads the number of games to play at the same time.
+   * @param log     the log to append the games to, or null to not log them.
+   * @return the summary of all the games.
+   * @throws IllegalArgumentException if games is negative, threads is not positive or a deck
+   *                                  cannot be read or is smaller than the board.
+   * @throws IllegalStateException    if a game fails, the log cannot be written or the runner is
+   *                                  interrupted.
+   */
+  public TournamentResult play(int games, int threads, GameLogWriter log) {
+    if (games < 0 || threads <= 0) {
+      throw new IllegalArgumentException("Games cannot be negative and threads must be positive.");
+    }
+    long start = System.nanoTime();
+    List<CardDefinition> redDeck = this.redDeck.get();
+    List<CardDefinition> blueDeck = this.blueDeck.get();
+    // Deck files are hashed as they are read, so the log can tell if they change later.
+    GameRecord hashedHeader = log == null ? header : header.withDeckHashes();
+    if (redDeck.size() < rows * cols || blueDeck.size() < rows * cols) {
+      throw new IllegalArgumentException(
+          "Decks need at least " + rows * cols + " cards for a " + rows + "x" + cols + " board.");
+    }
+    AtomicInteger remaining = new AtomicInteger(games);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<TournamentResult>> workers = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        workers.add(executor.submit(() -> playUntilDone(remaining, redDeck, blueDeck, hashedHeader,
+            log)));
+      }
+      TournamentResult total = new TournamentResult(0, 0, 0, 0, 0, 0, 0, 0);
+      for (Future<TournamentResult> worker : workers) {
+        total = total.merge(worker.get());
+      }
+      return total.withElapsedNanos(System.nanoTime() - start);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Tournament was interrupted.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Game failed: " + e.getCause().getMessage(), e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private TournamentResult playUntilDone(AtomicInteger remaining, List<CardDefinition> redDeck,
+      List<CardDefinition> blueDeck, GameRecord start, GameLogWriter log) {
+    Strategy red = redStrategy.get();
+    Strategy blue = blueStrategy.get();
+    int redWins = 0;
+    int blueWins = 0;
+    int ties = 0;
+    long redScore = 0;
+    long blueScore = 0;
+    int invalidMoves = 0;
+    while (remaining.getAndDecrement() > 0) {
+      Player redPlayer = new SimplePlayer(handSize, true);
+      Player bluePlayer = new SimplePlayer(handSize, false);
+      redPlayer.setDeck(CardDefinition.newDeck(redDeck));
+      bluePlayer.setDeck(CardDefinition.newDeck(blueDeck));
+      GameBoard board = original ? new GameBoard(rows, cols) : new UpdatedGameBoard(rows, cols);
+      if (log != null) {
+        board.setRecorder(new GameRecorder(start, log));
+      }
+      board.startGame(redPlayer, bluePlayer);
+      while (!board.isGameOver()) {
+        boolean redTurn = board.getTurn();
+        if (!playTurn(board, redTurn ? redPlayer : bluePlayer, redTurn ? red : blue)) {
+          invalidMoves++;
+        }
+      }
+      int redTotal = board.getTotalScore(redPlayer);
+      int blueTotal = board.getTotalScore(bluePlayer);
+      redScore += redTotal;
+      blueScore += blueTotal;
+      if (redTotal > blueTotal) {
+        redWins++;
+      } else if (blueTotal > redTotal) {
+        blueWins++;
+      } else {
+        ties++;
+      }
+    }
+    return new TournamentResult(redWins + blueWins + ties, redWins, blueWins, ties, redScore,
+        blueScore, invalidMoves, 0);
+  }
+
+  private static Reader readerFor(String deckPath) {
+    return deckPath.endsWith(MappedDeckReader.EXTENSION) ? new MappedDeckReader() : TEXT_DECKS;
+  }
+
+  /**
+   * Asks the strategy for a move and makes it, passing instead if the board rejects it.
+   *
+   * @return false if the move was rejected.
+   */
+  private static boolean playTurn(Board board, Player player, Strategy strategy) {
+    Move move = strategy.getMove(board, player);
+    if (move.isPass()) {
+      board.passTurn(player);
+      return true;
+    }
+    try {
+      board.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+      return true;
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      board.passTurn(player);
+      return false;
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package controller;
+
+/**
+ * Summary of a batch of games between two strategies, as played by a Tournament. Results are
+ * always counted from red's point of view.
+ */
+public final class TournamentResult {
+
+  private final int games;
+  private final int redWins;
+  private final int blueWins;
+  private final int ties;
+  private final long redScore;
+  private final long blueScore;
+  private final int invalidMoves;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor for the result.
+   *
+   * @param games        the number of games played.
+   * @param redWins      the number of games red won.
+   * @param blueWins     the number of games blue won.
+   * @param ties         the number of games that were tied.
+   * @param redScore     red's total score, summed over all games.
+   * @param blueScore    blue's total score, summed over all games.
+   * @param invalidMoves the number of moves that were rejected by the board and turned into passes.
+   * @param elapsedNanos how long the games took to play, in nanoseconds.
+   * @throws IllegalArgumentException if a count is negative or the outcomes do not add up.
+   */
+  public TournamentResult(int games, int redWins, int blueWins, int ties, long redScore,
+      long blueScore, int invalidMoves, long elapsedNanos) {
+    if (games < 0 || redWins < 0 || blueWins < 0 || ties < 0 || invalidMoves < 0
+        || elapsedNanos < 0) {
+      throw new IllegalArgumentException("Counts cannot be negative.");
+    }
+    if (redWins + blueWins + ties != games) {
+      throw new IllegalArgumentException("Wins, losses and ties must add up to the games.");
+    }
+    this.games = games;
+    this.redWins = redWins;
+    this.blueWins = blueWins;
+    this.ties = ties;
+    this.redScore = redScore;
+    this.blueScore = blueScore;
+    this.invalidMoves = invalidMoves;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Adds the games of another result to this one. The elapsed time is the longer of the two, as
+   * the results are expected to come from games played at the same time.
+   *
+   * @param other the other result.
+   * @return the combined result.
+   */
+  public TournamentResult merge(TournamentResult other) {
+    return new TournamentResult(games + other.games, redWins + other.redWins,
+        blueWins + other.blueWins, ties + other.ties, redScore + other.redScore,
+        blueScore + other.blueScore, invalidMoves + other.invalidMoves,
+        Math.max(elapsedNanos, other.elapsedNanos));
+  }
+
+  /**
+   * Returns a copy of this result with a different elapsed time.
+   *
+   * @param elapsedNanos the elapsed time, in nanoseconds.
+   * @return the updated result.
+   */
+  public TournamentResult withElapsedNanos(long elapsedNanos) {
+    return new TournamentResult(games, redWins, blueWins, ties, redScore, blueScore,
+        invalidMoves, elapsedNanos);
+  }
+
+  public int getGames() {
+    return games;
+  }
+
+  public int getRedWins() {
+    return redWins;
+  }
+
+  public int getBlueWins() {
+    return blueWins;
+  }
+
+  public int getTies() {
+    return ties;
+  }
+
+  public int getInvalidMoves() {
+    return invalidMoves;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns red's average score per game.
+   *
+   * @return the average, or 0 if no games were played.
+   */
+  public double getAverageRedScore() {
+    return games == 0 ? 0 : (double) redScore / games;
+  }
+
+  /**
+   * Returns blue's average score per game.
+   *
+   * @return the average, or 0 if no games were played.
+   */
+  public double getAverageBlueScore() {
+    return games == 0 ? 0 : (double) blueScore / games;
+  }
+
+  /**
+   * Returns how many games were played per second.
+   *
+   * @return the throughput, or 0 if no time has passed.
+   */
+  public double getGamesPerSecond() {
+    return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Games: %d%n"
+            + "Red wins: %d (%.1f%%)%n"
+            + "Blue wins: %d (%.1f%%)%n"
+            + "Ties: %d (%.1f%%)%n"
+            + "Average score: red %.2f, blue %.2f%n"
+            + "Invalid moves: %d%n"
+            + "Games per second: %.1f",
+        games, redWins, percent(redWins), blueWins, percent(blueWins), ties, percent(ties),
+        getAverageRedScore(), getAverageBlueScore(), invalidMoves, getGamesPerSecond());
+  }
+
+  private double percent(int count) {
+    return games == 0 ? 0 : 100.0 * count / games;
+  }
+}
@@ -0,0 +1,31 @@
+package model;
+
+/**
+ * Observer of a board. Notified after every move made through placeCard or passTurn, on the
+ * thread that made the move, so that players can react to the game instead of polling it, and of
+ * every square the move changed, so that views can redraw only those squares.
+ */
+public interface BoardListener {
+
+  /**
+   * Notifies the listener that the card, pawns or value modifier of a square changed. Called once
+   * the change has been made, before turnChanged or gameOver for the move that made it, so the
+   * board and its state already show the change.
+   *
+   * @param row the row of the square.
+   * @param col the column of the square.
+   */
+  void cellChanged(int row, int col);
+
+  /**
+   * Notifies the listener that a move was made and it is now the other player's turn.
+   *
+   * @param redTurn true if it is now red's turn, false if it is blue's.
+   */
+  void turnChanged(boolean redTurn);
+
+  /**
+   * Notifies the listener that the game is over.
+   */
+  void gameOver();
+}
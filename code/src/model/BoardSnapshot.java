@@ -0,0 +1,366 @@
+package model;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import model.card.Card;
+import model.card.CardDefinition;
+import model.card.GameCard;
+import model.card.Influence;
+import model.card.InfluenceKind;
+import model.card.SimpleInfluence;
+
+/**
+ * Saves a GameBoard or UpdatedGameBoard mid-game into a compact binary snapshot and restores it,
+ * so positions can be checkpointed, sent to other processes or used to seed benchmarks. A snapshot
+ * holds everything needed to carry on the game: every cell's card, pawns and value modifier, whose
+ * turn it is, whether the last move was a pass, and both players' hands and decks in order.
+ *
+ * <p>Snapshots are read and written straight from and to a ByteBuffer, which may be a direct or
+ * memory mapped buffer, without copying them into arrays first. Reading and writing start at the
+ * buffer's position and leave it just after the snapshot, so several snapshots can be stored one
+ * after another in the same buffer or file.</p>
+ *
+ * <p>A snapshot is little endian and made of:</p>
+ * <ul>
+ *   <li>a header: the magic number, the format version, a flags byte (bit 0 for the updated rules,
+ *   bit 1 for red's turn, bit 2 if the last move was a pass and bit 3 if the game is over), the
+ *   rows and columns, and the number of card definitions;</li>
+ *   <li>the card definitions, each card in the position being one of them: the influence grid as
+ *   a long with the InfluenceKind ordinal of each square in 2 bits, in row major order, the cost as
+ *   a byte, the value, and the name as its length in bytes and then its UTF-8 bytes;</li>
+ *   <li>red's and then blue's hand size, hand and deck, each card as the index of its
+ *   definition;</li>
+ *   <li>one cell record per square, in row major order: the definition of its card or -1, the
+ *   owner of the card (0 for red, 1 for blue), the owner of the pawns (0 for none, 1 for red, 2
+ *   for blue), the number of pawns, and the value modifier.</li>
+ * </ul>
+ *
+ * <p>Cards that are used by more than one square, hand or deck are stored once, so a snapshot of
+ * a game on a deck of repeated cards only holds each distinct card once.</p>
+ */
+public final class BoardSnapshot {
+
+  static final int MAGIC = 0x534E5750;
+  static final int VERSION = 1;
+  private static final int UPDATED_FLAG = 1;
+  private static final int RED_TURN_FLAG = 2;
+  private static final int PASS_FLAG = 4;
+  private static final int OVER_FLAG = 8;
+  // Cell record: card, card owner, pawn owner, pawn count and value modifier.
+  private static final int CELL_SIZE = 4 + 1 + 1 + 1 + 4;
+  private static final InfluenceKind[] KINDS = InfluenceKind.values();
+
+  private BoardSnapshot() {
+  }
+
+  /**
+   * Saves a board into a new heap buffer of exactly the snapshot's size. The buffer is positioned
+   * at 0, ready to be read or written to a channel.
+   *
+   * @param board the board to save.
+   * @return the snapshot.
+   * @throws IllegalArgumentException if the board is null.
+   * @throws IllegalStateException    if the game has not started.
+   */
+  public static ByteBuffer write(GameBoard board) {
+    Snapshot snapshot = new Snapshot(board);
+    ByteBuffer out = ByteBuffer.allocate(snapshot.size());
+    snapshot.writeTo(out);
+    out.flip();
+    return out;
+  }
+
+  /**
+   * Saves a board into the given buffer, starting at its position.
+   *
+   * @param board the board to save.
+   * @param out   the buffer to write to.
+   * @throws IllegalArgumentException if an argument is null or the buffer has too little room, in
+   *                                  which case nothing is written.
+   * @throws IllegalStateException    if the game has not started.
+   */
+  public static void write(GameBoard board, ByteBuffer out) {
+    if (out == null) {
+      throw new IllegalArgumentException("Buffer cannot be null.");
+    }
+    Snapshot snapshot = new Snapshot(board);
+    if (out.remaining() < snapshot.size()) {
+      throw new IllegalArgumentException("Buffer needs " + snapshot.size() + " bytes.");
+    }
+    snapshot.writeTo(out);
+  }
+
+  /**
+   * Returns the size of a board's snapshot in bytes.
+   *
+   * @param board the board.
+   * @return the number of bytes write would use.
+   * @throws IllegalArgumentException if the board is null.
+   * @throws IllegalStateException    if the game has not started.
+   */
+  public static int sizeOf(GameBoard board) {
+    return new Snapshot(board).size();
+  }
+
+  /**
+   * Restores a board from a snapshot starting at the buffer's position. The board has new players
+   * and new cards, and no listeners, and the game carries on from the saved position.
+   *
+   * @param in the buffer to read from.
+   * @return a GameBoard, or an UpdatedGameBoard if the snapshot was of one, with red as getP1 and
+   *         blue as getP2.
+   * @throws IllegalArgumentException if the buffer is null or does not hold a valid snapshot.
+   */
+  public static GameBoard read(ByteBuffer in) {
+    if (in == null) {
+      throw new IllegalArgumentException("Buffer cannot be null.");
+    }
+    ByteOrder order = in.order();
+    in.order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      return readFrom(in);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Snapshot is truncated or corrupt.", e);
+    } finally {
+      in.order(order);
+    }
+  }
+
+  private static GameBoard readFrom(ByteBuffer in) {
+    if (in.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Buffer does not hold a board snapshot.");
+    }
+    int version = in.getInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+    }
+    int flags = in.get();
+    int rows = in.getInt();
+    int cols = in.getInt();
+    int definitionCount = in.getInt();
+    if (definitionCount < 0) {
+      throw new IllegalArgumentException("Snapshot is truncated or corrupt.");
+    }
+    List<CardDefinition> definitions = new ArrayList<>(Math.min(definitionCount, 1 << 16));
+    for (int i = 0; i < definitionCount; i++) {
+      definitions.add(readDefinition(in));
+    }
+
+    // The cells must fit in what is left, so a corrupt size cannot allocate a huge board.
+    if (rows <= 0 || cols <= 0 || (long) rows * cols * CELL_SIZE > in.remaining()) {
+      throw new IllegalArgumentException("Snapshot is truncated or corrupt.");
+    }
+    GameBoard board = (flags & UPDATED_FLAG) != 0 ? new UpdatedGameBoard(rows, cols)
+        : new GameBoard(rows, cols);
+    Player red = readPlayer(in, definitions, true);
+    Player blue = readPlayer(in, definitions, false);
+    Cell[][] cells = new Cell[rows][cols];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int definition = in.getInt();
+        int cardOwner = in.get();
+        int pawnOwner = in.get();
+        int pawnCount = in.get();
+        int valueMod = in.getInt();
+        if (pawnCount < 0 || pawnCount > 3 || pawnOwner < 0 || pawnOwner > 2) {
+          throw new IllegalArgumentException("Snapshot is truncated or corrupt.");
+        }
+        Card card = null;
+        if (definition >= 0) {
+          card = new GameCard(definitions.get(definition));
+          card.setOwner(cardOwner == 0 ? red : blue);
+        }
+        cells[row][col] = GameCell.restored(card,
+            pawnOwner == 0 ? null : pawnOwner == 1 ? red : blue, pawnCount, valueMod);
+      }
+    }
+    board.restore(cells, red, blue, (flags & RED_TURN_FLAG) != 0,
+        (flags & PASS_FLAG) != 0, (flags & OVER_FLAG) != 0);
+    return board;
+  }
+
+  private static CardDefinition readDefinition(ByteBuffer in) {
+    long grid = in.getLong();
+    int cost = in.get();
+    int value = in.getInt();
+    byte[] name = new byte[in.getShort() & 0xFFFF];
+    in.get(name);
+    Influence[][] influences = new Influence[5][5];
+    for (int square = 0; square < 25; square++) {
+      influences[square / 5][square % 5] =
+          SimpleInfluence.of(KINDS[(int) (grid >>> (2 * square)) & 0x3]);
+    }
+    return new CardDefinition(new String(name, StandardCharsets.UTF_8), influences, cost, value);
+  }
+
+  private static Player readPlayer(ByteBuffer in, List<CardDefinition> definitions,
+      boolean isRed) {
+    Player player = new SimplePlayer(in.getInt(), isRed);
+    List<CardDefinition> cards = new ArrayList<>();
+    int handCount = in.getInt();
+    for (int i = 0; i < handCount; i++) {
+      cards.add(definitions.get(in.getInt()));
+    }
+    int deckCount = in.getInt();
+    for (int i = 0; i < deckCount; i++) {
+      cards.add(definitions.get(in.getInt()));
+    }
+    if (!cards.isEmpty()) {
+      // The hand is the first cards drawn from the combined deck, which keeps their order.
+      player.setDeck(CardDefinition.newDeck(cards));
+      for (int i = 0; i < handCount; i++) {
+        player.drawFromDeckToHand();
+      }
+    }
+    return player;
+  }
+
+  /**
+   * The parts of a board's snapshot, gathered before writing so its size is known up front.
+   */
+  private static final class Snapshot {
+
+    private final GameBoard board;
+    private final Player red;
+    private final Player blue;
+    // Indexes of definitions, and of the cards already looked up, by identity.
+    private final Map<CardDefinition, Integer> indexes = new IdentityHashMap<>();
+    private final Map<Card, Integer> cardIndexes = new IdentityHashMap<>();
+    private final List<CardDefinition> definitions = new ArrayList<>();
+    private final List<byte[]> names = new ArrayList<>();
+    private int size;
+
+    private Snapshot(GameBoard board) {
+      if (board == null) {
+        throw new IllegalArgumentException("Board cannot be null.");
+      }
+      this.board = board;
+      this.red = board.getP1();
+      this.blue = board.getP2();
+      int rows = board.getHeight();
+      int cols = board.getWidth();
+      size = 4 + 4 + 1 + 4 + 4 + 4 + rows * CELL_SIZE * cols;
+      for (int row = 0; row < rows; row++) {
+        for (int col = 0; col < cols; col++) {
+          Card card = board.getCell(row, col).getCard();
+          if (card != null) {
+            index(card);
+          }
+        }
+      }
+      for (Player player : new Player[] {red, blue}) {
+        size += 4 + 4 + 4 + 4 * (player.getHand().size() + player.getDeck().size());
+        for (Card card : player.getHand()) {
+          index(card);
+        }
+        for (Card card : player.getDeck()) {
+          index(card);
+        }
+      }
+    }
+
+    private int size() {
+      return size;
+    }
+
+    private int index(Card card) {
+      Integer cardIndex = cardIndexes.get(card);
+      if (cardIndex != null) {
+        return cardIndex;
+      }
+      CardDefinition definition = card instanceof GameCard ? ((GameCard) card).getDefinition()
+          : new CardDefinition(card.getName(), card.getInfluenceArray(), card.getCost(),
+          card.getValue());
+      Integer index = indexes.get(definition);
+      if (index == null) {
+        byte[] name = definition.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+          throw new IllegalArgumentException("Card name is too long: " + definition.getName());
+        }
+        index = definitions.size();
+        indexes.put(definition, index);
+        definitions.add(definition);
+        names.add(name);
+        size += 8 + 1 + 4 + 2 + name.length;
+      }
+      cardIndexes.put(card, index);
+      return index;
+    }
+
+    private void writeTo(ByteBuffer out) {
+      ByteOrder order = out.order();
+      out.order(ByteOrder.LITTLE_ENDIAN);
+      try {
+        writeHeader(out);
+        writePlayer(out, red);
+        writePlayer(out, blue);
+        for (int row = 0; row < board.getHeight(); row++) {
+          for (int col = 0; col < board.getWidth(); col++) {
+            writeCell(out, board.getCell(row, col));
+          }
+        }
+      } catch (BufferOverflowException e) {
+        throw new IllegalArgumentException("Buffer needs " + size + " bytes.", e);
+      } finally {
+        out.order(order);
+      }
+    }
+
+    private void writeHeader(ByteBuffer out) {
+      int flags = (board instanceof UpdatedGameBoard ? UPDATED_FLAG : 0)
+          | (board.getTurn() ? RED_TURN_FLAG : 0)
+          | (board.isLastMovePass() ? PASS_FLAG : 0)
+          | (board.isGameOver() ? OVER_FLAG : 0);
+      out.putInt(MAGIC);
+      out.putInt(VERSION);
+      out.put((byte) flags);
+      out.putInt(board.getHeight());
+      out.putInt(board.getWidth());
+      out.putInt(definitions.size());
+      for (int i = 0; i < definitions.size(); i++) {
+        CardDefinition definition = definitions.get(i);
+        Influence[][] grid = definition.getInfluenceArray();
+        long packed = 0;
+        for (int square = 0; square < 25; square++) {
+          packed |= (long) grid[square / 5][square % 5].getInfluenceKind().ordinal()
+              << (2 * square);
+        }
+        out.putLong(packed);
+        out.put((byte) definition.getCost());
+        out.putInt(definition.getValue());
+        out.putShort((short) names.get(i).length);
+        out.put(names.get(i));
+      }
+    }
+
+    private void writeCell(ByteBuffer out, Cell cell) {
+      Card card = cell.getCard();
+      out.putInt(card == null ? -1 : index(card));
+      out.put((byte) (card == null || card.getOwner() == red ? 0 : 1));
+      Player pawnOwner = cell.getPawnOwner();
+      out.put((byte) (pawnOwner == null ? 0 : pawnOwner == red ? 1 : 2));
+      out.put((byte) cell.getPawnCount());
+      out.putInt(cell.getValueModifier());
+    }
+
+    private void writePlayer(ByteBuffer out, Player player) {
+      out.putInt(player.getHandSize());
+      out.putInt(player.getHand().size());
+      for (Card card : player.getHand()) {
+        out.putInt(index(card));
+      }
+      List<Card> deck = player.getDeck();
+      out.putInt(deck.size());
+      for (Card card : deck) {
+        out.putInt(index(card));
+      }
+    }
+  }
+}
@@ -0,0 +1,458 @@
+package model;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import model.card.Card;
+import model.card.Pawn;
+
+/**
+ * An immutable picture of a started game at one moment: the cells, row scores, turn and both
+ * players' hands. A GameBoard publishes a new state after every change it makes, numbered by a
+ * version that goes up by one each time, so views and other readers on any thread can read a whole,
+ * consistent position without locking the board, however the board changes while they read.
+ *
+ * <p>Publishing a state after a move only rebuilds the rows the move changed; every other row,
+ * and every cell that did not change, is the same object as in the state before. Readers can find
+ * what changed between two states by comparing rows and cells with ==.</p>
+ *
+ * <p>Cells of a state cannot be changed, and the cards and players are shared with the board.</p>
+ */
+public final class BoardState implements ReadOnlyBoard {
+
+  private final long version;
+  private final boolean updatedRules;
+  private final Player player1;
+  private final Player player2;
+  private final boolean turn;
+  private final boolean passTurn;
+  private final boolean gameOver;
+  private final Row[] rows;
+  private final List<Card> hand1;
+  private final List<Card> hand2;
+
+  private BoardState(BoardState previous, ReadOnlyBoard board, BitSet changedRows) {
+    this.version = previous == null ? 0 : previous.version + 1;
+    this.updatedRules = board instanceof UpdatedGameBoard
+        || board instanceof UpdatedPackedGameBoard
+        || board instanceof BoardState && ((BoardState) board).updatedRules;
+    this.player1 = board.getP1();
+    this.player2 = board.getP2();
+    this.turn = board.getTurn();
+    this.passTurn = board.isLastMovePass();
+    this.gameOver = board.isGameOver();
+    this.rows = new Row[board.getHeight()];
+    for (int row = 0; row < rows.length; row++) {
+      Row before = previous == null ? null : previous.rows[row];
+      rows[row] = before != null && !changedRows.get(row) ? before
+          : Row.of(before, board, row, player1, player2);
+    }
+    this.hand1 = sameOrCopy(previous == null ? null : previous.hand1, player1.getHand());
+    this.hand2 = sameOrCopy(previous == null ? null : previous.hand2, player2.getHand());
+  }
+
+  /**
+   * Takes a state of a started game on any board. The state is version 0 and shares nothing with
+   * earlier states.
+   *
+   * @param board the board to read.
+   * @return the state of the board.
+   * @throws IllegalArgumentException if the board is null.
+   * @throws IllegalStateException    if the game has not started.
+   */
+  public static BoardState of(ReadOnlyBoard board) {
+    if (board == null) {
+      throw new IllegalArgumentException("Board cannot be null.");
+    }
+    return new BoardState(null, board, null);
+  }
+
+  /**
+   * Takes the state that follows another state of the same board, sharing every row that did not
+   * change with it. Rows in changedRows are read again; a row read again that turns out the same is
+   * still shared. If nothing changed at all, the state before is returned.
+   *
+   * @param previous    the state before, or null to read every row.
+   * @param board       the board to read.
+   * @param changedRows the rows that may have changed since the state before.
+   * @return the next state.
+   */
+  static BoardState next(BoardState previous, ReadOnlyBoard board, BitSet changedRows) {
+    BoardState next = new BoardState(previous, board, changedRows);
+    return previous != null && next.isSameAs(previous) ? previous : next;
+  }
+
+  private boolean isSameAs(BoardState other) {
+    if (turn != other.turn || passTurn != other.passTurn || gameOver != other.gameOver
+        || hand1 != other.hand1 || hand2 != other.hand2 || rows.length != other.rows.length) {
+      return false;
+    }
+    for (int row = 0; row < rows.length; row++) {
+      if (rows[row] != other.rows[row]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<Card> sameOrCopy(List<Card> before, List<Card> hand) {
+    if (before != null && before.size() == hand.size()) {
+      boolean same = true;
+      for (int i = 0; i < hand.size() && same; i++) {
+        same = before.get(i) == hand.get(i);
+      }
+      if (same) {
+        return before;
+      }
+    }
+    return List.copyOf(hand);
+  }
+
+  /**
+   * Returns the version of this state. Each state a board publishes has a version one higher than
+   * the one before.
+   *
+   * @return the version.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Checks whether the game is played with the updated rules, where cards change the value of the
+   * cells they influence.
+   *
+   * @return true for the updated rules.
+   */
+  public boolean isUpdatedRules() {
+    return updatedRules;
+  }
+
+  /**
+   * Returns a player's hand as it was in this state.
+   *
+   * @param player one of the two players.
+   * @return the hand, which cannot be changed.
+   * @throws IllegalArgumentException if the player is not playing this game.
+   */
+  public List<Card> getHand(Player player) {
+    if (player != null && player == player1) {
+      return hand1;
+    }
+    if (player != null && player == player2) {
+      return hand2;
+    }
+    throw new IllegalArgumentException("Player is not in this game.");
+  }
+
+  /**
+   * Checks whether a row is the same object in this state and another, which means it did not
+   * change between them.
+   *
+   * @param other another state of the same board.
+   * @param row   the row to compare.
+   * @return true if the row is shared.
+   */
+  public boolean isSameRow(BoardState other, int row) {
+    return other != null && other.rows[row] == rows[row];
+  }
+
+  @Override
+  public BoardState getState() {
+    return this;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  @Override
+  public Cell getCell(int row, int col) {
+    if (!isInBounds(row, col)) {
+      throw new IllegalArgumentException("Invalid row or column");
+    }
+    return rows[row].cells[col];
+  }
+
+  @Override
+  public int getRowScore(Player player, int row) {
+    if (player == null) {
+      throw new IllegalArgumentException("Player is null.");
+    }
+    if (row < 0 || row >= rows.length) {
+      throw new IllegalArgumentException("Invalid row index.");
+    }
+    if (player == player1) {
+      return rows[row].redScore;
+    }
+    return player == player2 ? rows[row].blueScore : 0;
+  }
+
+  @Override
+  public int getTotalScore(Player player) {
+    if (player == null) {
+      throw new IllegalArgumentException("Player is null.");
+    }
+    if (player != player1 && player != player2) {
+      return 0;
+    }
+    int total = 0;
+    for (Row row : rows) {
+      int own = player == player1 ? row.redScore : row.blueScore;
+      int other = player == player1 ? row.blueScore : row.redScore;
+      if (own > other) {
+        total += own;
+      }
+    }
+    return total;
+  }
+
+  @Override
+  public int getWidth() {
+    return rows.length == 0 ? 0 : rows[0].cells.length;
+  }
+
+  @Override
+  public int getHeight() {
+    return rows.length;
+  }
+
+  @Override
+  public Player getP1() {
+    return player1;
+  }
+
+  @Override
+  public Player getP2() {
+    return player2;
+  }
+
+  @Override
+  public boolean getTurn() {
+    return turn;
+  }
+
+  @Override
+  public boolean isLastMovePass() {
+    return passTurn;
+  }
+
+  @Override
+  public Cell[][] getCopy() {
+    Cell[][] copy = new Cell[rows.length][getWidth()];
+    for (int row = 0; row < rows.length; row++) {
+      for (int col = 0; col < copy[row].length; col++) {
+        copy[row][col] = GameCell.copyOf(rows[row].cells[col]);
+      }
+    }
+    return copy;
+  }
+
+  @Override
+  public Player getWinner() {
+    if (!gameOver) {
+      throw new IllegalStateException("Game is not over.");
+    }
+    int score1 = getTotalScore(player1);
+    int score2 = getTotalScore(player2);
+    if (score1 == score2) {
+      return null;
+    }
+    return score1 > score2 ? player1 : player2;
+  }
+
+  @Override
+  public Card getCardAt(int row, int col) {
+    if (!isInBounds(row, col)) {
+      throw new IndexOutOfBoundsException("Invalid cell indices");
+    }
+    return rows[row].cells[col].getCard();
+  }
+
+  @Override
+  public List<Pawn> getPawnsAt(int row, int col) {
+    if (!isInBounds(row, col)) {
+      throw new IndexOutOfBoundsException("Invalid cell indices");
+    }
+    return rows[row].cells[col].getPawns();
+  }
+
+  /**
+   * Does nothing, since a state never changes.
+   *
+   * @param listener the listener.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  @Override
+  public void addListener(BoardListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+  }
+
+  @Override
+  public BitSet getPlayableCells(Player player, int cost) {
+    if (player == null || cost < 1 || cost > 3) {
+      throw new IllegalArgumentException("Player is null or cost is invalid.");
+    }
+    int width = getWidth();
+    BitSet result = new BitSet(rows.length * width);
+    for (int row = 0; row < rows.length; row++) {
+      for (int col = 0; col < width; col++) {
+        if (isPlayable(rows[row].cells[col], player, cost)) {
+          result.set(row * width + col);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean isLegalPlacement(Player player, Card card, int row, int col) {
+    if (player == null || card == null) {
+      throw new IllegalArgumentException("Player or card is null.");
+    }
+    return isInBounds(row, col) && card.getCost() >= 1 && card.getCost() <= 3
+        && isPlayable(rows[row].cells[col], player, card.getCost());
+  }
+
+  private boolean isPlayable(Cell cell, Player player, int cost) {
+    return (player == player1 || player == player2) && cell.getCard() == null
+        && cell.getPawnCount() >= cost && cell.getPawnOwner() == player;
+  }
+
+  private boolean isInBounds(int row, int col) {
+    return row >= 0 && row < rows.length && col >= 0 && col < getWidth();
+  }
+
+  /**
+   * One row of a state, with the row scores of both players.
+   */
+  private static final class Row {
+
+    private final FrozenCell[] cells;
+    private final int redScore;
+    private final int blueScore;
+
+    private Row(FrozenCell[] cells, int redScore, int blueScore) {
+      this.cells = cells;
+      this.redScore = redScore;
+      this.blueScore = blueScore;
+    }
+
+    /**
+     * Reads a row of the board, keeping the cells that are the same as in the row before, and the
+     * row before itself if nothing in it changed.
+     */
+    private static Row of(Row before, ReadOnlyBoard board, int row, Player player1,
+        Player player2) {
+      FrozenCell[] cells = new FrozenCell[board.getWidth()];
+      boolean same = before != null;
+      for (int col = 0; col < cells.length; col++) {
+        Cell cell = board.getCell(row, col);
+        FrozenCell old = before == null ? null : before.cells[col];
+        cells[col] = old != null && old.matches(cell) ? old : new FrozenCell(cell);
+        same &= cells[col] == old;
+      }
+      int redScore = board.getRowScore(player1, row);
+      int blueScore = board.getRowScore(player2, row);
+      if (same && redScore == before.redScore && blueScore == before.blueScore) {
+        return before;
+      }
+      return new Row(cells, redScore, blueScore);
+    }
+  }
+
+  /**
+   * A cell of a state. Its pawns are one pawn object standing for every pawn in the cell, like
+   * those of a GameCell.
+   */
+  private static final class FrozenCell implements Cell {
+
+    private final Card card;
+    private final Player pawnOwner;
+    private final int pawnCount;
+    private final int valueMod;
+    private final List<Pawn> pawns;
+
+    private FrozenCell(Cell cell) {
+      this.card = cell.getCard();
+      this.pawnOwner = cell.getPawnOwner();
+      this.pawnCount = cell.getPawnCount();
+      this.valueMod = cell.getValueModifier();
+      Pawn pawn = new Pawn() {
+        @Override
+        public Player getOwner() {
+          return pawnOwner;
+        }
+
+        @Override
+        public void setOwner(Player owner) {
+          throw new UnsupportedOperationException("A board state cannot be changed.");
+        }
+      };
+      this.pawns = Collections.nCopies(pawnCount, pawn);
+    }
+
+    private boolean matches(Cell cell) {
+      return card == cell.getCard() && pawnOwner == cell.getPawnOwner()
+          && pawnCount == cell.getPawnCount() && valueMod == cell.getValueModifier();
+    }
+
+    @Override
+    public Card getCard() {
+      return card;
+    }
+
+    @Override
+    public List<Pawn> getPawns() {
+      return pawns;
+    }
+
+    @Override
+    public Player getPawnOwner() {
+      return pawnOwner;
+    }
+
+    @Override
+    public int getPawnCount() {
+      return pawnCount;
+    }
+
+    @Override
+    public int getValueModifier() {
+      return valueMod;
+    }
+
+    @Override
+    public void setCard(Card card) {
+      throw new UnsupportedOperationException("A board state cannot be changed.");
+    }
+
+    @Override
+    public void setPawnOwner(Player owner) {
+      throw new UnsupportedOperationException("A board state cannot be changed.");
+    }
+
+    @Override
+    public void clearPawns() {
+      throw new UnsupportedOperationException("A board state cannot be changed.");
+    }
+
+    @Override
+    public void addPawn(Player owner) {
+      throw new UnsupportedOperationException("A board state cannot be changed.");
+    }
+
+    @Override
+    public void changeValueModifier(int value) {
+      throw new UnsupportedOperationException("A board state cannot be changed.");
+    }
+
+    @Override
+    public void resetValueModifier() {
+      throw new UnsupportedOperationException("A board state cannot be changed.");
+    }
+  }
+}
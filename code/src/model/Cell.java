@@ -32,6 +32,34 @@ public interface Cell {
   public List<Pawn> getPawns();
 
 
+  /**
+   * Returns the owner of the pawns in the Cell. All pawns in a cell always share one owner.
+   *
+   * @return the owner of the pawns, or null if the cell has none.
+   */
+  public Player getPawnOwner();
+
+  /**
+   * Returns the number of pawns in the Cell.
+   *
+   * @return the pawn count, from 0 to 3.
+   */
+  public int getPawnCount();
+
+  /**
+   * Gives every pawn in the Cell to the given player, as when influence converts them.
+   *
+   * @param owner the new owner of the pawns.
+   * @throws IllegalArgumentException if the owner is null.
+   * @throws IllegalStateException    if the cell has no pawns.
+   */
+  public void setPawnOwner(Player owner);
+
+  /**
+   * Removes every pawn from the Cell.
+   */
+  public void clearPawns();
+
   /**
    * Adds a Pawn to the Cell.
    *
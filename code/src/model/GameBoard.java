@@ -1,10 +1,15 @@
 package model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import model.card.Card;
-import model.card.Influence;
+import model.card.InfluenceMask;
 import model.card.Pawn;
+import model.record.GameRecorder;
 
 /**
  * Implementation of the Board interface. Implements all game logic. Looks at the validity of
@@ -30,6 +35,22 @@ public class GameBoard implements Board {
   private boolean gameOver;
 
   private Cell[][] board;
+  // The cells getCell hands out, which change the board's cells through the board.
+  private final Cell[][] cellViews;
+  // Row scores of the cards on the board, [0] for red and [1] for blue, with the score and side
+  // each cell currently adds, so that scoring never has to scan the board.
+  private final int[][] rowScores;
+  private final int[][] cellScores;
+  private final int[][] cellSides;
+  // Squares without a card that hold at least k pawns of a side, as playable[side][k] for k from 1
+  // to 3, so that legal moves can be found without scanning the board.
+  private final BitSet[][] playable;
+  private final List<BoardListener> listeners;
+  private GameRecorder recorder;
+  // The state published after the last change, and the rows changed since it was published.
+  private volatile BoardState state;
+  private final BitSet changedRows;
+  private final BitSet changedCells;
 
   /**
    * Constructor for the GameBoard class.
@@ -43,13 +64,30 @@ public class GameBoard implements Board {
       throw new IllegalArgumentException("Invalid row or column size");
     }
     this.board = new Cell[rowSize][colSize];
+    this.cellViews = new Cell[rowSize][colSize];
     for (int row = 0; row < rowSize; row++) {
       for (int col = 0; col < colSize; col++) {
         this.board[row][col] = new GameCell();
+        this.cellViews[row][col] = new BoardCell(row, col);
       }
     }
     this.rowSize = rowSize;
     this.colSize = colSize;
+    this.rowScores = new int[2][rowSize];
+    this.cellScores = new int[rowSize][colSize];
+    this.cellSides = new int[rowSize][colSize];
+    for (int[] sides : cellSides) {
+      Arrays.fill(sides, -1);
+    }
+    this.playable = new BitSet[2][4];
+    for (BitSet[] sets : playable) {
+      for (int cost = 1; cost <= 3; cost++) {
+        sets[cost] = new BitSet(rowSize * colSize);
+      }
+    }
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.changedRows = new BitSet(rowSize);
+    this.changedCells = new BitSet(rowSize * colSize);
     this.gameStart = false;
     this.passTurn = false;
     this.turn = true;
@@ -59,12 +97,25 @@ public class GameBoard implements Board {
   @Override
   public Cell getCell(int row, int col) {
     if (isInBounds(row, col)) {
-      return board[row][col];
+      return cellViews[row][col];
     } else {
       throw new IllegalArgumentException("Invalid row or column");
     }
   }
 
+  /**
+   * Returns the board's own cell at the given square, for subclasses that change cells during a
+   * move. Unlike the cells from getCell, changes to it are only seen by the board once cellChanged
+   * is called.
+   *
+   * @param row the row idx.
+   * @param col the col idx.
+   * @return the cell.
+   */
+  protected Cell cellAt(int row, int col) {
+    return board[row][col];
+  }
+
   @Override
   public void startGame(Player player1, Player player2) {
     if (player1.getDeck().size() < rowSize * colSize
@@ -91,7 +142,11 @@ public class GameBoard implements Board {
     for (int row = 0; row < rowSize; row++) {
       this.board[row][0].addPawn(player1);
       this.board[row][colSize - 1].addPawn(player2);
+      cellChanged(row, 0);
+      cellChanged(row, colSize - 1);
     }
+    publishState();
+    notifyCellsChanged();
   }
 
   @Override
@@ -107,6 +162,7 @@ public class GameBoard implements Board {
     }
     if (player.getHand().size() < player.getHandSize() && !player.getDeck().isEmpty()) {
       player.drawFromDeckToHand();
+      publishState();
     }
     if (this.turn != player.getIsRed()) {
       throw new IllegalStateException("Not your  turn.");
@@ -121,66 +177,242 @@ public class GameBoard implements Board {
     if (board[row][col].getCard() != null) {
       throw new IllegalArgumentException("Card already exists.");
     }
-    if (board[row][col].getPawns().isEmpty()) {
+    if (board[row][col].getPawnCount() == 0) {
       throw new IllegalArgumentException("No such pawn.");
     }
-    if (board[row][col].getPawns().get(0).getOwner() != player) {
+    if (board[row][col].getPawnOwner() != player) {
       throw new IllegalArgumentException("Pawns are not your color.");
     }
-    if (board[row][col].getPawns().size() < card.getCost()) {
+    if (board[row][col].getPawnCount() < card.getCost()) {
       throw new IllegalArgumentException("Card cost exceeded.");
     }
     board[row][col].setCard(card);
+    cellChanged(row, col);
     player.getHand().remove(handIdx);
     applyInfluence(player, card, row, col);
     if (passTurn) {
       passTurn = false;
     }
     this.turn = !this.turn;
+    publishState();
+    if (recorder != null) {
+      recorder.cardPlaced(handIdx, row, col);
+    }
+    notifyCellsChanged();
+    notifyListeners();
 
   }
 
   protected void applyInfluence(Player player, Card card, int placedRow, int placedCol) {
-    Influence[][] grid = card.getInfluenceArray();
-    for (int row = 0; row < 5; row++) {
-      for (int col = 0; col < 5; col++) {
-        boolean influence = grid[row][col].getInfluence();
-        if (!influence) {
-          continue;
-        }
-        int rowOffset = row - 2;
-        int colOffset = col - 2;
-        int targetRow = placedRow + rowOffset;
-        int targetCol = placedCol + colOffset;
-        if (!isInBounds(targetRow, targetCol)) {
-          continue;
-        }
-        Cell targetCell = board[targetRow][targetCol];
-        if (targetCell.getCard() != null) {
-          continue;
-        }
-        List<Pawn> pawns = targetCell.getPawns();
-        if (pawns.isEmpty()) {
-          targetCell.addPawn(player);
-        } else {
-          if (pawns.get(0).getOwner() == player) {
-            if (pawns.size() < 3) {
-              targetCell.addPawn(player);
-            }
-          } else {
-            for (Pawn pawn : pawns) {
-              pawn.setOwner(player);
-            }
+    InfluenceMask mask = card.getInfluenceMask();
+    for (int i = 0; i < mask.size(); i++) {
+      int targetRow = placedRow + mask.getRowOffset(i);
+      int targetCol = placedCol + mask.getColOffset(i);
+      if (!isInBounds(targetRow, targetCol)) {
+        continue;
+      }
+      Cell targetCell = board[targetRow][targetCol];
+      if (targetCell.getCard() != null) {
+        continue;
+      }
+      Player owner = targetCell.getPawnOwner();
+      if (owner == null) {
+        targetCell.addPawn(player);
+      } else {
+        if (owner == player) {
+          if (targetCell.getPawnCount() < 3) {
+            targetCell.addPawn(player);
           }
+        } else {
+          targetCell.setPawnOwner(player);
         }
       }
+      cellChanged(targetRow, targetCol);
     }
   }
 
+  /**
+   * Brings the cached row scores and playable squares up to date with the given cell, and marks it
+   * to be reported to the listeners once the state has been published. Must be called after every
+   * change to a cell's card, pawns or value modifier.
+   *
+   * @param row the row of the cell.
+   * @param col the column of the cell.
+   */
+  protected void cellChanged(int row, int col) {
+    int oldSide = cellSides[row][col];
+    if (oldSide >= 0) {
+      rowScores[oldSide][row] -= cellScores[row][col];
+    }
+    Cell cell = board[row][col];
+    Card card = cell.getCard();
+    int side = card == null ? -1 : sideOf(card.getOwner());
+    int score = side < 0 ? 0 : cardScore(cell);
+    if (side >= 0) {
+      rowScores[side][row] += score;
+    }
+    cellSides[row][col] = side;
+    cellScores[row][col] = score;
+    int idx = row * colSize + col;
+    int pawnCount = cell.getPawnCount();
+    int pawnSide = card != null || pawnCount == 0 ? -1 : sideOf(cell.getPawnOwner());
+    for (int owner = 0; owner < 2; owner++) {
+      for (int cost = 1; cost <= 3; cost++) {
+        playable[owner][cost].set(idx, owner == pawnSide && pawnCount >= cost);
+      }
+    }
+    changedRows.set(row);
+    changedCells.set(idx);
+  }
+
+  /**
+   * Publishes the state of the game as it is now, sharing the rows that did not change with the
+   * state before. Called after every change, before the listeners hear of it, so that a listener
+   * reading the state from cellChanged, turnChanged or gameOver sees the change it was told of.
+   */
+  private void publishState() {
+    state = BoardState.next(state, this, changedRows);
+    changedRows.clear();
+  }
+
+  /**
+   * Tells the listeners about every cell that changed since they were last told, once each.
+   */
+  private void notifyCellsChanged() {
+    for (int idx = changedCells.nextSetBit(0); idx >= 0; idx = changedCells.nextSetBit(idx + 1)) {
+      for (BoardListener listener : listeners) {
+        listener.cellChanged(idx / colSize, idx % colSize);
+      }
+    }
+    changedCells.clear();
+  }
+
+  @Override
+  public BoardState getState() {
+    BoardState current = state;
+    if (current == null) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    return current;
+  }
+
+  /**
+   * Returns how much the card in the given cell adds to its owner's row score.
+   *
+   * @param cell a cell that holds a card.
+   * @return the card's score.
+   */
+  protected int cardScore(Cell cell) {
+    return cell.getCard().getValue();
+  }
+
+  private int sideOf(Player player) {
+    if (player == player1) {
+      return 0;
+    }
+    return player == player2 ? 1 : -1;
+  }
+
   protected boolean isInBounds(int row, int col) {
     return (row >= 0 && row < rowSize && col >= 0 && col < colSize);
   }
 
+  @Override
+  public void addListener(BoardListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Puts a board that has not started into a position read from a BoardSnapshot, with the given
+   * cells and players, and brings the cached scores and playable squares up to date with it.
+   *
+   * @param cells        the cells of the position, one per square.
+   * @param red          the red player, holding their hand and deck.
+   * @param blue         the blue player, holding their hand and deck.
+   * @param redTurn      true if it is red's turn.
+   * @param lastMovePass true if the last move was a pass.
+   * @param over         true if the game is over.
+   * @throws IllegalStateException if the game has started.
+   */
+  void restore(Cell[][] cells, Player red, Player blue, boolean redTurn, boolean lastMovePass,
+      boolean over) {
+    if (gameStart) {
+      throw new IllegalStateException("Game is already started.");
+    }
+    this.board = cells;
+    this.player1 = red;
+    this.player2 = blue;
+    this.turn = redTurn;
+    this.passTurn = lastMovePass;
+    this.gameOver = over;
+    this.gameStart = true;
+    for (int row = 0; row < rowSize; row++) {
+      for (int col = 0; col < colSize; col++) {
+        cellChanged(row, col);
+      }
+    }
+    publishState();
+    notifyCellsChanged();
+  }
+
+  /**
+   * Records every move made on this board from now on with the given recorder, which is also added
+   * as a listener so it knows when the game is over. Moves are reported before the other listeners
+   * hear of them.
+   *
+   * @param recorder the recorder for the game.
+   * @throws IllegalArgumentException if the recorder is null.
+   * @throws IllegalStateException    if the game has started or a recorder was already set.
+   */
+  public void setRecorder(GameRecorder recorder) {
+    if (recorder == null) {
+      throw new IllegalArgumentException("Recorder cannot be null.");
+    }
+    if (gameStart || this.recorder != null) {
+      throw new IllegalStateException("Recorder must be set once, before the game starts.");
+    }
+    this.recorder = recorder;
+    addListener(recorder);
+  }
+
+  private void notifyListeners() {
+    for (BoardListener listener : listeners) {
+      if (gameOver) {
+        listener.gameOver();
+      } else {
+        listener.turnChanged(turn);
+      }
+    }
+  }
+
+  @Override
+  public BitSet getPlayableCells(Player player, int cost) {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (player == null || cost < 1 || cost > 3) {
+      throw new IllegalArgumentException("Player is null or cost is invalid.");
+    }
+    int side = sideOf(player);
+    return side < 0 ? new BitSet() : (BitSet) playable[side][cost].clone();
+  }
+
+  @Override
+  public boolean isLegalPlacement(Player player, Card card, int row, int col) {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (player == null || card == null) {
+      throw new IllegalArgumentException("Player or card is null.");
+    }
+    int side = sideOf(player);
+    return side >= 0 && isInBounds(row, col) && card.getCost() >= 1 && card.getCost() <= 3
+        && playable[side][card.getCost()].get(row * colSize + col);
+  }
+
   @Override
   public boolean isGameOver() {
     if (!gameStart) {
@@ -200,17 +432,8 @@ public class GameBoard implements Board {
     if (row < 0 || row >= rowSize) {
       throw new IllegalArgumentException("Invalid row index.");
     }
-    int rowScore = 0;
-    for (int col = 0; col < colSize; col++) {
-      Cell cell = board[row][col];
-      Card card = cell.getCard();
-      if (card != null) {
-        if (card.getOwner().equals(player)) {
-          rowScore += card.getValue();
-        }
-      }
-    }
-    return rowScore;
+    int side = sideOf(player);
+    return side < 0 ? 0 : rowScores[side][row];
   }
 
   @Override
@@ -221,22 +444,15 @@ public class GameBoard implements Board {
     if (player == null) {
       throw new IllegalArgumentException("Player is null.");
     }
+    int side = sideOf(player);
+    if (side < 0) {
+      return 0;
+    }
     int total = 0;
-    Player red = this.player1;
-    Player blue = this.player2;
     for (int row = 0; row < rowSize; row++) {
-      int redScore = getRowScore(red, row);
-      int blueScore = getRowScore(blue, row);
-      if (redScore > blueScore) {
-        if (player == red) {
-          total += redScore;
-        }
-      } else if (blueScore > redScore) {
-        if (player == blue) {
-          total += blueScore;
-        }
-      } else {
-        continue;
+      int own = rowScores[side][row];
+      if (own > rowScores[1 - side][row]) {
+        total += own;
       }
     }
     return total;
@@ -252,6 +468,7 @@ public class GameBoard implements Board {
     }
     if (player.getHand().size() < player.getHandSize() && !player.getDeck().isEmpty()) {
       player.drawFromDeckToHand();
+      publishState();
     }
     if (this.turn != player.getIsRed()) {
       throw new IllegalStateException("Not your  turn.");
@@ -262,6 +479,11 @@ public class GameBoard implements Board {
     } else {
       this.passTurn = true;
     }
+    publishState();
+    if (recorder != null) {
+      recorder.turnPassed();
+    }
+    notifyListeners();
   }
 
 
@@ -298,13 +520,17 @@ public class GameBoard implements Board {
     return turn;
   }
 
+  @Override
+  public boolean isLastMovePass() {
+    return passTurn;
+  }
+
   @Override
   public Cell[][] getCopy() {
     Cell[][] copy = new Cell[rowSize][colSize];
     for (int row = 0; row < rowSize; row++) {
       for (int col = 0; col < colSize; col++) {
-        Cell cell = board[row][col];
-        copy[row][col] = cell;
+        copy[row][col] = GameCell.copyOf(board[row][col]);
       }
     }
     return copy;
@@ -337,7 +563,7 @@ public class GameBoard implements Board {
       throw new IndexOutOfBoundsException("Invalid cell indices");
     }
 
-    List<Pawn> pawns = board[row][col].getPawns();
+    List<Pawn> pawns = cellViews[row][col].getPawns();
     return pawns != null ? pawns : new ArrayList<>();
   }
 
@@ -353,5 +579,131 @@ public class GameBoard implements Board {
     return gameStart;
   }
 
+  /**
+   * A cell as getCell hands it out. It reads the board's own cell, and every change made through
+   * it, its pawns included, is made as the board would make it during a move: the cached scores,
+   * playable squares and state are brought up to date and the listeners hear of the change.
+   */
+  private final class BoardCell implements Cell {
+
+    private final int row;
+    private final int col;
+    private final Pawn pawn = new Pawn() {
+      @Override
+      public Player getOwner() {
+        return cell().getPawnOwner();
+      }
+
+      @Override
+      public void setOwner(Player owner) {
+        setPawnOwner(owner);
+      }
+    };
+    private final List<Pawn> pawns = new AbstractList<>() {
+      @Override
+      public Pawn get(int index) {
+        if (index < 0 || index >= size()) {
+          throw new IndexOutOfBoundsException("Invalid pawn index: " + index);
+        }
+        return pawn;
+      }
+
+      @Override
+      public int size() {
+        return cell().getPawnCount();
+      }
+
+      @Override
+      public Pawn remove(int index) {
+        cell().getPawns().remove(index);
+        changed();
+        return pawn;
+      }
+
+      @Override
+      public void clear() {
+        clearPawns();
+      }
+    };
+
+    private BoardCell(int row, int col) {
+      this.row = row;
+      this.col = col;
+    }
+
+    private Cell cell() {
+      return board[row][col];
+    }
+
+    private void changed() {
+      cellChanged(row, col);
+      if (gameStart) {
+        publishState();
+      }
+      notifyCellsChanged();
+    }
+
+    @Override
+    public Card getCard() {
+      return cell().getCard();
+    }
+
+    @Override
+    public void setCard(Card card) {
+      cell().setCard(card);
+      changed();
+    }
+
+    @Override
+    public List<Pawn> getPawns() {
+      return pawns;
+    }
+
+    @Override
+    public Player getPawnOwner() {
+      return cell().getPawnOwner();
+    }
+
+    @Override
+    public int getPawnCount() {
+      return cell().getPawnCount();
+    }
+
+    @Override
+    public void setPawnOwner(Player owner) {
+      cell().setPawnOwner(owner);
+      changed();
+    }
+
+    @Override
+    public void clearPawns() {
+      cell().clearPawns();
+      changed();
+    }
+
+    @Override
+    public void addPawn(Player owner) {
+      cell().addPawn(owner);
+      changed();
+    }
+
+    @Override
+    public int getValueModifier() {
+      return cell().getValueModifier();
+    }
+
+    @Override
+    public void changeValueModifier(int value) {
+      cell().changeValueModifier(value);
+      changed();
+    }
+
+    @Override
+    public void resetValueModifier() {
+      cell().resetValueModifier();
+      changed();
+    }
+  }
+
 
 }
@@ -1,19 +1,26 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 import model.card.Card;
 import model.card.Pawn;
-import model.card.SimplePawn;
 
 /**
- * Implementation of th Cell interface. holds a card and a list of pawns.
+ * Implementation of th Cell interface. holds a card and the pawns in the cell.
+ *
+ * <p>As the pawns in a cell always share one owner, they are stored as that owner and a count
+ * rather than as pawn objects. getPawns returns a live list view of them for code that still works
+ * with Pawns, in which every element is the same pawn standing for the whole square; changing the
+ * owner of that pawn changes the owner of every pawn in the cell.</p>
  */
 public class GameCell implements Cell {
 
   private Card card;
-  private List<Pawn> pawns;
+  private Player pawnOwner;
+  private int pawnCount;
   private int valueMod = 0;
+  // Created the first time the pawns are asked for as a list.
+  private List<Pawn> pawnView;
 
   /**
    * Constructor for the gameCell.
@@ -26,7 +33,39 @@ public class GameCell implements Cell {
       throw new IllegalArgumentException("Card cannot be null.");
     }
     this.card = card;
-    this.pawns = new ArrayList<>();
+  }
+
+  /**
+   * Copies a cell. The copy has the same card, pawn owners and value modifier as the given cell,
+   * but its own pawns so that changes to the copy never reach the original.
+   *
+   * @param other the cell to copy.
+   * @return the copy.
+   * @throws IllegalArgumentException if the cell is null.
+   */
+  public static GameCell copyOf(Cell other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Cell cannot be null.");
+    }
+    GameCell copy = new GameCell();
+    copy.card = other.getCard();
+    copy.pawnOwner = other.getPawnOwner();
+    copy.pawnCount = other.getPawnCount();
+    copy.valueMod = other.getValueModifier();
+    return copy;
+  }
+
+  /**
+   * Makes a cell holding the given card, pawns and value modifier, without the checks setCard and
+   * addPawn make, for restoring a position that was valid when it was saved.
+   */
+  static GameCell restored(Card card, Player pawnOwner, int pawnCount, int valueMod) {
+    GameCell cell = new GameCell();
+    cell.card = card;
+    cell.pawnOwner = pawnCount == 0 ? null : pawnOwner;
+    cell.pawnCount = pawnCount;
+    cell.valueMod = valueMod;
+    return cell;
   }
 
   /**
@@ -34,7 +73,6 @@ public class GameCell implements Cell {
    */
   public GameCell() {
     this.card = null;
-    this.pawns = new ArrayList<>();
   }
 
   @Override
@@ -48,7 +86,7 @@ public class GameCell implements Cell {
       this.card = null;
       return;
     }
-    if (card.getCost() <= pawns.size()) {
+    if (card.getCost() <= pawnCount) {
       this.card = card;
     } else {
       throw new IllegalArgumentException("Card is null/too large.");
@@ -57,16 +95,46 @@ public class GameCell implements Cell {
 
   @Override
   public List<Pawn> getPawns() {
-    return pawns;
+    if (pawnView == null) {
+      pawnView = new PawnView();
+    }
+    return pawnView;
+  }
+
+  @Override
+  public Player getPawnOwner() {
+    return pawnOwner;
+  }
+
+  @Override
+  public int getPawnCount() {
+    return pawnCount;
+  }
+
+  @Override
+  public void setPawnOwner(Player owner) {
+    if (owner == null) {
+      throw new IllegalArgumentException("Owner cannot be null.");
+    }
+    if (pawnCount == 0) {
+      throw new IllegalStateException("Cell has no pawns.");
+    }
+    pawnOwner = owner;
   }
 
+  @Override
+  public void clearPawns() {
+    pawnOwner = null;
+    pawnCount = 0;
+  }
 
   @Override
   public void addPawn(Player owner) {
-    if (this.pawns.isEmpty()) {
-      pawns.add(new SimplePawn(owner));
-    } else if (this.pawns.get(0).getOwner().equals(owner) && this.pawns.size() < 3) {
-      pawns.add(new SimplePawn(owner));
+    if (this.pawnCount == 0) {
+      pawnOwner = owner;
+      pawnCount = 1;
+    } else if (this.pawnOwner.equals(owner) && this.pawnCount < 3) {
+      pawnCount++;
     } else {
       throw new IllegalStateException("Pawns in square have a different owner");
     }
@@ -86,4 +154,50 @@ public class GameCell implements Cell {
   public void resetValueModifier() {
     valueMod = 0;
   }
+
+  /**
+   * Live list of the pawns in the cell. Pawns can be removed but not added through the list.
+   */
+  private final class PawnView extends AbstractList<Pawn> {
+
+    private final Pawn pawn = new Pawn() {
+      @Override
+      public Player getOwner() {
+        return pawnOwner;
+      }
+
+      @Override
+      public void setOwner(Player owner) {
+        setPawnOwner(owner);
+      }
+    };
+
+    @Override
+    public Pawn get(int index) {
+      if (index < 0 || index >= pawnCount) {
+        throw new IndexOutOfBoundsException("Invalid pawn index: " + index);
+      }
+      return pawn;
+    }
+
+    @Override
+    public int size() {
+      return pawnCount;
+    }
+
+    @Override
+    public Pawn remove(int index) {
+      Pawn removed = get(index);
+      pawnCount--;
+      if (pawnCount == 0) {
+        pawnOwner = null;
+      }
+      return removed;
+    }
+
+    @Override
+    public void clear() {
+      clearPawns();
+    }
+  }
 }
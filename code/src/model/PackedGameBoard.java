@@ -0,0 +1,999 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import model.card.Card;
+import model.card.InfluenceKind;
+import model.card.InfluenceMask;
+import model.card.Pawn;
+import model.card.SimplePawn;
+
+/**
+ * Implementation of the Board interface backed by primitive arrays instead of Cell objects. Every
+ * square is packed into a single int holding its owner, pawn count and card index, with the value
+ * modifier kept in a parallel int array. Follows the same rules as GameBoard, but placing a card
+ * does not allocate any cells or pawns, which makes it suited to simulations that mutate the board
+ * many times.
+ *
+ * <p>Besides the Board interface, the packed board offers a make/unmake API for searches: play and
+ * pass make a move for the side whose turn it is without touching the players' hands, and undo
+ * takes back the last of those moves using an undo stack of the squares they changed. Searches
+ * should run on a snapshot made with of or copy, never on the live game.</p>
+ *
+ * <p>The board also keeps a Zobrist style hash of its position, updated with every change to a
+ * square, so searches can recognise positions they reached through a different order of moves.
+ * The hash covers pawn owners and counts, the cards on the board, the cards that have been played,
+ * the value modifiers and whose turn it is. A card's key is made from its name, cost, value,
+ * influence and owner, so cards that play alike share a key and the same position has the same
+ * hash on every snapshot, in every search and game, which lets searches share what they found.</p>
+ */
+public class PackedGameBoard implements Board {
+
+  // Layout of a packed cell:
+  // bits 0-1 hold the owner (NONE, RED or BLUE), bits 2-3 the pawn count (0-3) and the remaining
+  // bits hold the index of the card in the card table plus one (zero when there is no card).
+  protected static final int NONE = 0;
+  protected static final int RED = 1;
+  protected static final int BLUE = 2;
+  private static final int OWNER_MASK = 0x3;
+  private static final int COUNT_SHIFT = 2;
+  private static final int COUNT_MASK = 0x3 << COUNT_SHIFT;
+  private static final int CARD_SHIFT = 4;
+  // Flags saved in the undo stack for each move.
+  private static final int TURN_FLAG = 1;
+  private static final int PASS_FLAG = 2;
+  private static final int OVER_FLAG = 4;
+  // Salts that keep the different kinds of hash keys apart.
+  private static final long CELL_SALT = 0x9E3779B97F4A7C15L;
+  private static final long CARD_SALT = 0xC2B2AE3D27D4EB4FL;
+  private static final long SPENT_SALT = 0x165667B19E3779F9L;
+  private static final long MOD_SALT = 0xD6E8FEB86659FD93L;
+  private static final long TURN_KEY = mix(0x27D4EB2F165667C5L);
+  private static final long PASS_KEY = mix(0x85EBCA77C2B2AE63L);
+  private static final long OVER_KEY = mix(0xFF51AFD7ED558CCDL);
+
+  private final int rowSize;
+  private final int colSize;
+  private final int[] cells;
+  private final int[] valueMods;
+  private final Cell[] cellViews;
+  private Card[] cardTable;
+  // The hash key of each card in the card table.
+  private long[] cardKeys;
+  private int cardCount;
+  private Player player1;
+  private Player player2;
+  private boolean gameStart;
+  private boolean turn;
+  private boolean passTurn;
+  private boolean gameOver;
+  // Undo stack of (square, packed value, modifier) entries followed by a (hash high, hash low,
+  // flags, card count, entry count) header for every move made through play or pass.
+  private int[] history;
+  private int historySize;
+  private int undoDepth;
+  private boolean recording;
+  private long hash;
+  private final List<BoardListener> listeners;
+  // The state taken the last time one was asked for.
+  private BoardState state;
+
+  /**
+   * Constructor for the PackedGameBoard class.
+   *
+   * @param rowSize the size of the rows.
+   * @param colSize the size of the columns.
+   * @throws IllegalArgumentException if the row or columns are invalid.
+   */
+  public PackedGameBoard(int rowSize, int colSize) {
+    if (rowSize <= 0 || colSize <= 1 || colSize % 2 == 0) {
+      throw new IllegalArgumentException("Invalid row or column size");
+    }
+    this.rowSize = rowSize;
+    this.colSize = colSize;
+    this.cells = new int[rowSize * colSize];
+    this.valueMods = new int[rowSize * colSize];
+    this.cellViews = new Cell[rowSize * colSize];
+    this.cardTable = new Card[rowSize * colSize];
+    this.cardKeys = new long[rowSize * colSize];
+    this.cardCount = 0;
+    this.gameStart = false;
+    this.passTurn = false;
+    this.turn = true;
+    this.history = new int[64];
+    this.historySize = 0;
+    this.undoDepth = 0;
+    this.recording = false;
+    this.listeners = new CopyOnWriteArrayList<>();
+  }
+
+  /**
+   * Copy constructor. The copy shares the players and the placed cards, which are never changed by
+   * the board, but has its own squares and undo stack.
+   *
+   * @param other the board to copy.
+   */
+  protected PackedGameBoard(PackedGameBoard other) {
+    this.rowSize = other.rowSize;
+    this.colSize = other.colSize;
+    this.cells = other.cells.clone();
+    this.valueMods = other.valueMods.clone();
+    this.cellViews = new Cell[cells.length];
+    this.cardTable = other.cardTable.clone();
+    this.cardKeys = other.cardKeys.clone();
+    this.cardCount = other.cardCount;
+    this.player1 = other.player1;
+    this.player2 = other.player2;
+    this.gameStart = other.gameStart;
+    this.turn = other.turn;
+    this.passTurn = other.passTurn;
+    this.gameOver = other.gameOver;
+    this.hash = other.hash;
+    this.history = new int[64];
+    this.historySize = 0;
+    this.undoDepth = 0;
+    this.recording = false;
+    this.listeners = new CopyOnWriteArrayList<>();
+  }
+
+  /**
+   * Creates a packed snapshot of a started game on any board, following the rules of the original
+   * board. The snapshot has no undo history and changing it never affects the original.
+   *
+   * @param board the board to copy.
+   * @return the packed snapshot.
+   * @throws IllegalArgumentException if the board is null.
+   * @throws IllegalStateException    if the game has not started.
+   */
+  public static PackedGameBoard of(ReadOnlyBoard board) {
+    if (board == null) {
+      throw new IllegalArgumentException("Board cannot be null.");
+    }
+    if (board instanceof PackedGameBoard) {
+      return ((PackedGameBoard) board).copy();
+    }
+    boolean updated = board instanceof UpdatedGameBoard;
+    PackedGameBoard packed = updated ? new UpdatedPackedGameBoard(board.getHeight(),
+        board.getWidth()) : new PackedGameBoard(board.getHeight(), board.getWidth());
+    packed.player1 = board.getP1();
+    packed.player2 = board.getP2();
+    packed.gameStart = true;
+    packed.gameOver = board.isGameOver();
+    packed.turn = board.getTurn();
+    packed.passTurn = board.isLastMovePass();
+    for (int row = 0; row < packed.rowSize; row++) {
+      for (int col = 0; col < packed.colSize; col++) {
+        int idx = packed.index(row, col);
+        Cell cell = board.getCell(row, col);
+        Card card = cell.getCard();
+        Player owner = card != null ? card.getOwner() : cell.getPawnOwner();
+        packed.setCell(idx, pack(packed.sideOf(owner), cell.getPawnCount(), 0));
+        if (card != null) {
+          packed.putCard(idx, card);
+        }
+        packed.setValueModifier(idx, cell.getValueModifier());
+      }
+    }
+    return packed;
+  }
+
+  /**
+   * Creates an independent copy of this board, following the same rules.
+   *
+   * @return the copy.
+   */
+  public PackedGameBoard copy() {
+    return new PackedGameBoard(this);
+  }
+
+  /**
+   * Checks whether the side whose turn it is could place the given card in the given square.
+   *
+   * @param card the card to place.
+   * @param row  the Board row.
+   * @param col  the Board column.
+   * @return true if the placement is legal.
+   */
+  public boolean canPlay(Card card, int row, int col) {
+    if (card == null || !isInBounds(row, col)) {
+      return false;
+    }
+    int cell = cells[index(row, col)];
+    return cardIndexOf(cell) == 0 && countOf(cell) >= card.getCost()
+        && ownerOf(cell) == sideToMove();
+  }
+
+  /**
+   * Places a card for the side whose turn it is and records the move on the undo stack. The card
+   * is not taken from any player's hand; tracking hands is up to the caller.
+   *
+   * @param card the card to place.
+   * @param row  the Board row.
+   * @param col  the Board column.
+   * @throws IllegalArgumentException if the placement is not legal.
+   * @throws IllegalStateException    if the game has not started.
+   */
+  public void play(Card card, int row, int col) {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (!canPlay(card, row, col)) {
+      throw new IllegalArgumentException("Illegal placement.");
+    }
+    int flags = saveFlags();
+    long hashBefore = hash;
+    int cardsBefore = cardCount;
+    int entriesBefore = historySize;
+    recording = true;
+    putCard(index(row, col), card);
+    applyInfluence(sideToMove(), card, row, col);
+    recording = false;
+    passTurn = false;
+    turn = !turn;
+    pushFrame(hashBefore, flags, cardsBefore, (historySize - entriesBefore) / 3);
+  }
+
+  /**
+   * Passes for the side whose turn it is and records the move on the undo stack.
+   *
+   * @throws IllegalStateException if the game has not started.
+   */
+  public void pass() {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    int flags = saveFlags();
+    long hashBefore = hash;
+    turn = !turn;
+    if (passTurn) {
+      gameOver = true;
+    } else {
+      passTurn = true;
+    }
+    pushFrame(hashBefore, flags, cardCount, 0);
+  }
+
+  /**
+   * Takes back the last move made with play or pass.
+   *
+   * @throws IllegalStateException if there is no move to take back.
+   */
+  public void undo() {
+    if (historySize == 0) {
+      throw new IllegalStateException("No move to undo.");
+    }
+    undoDepth--;
+    int entries = history[--historySize];
+    int cardsBefore = history[--historySize];
+    int flags = history[--historySize];
+    long hashLow = history[--historySize] & 0xFFFFFFFFL;
+    hash = ((long) history[--historySize] << 32) | hashLow;
+    for (int i = 0; i < entries; i++) {
+      int mod = history[--historySize];
+      int cell = history[--historySize];
+      int idx = history[--historySize];
+      cells[idx] = cell;
+      valueMods[idx] = mod;
+    }
+    for (int i = cardsBefore; i < cardCount; i++) {
+      cardTable[i] = null;
+    }
+    cardCount = cardsBefore;
+    turn = (flags & TURN_FLAG) != 0;
+    passTurn = (flags & PASS_FLAG) != 0;
+    gameOver = (flags & OVER_FLAG) != 0;
+  }
+
+  /**
+   * Returns the hash of the current position. Positions that are the same have the same hash, and
+   * different positions almost always have different hashes.
+   *
+   * @return the position hash.
+   */
+  public long getHash() {
+    return hash ^ (turn ? TURN_KEY : 0) ^ (passTurn ? PASS_KEY : 0) ^ (gameOver ? OVER_KEY : 0);
+  }
+
+  /**
+   * Returns the number of moves that can be taken back with undo.
+   *
+   * @return the number of recorded moves.
+   */
+  public int getUndoDepth() {
+    return undoDepth;
+  }
+
+  @Override
+  public void startGame(Player player1, Player player2) {
+    if (player1 == null || player2 == null) {
+      throw new IllegalArgumentException("Players can't be null.");
+    }
+    if (player1.getDeck().size() < rowSize * colSize
+        || player2.getDeck().size() < rowSize * colSize) {
+      throw new IllegalArgumentException("Decks are too small for specified dimensions.");
+    }
+    if (player1.getHandSize() != player2.getHandSize()) {
+      throw new IllegalStateException("Players must have same size decks.");
+    }
+    if (gameStart) {
+      throw new IllegalStateException("Game is already started.");
+    }
+    this.gameStart = true;
+    this.gameOver = false;
+    this.player1 = player1;
+    this.player2 = player2;
+    for (int i = 0; i < player1.getHandSize(); i++) {
+      player1.drawFromDeckToHand();
+      player2.drawFromDeckToHand();
+    }
+    for (int row = 0; row < rowSize; row++) {
+      setCell(index(row, 0), pack(RED, 1, 0));
+      setCell(index(row, colSize - 1), pack(BLUE, 1, 0));
+    }
+  }
+
+  @Override
+  public void placeCard(Player player, int handIdx, int row, int col) {
+    if (player == null) {
+      throw new IllegalArgumentException("Player is null.");
+    }
+    if (!isInBounds(row, col)) {
+      throw new IllegalStateException("Out of bounds inputs.");
+    }
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (player.getHand().size() < player.getHandSize() && !player.getDeck().isEmpty()) {
+      player.drawFromDeckToHand();
+    }
+    if (this.turn != player.getIsRed()) {
+      throw new IllegalStateException("Not your  turn.");
+    }
+    if (handIdx >= player1.getHandSize() || handIdx < 0) {
+      throw new IllegalArgumentException("Invalid hand index.");
+    }
+    Card card = player.getHand().get(handIdx);
+    int idx = index(row, col);
+    int cell = cells[idx];
+    if (cardIndexOf(cell) != 0) {
+      throw new IllegalArgumentException("Card already exists.");
+    }
+    if (countOf(cell) == 0) {
+      throw new IllegalArgumentException("No such pawn.");
+    }
+    if (ownerOf(cell) != sideOf(player)) {
+      throw new IllegalArgumentException("Pawns are not your color.");
+    }
+    if (countOf(cell) < card.getCost()) {
+      throw new IllegalArgumentException("Card cost exceeded.");
+    }
+    historySize = 0;
+    undoDepth = 0;
+    putCard(idx, card);
+    player.getHand().remove(handIdx);
+    applyInfluence(sideOf(player), card, row, col);
+    if (passTurn) {
+      passTurn = false;
+    }
+    this.turn = !this.turn;
+    notifyCellsChanged(card, row, col);
+    notifyListeners();
+  }
+
+  /**
+   * Tells the listeners about every square a placed card can have changed: its own and the
+   * squares its influence reaches.
+   */
+  private void notifyCellsChanged(Card card, int row, int col) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    InfluenceMask mask = card.getInfluenceMask();
+    for (BoardListener listener : listeners) {
+      listener.cellChanged(row, col);
+      for (int i = 0; i < mask.size(); i++) {
+        int targetRow = row + mask.getRowOffset(i);
+        int targetCol = col + mask.getColOffset(i);
+        if (isInBounds(targetRow, targetCol)) {
+          listener.cellChanged(targetRow, targetCol);
+        }
+      }
+    }
+  }
+
+  /**
+   * Applies the influence of a card that was just placed by the given side.
+   *
+   * @param side      the side that placed the card.
+   * @param card      the card that was placed.
+   * @param placedRow the row the card was placed in.
+   * @param placedCol the column the card was placed in.
+   */
+  protected void applyInfluence(int side, Card card, int placedRow, int placedCol) {
+    InfluenceMask mask = card.getInfluenceMask();
+    for (int i = 0; i < mask.size(); i++) {
+      int targetRow = placedRow + mask.getRowOffset(i);
+      int targetCol = placedCol + mask.getColOffset(i);
+      if (isInBounds(targetRow, targetCol)) {
+        claim(side, index(targetRow, targetCol));
+      }
+    }
+  }
+
+  /**
+   * Claims the given square for a side: adds a pawn to an empty or friendly square and converts the
+   * pawns of an enemy square. Squares holding a card are left untouched.
+   *
+   * @param side the side claiming the square.
+   * @param idx  the packed index of the square.
+   */
+  protected void claim(int side, int idx) {
+    int cell = cells[idx];
+    if (cardIndexOf(cell) != 0) {
+      return;
+    }
+    record(idx);
+    int count = countOf(cell);
+    if (count == 0) {
+      setCell(idx, pack(side, 1, 0));
+    } else if (ownerOf(cell) == side) {
+      if (count < 3) {
+        setCell(idx, pack(side, count + 1, 0));
+      }
+    } else {
+      setCell(idx, pack(side, count, 0));
+    }
+  }
+
+  /**
+   * Adds the given amount to the value modifier of a square.
+   *
+   * @param idx    the packed index of the square.
+   * @param amount the amount added to the modifier.
+   */
+  protected void changeValueModifier(int idx, int amount) {
+    record(idx);
+    setValueModifier(idx, valueMods[idx] + amount);
+  }
+
+  /**
+   * Removes the card in the given square if its modified value dropped to zero or below, and gives
+   * the square back to the card's owner as a number of pawns equal to the card's cost.
+   *
+   * @param idx the packed index of the square.
+   */
+  protected void destroyCardIfNecessary(int idx) {
+    Card card = cardAt(idx);
+    if (card == null || card.getValue() + valueMods[idx] > 0) {
+      return;
+    }
+    record(idx);
+    setCell(idx, pack(ownerOf(cells[idx]), card.getCost(), 0));
+    setValueModifier(idx, 0);
+  }
+
+  /**
+   * Returns the points the card in the given square is worth.
+   *
+   * @param idx the packed index of the square, which must hold a card.
+   * @return the score of the card.
+   */
+  protected int cardScore(int idx) {
+    return cardAt(idx).getValue();
+  }
+
+  @Override
+  public int getRowScore(Player player, int row) {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (player == null) {
+      throw new IllegalArgumentException("Player is null.");
+    }
+    if (row < 0 || row >= rowSize) {
+      throw new IllegalArgumentException("Invalid row index.");
+    }
+    return rowScore(sideOf(player), row);
+  }
+
+  /**
+   * Sums the score of the cards owned by a side in one row.
+   *
+   * @param side the side being scored.
+   * @param row  the row being scored.
+   * @return the row score.
+   */
+  protected int rowScore(int side, int row) {
+    if (side == NONE) {
+      return 0;
+    }
+    int score = 0;
+    int start = row * colSize;
+    for (int idx = start; idx < start + colSize; idx++) {
+      int cell = cells[idx];
+      if (cardIndexOf(cell) != 0 && ownerOf(cell) == side) {
+        score += cardScore(idx);
+      }
+    }
+    return score;
+  }
+
+  @Override
+  public int getTotalScore(Player player) {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (player == null) {
+      throw new IllegalArgumentException("Player is null.");
+    }
+    int side = sideOf(player);
+    int total = 0;
+    for (int row = 0; row < rowSize; row++) {
+      int redScore = rowScore(RED, row);
+      int blueScore = rowScore(BLUE, row);
+      if (redScore > blueScore && side == RED) {
+        total += redScore;
+      } else if (blueScore > redScore && side == BLUE) {
+        total += blueScore;
+      }
+    }
+    return total;
+  }
+
+  @Override
+  public void passTurn(Player player) {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (player == null) {
+      throw new IllegalArgumentException("Player is null.");
+    }
+    if (player.getHand().size() < player.getHandSize() && !player.getDeck().isEmpty()) {
+      player.drawFromDeckToHand();
+    }
+    if (this.turn != player.getIsRed()) {
+      throw new IllegalStateException("Not your  turn.");
+    }
+    historySize = 0;
+    undoDepth = 0;
+    this.turn = !this.turn;
+    if (this.passTurn) {
+      this.gameOver = true;
+    } else {
+      this.passTurn = true;
+    }
+    notifyListeners();
+  }
+
+  @Override
+  public void addListener(BoardListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Returns the state of the game as it is now. Unlike GameBoard, a packed board does not publish a
+   * state after every move, since it is mostly played by searches that never read one; the state
+   * is taken when asked for, so it must be asked for on the thread playing the board. Rows that did
+   * not change are shared with the state taken before.
+   */
+  @Override
+  public BoardState getState() {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    BitSet rows = new BitSet(rowSize);
+    rows.set(0, rowSize);
+    state = BoardState.next(state, this, rows);
+    return state;
+  }
+
+  private void notifyListeners() {
+    for (BoardListener listener : listeners) {
+      if (gameOver) {
+        listener.gameOver();
+      } else {
+        listener.turnChanged(turn);
+      }
+    }
+  }
+
+  @Override
+  public boolean isGameOver() {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    return gameOver;
+  }
+
+  @Override
+  public Cell getCell(int row, int col) {
+    if (!isInBounds(row, col)) {
+      throw new IllegalArgumentException("Invalid row or column");
+    }
+    int idx = index(row, col);
+    if (cellViews[idx] == null) {
+      cellViews[idx] = new PackedCell(idx);
+    }
+    return cellViews[idx];
+  }
+
+  @Override
+  public int getWidth() {
+    return colSize;
+  }
+
+  @Override
+  public int getHeight() {
+    return rowSize;
+  }
+
+  @Override
+  public Player getP1() {
+    if (!gameStart || player1 == null) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    return player1;
+  }
+
+  @Override
+  public Player getP2() {
+    if (!gameStart || player2 == null) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    return player2;
+  }
+
+  @Override
+  public boolean getTurn() {
+    return turn;
+  }
+
+  @Override
+  public boolean isLastMovePass() {
+    return passTurn;
+  }
+
+  @Override
+  public Cell[][] getCopy() {
+    Cell[][] copy = new Cell[rowSize][colSize];
+    for (int row = 0; row < rowSize; row++) {
+      for (int col = 0; col < colSize; col++) {
+        int idx = index(row, col);
+        Cell cell = new GameCell();
+        for (int i = 0; i < countOf(cells[idx]); i++) {
+          cell.addPawn(playerOf(ownerOf(cells[idx])));
+        }
+        cell.setCard(cardAt(idx));
+        cell.changeValueModifier(valueMods[idx]);
+        copy[row][col] = cell;
+      }
+    }
+    return copy;
+  }
+
+  @Override
+  public Player getWinner() {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (!gameOver) {
+      throw new IllegalStateException("Game is not over.");
+    }
+    int p1Score = getTotalScore(player1);
+    int p2Score = getTotalScore(player2);
+    if (p1Score > p2Score) {
+      return player1;
+    } else if (p2Score > p1Score) {
+      return player2;
+    }
+    return null;
+  }
+
+  @Override
+  public Card getCardAt(int row, int col) {
+    if (!isInBounds(row, col)) {
+      throw new IndexOutOfBoundsException("Invalid cell indices");
+    }
+    return cardAt(index(row, col));
+  }
+
+  @Override
+  public List<Pawn> getPawnsAt(int row, int col) {
+    if (!isInBounds(row, col)) {
+      throw new IndexOutOfBoundsException("Invalid cell indices");
+    }
+    return pawnsAt(index(row, col));
+  }
+
+  @Override
+  public BitSet getPlayableCells(Player player, int cost) {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (player == null || cost < 1 || cost > 3) {
+      throw new IllegalArgumentException("Player is null or cost is invalid.");
+    }
+    int side = sideOf(player);
+    BitSet result = new BitSet(cells.length);
+    if (side == NONE) {
+      return result;
+    }
+    // The packed cells are small enough that a scan is as cheap as keeping sets up to date.
+    for (int idx = 0; idx < cells.length; idx++) {
+      int cell = cells[idx];
+      if (cardIndexOf(cell) == 0 && ownerOf(cell) == side && countOf(cell) >= cost) {
+        result.set(idx);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean isLegalPlacement(Player player, Card card, int row, int col) {
+    if (!gameStart) {
+      throw new IllegalStateException("Game has not started.");
+    }
+    if (player == null || card == null) {
+      throw new IllegalArgumentException("Player or card is null.");
+    }
+    int side = sideOf(player);
+    if (side == NONE || !isInBounds(row, col)) {
+      return false;
+    }
+    int cell = cells[index(row, col)];
+    return cardIndexOf(cell) == 0 && ownerOf(cell) == side && countOf(cell) >= card.getCost();
+  }
+
+  protected boolean isInBounds(int row, int col) {
+    return row >= 0 && row < rowSize && col >= 0 && col < colSize;
+  }
+
+  protected boolean isGameStart() {
+    return gameStart;
+  }
+
+  protected int index(int row, int col) {
+    return row * colSize + col;
+  }
+
+  protected Card cardAt(int idx) {
+    int cardIdx = cardIndexOf(cells[idx]);
+    return cardIdx == 0 ? null : cardTable[cardIdx - 1];
+  }
+
+  protected int valueModifierAt(int idx) {
+    return valueMods[idx];
+  }
+
+  private void putCard(int idx, Card card) {
+    if (cardCount == cardTable.length) {
+      cardTable = Arrays.copyOf(cardTable, cardTable.length * 2);
+      cardKeys = Arrays.copyOf(cardKeys, cardKeys.length * 2);
+    }
+    long key = cardKey(card);
+    cardTable[cardCount] = card;
+    cardKeys[cardCount++] = key;
+    record(idx);
+    int cell = cells[idx];
+    hash ^= mix(key ^ SPENT_SALT);
+    setCell(idx, pack(ownerOf(cell), countOf(cell), cardCount));
+  }
+
+  private int sideToMove() {
+    return turn ? RED : BLUE;
+  }
+
+  private int saveFlags() {
+    return (turn ? TURN_FLAG : 0) | (passTurn ? PASS_FLAG : 0) | (gameOver ? OVER_FLAG : 0);
+  }
+
+  private void setCell(int idx, int value) {
+    hash ^= cellKey(idx, cells[idx]) ^ cellKey(idx, value);
+    cells[idx] = value;
+  }
+
+  private void setValueModifier(int idx, int value) {
+    hash ^= modKey(idx, valueMods[idx]) ^ modKey(idx, value);
+    valueMods[idx] = value;
+  }
+
+  private long cellKey(int idx, int cell) {
+    long key = mix(((long) idx << 4 | (cell & (OWNER_MASK | COUNT_MASK))) ^ CELL_SALT);
+    int cardIdx = cardIndexOf(cell);
+    if (cardIdx != 0) {
+      key ^= mix(cardKeys[cardIdx - 1] + idx * CARD_SALT);
+    }
+    return key;
+  }
+
+  /**
+   * Returns the hash key of a card, made from everything that decides how it plays: its name,
+   * cost, value, influence and owner.
+   */
+  private long cardKey(Card card) {
+    InfluenceMask mask = card.getInfluenceMask();
+    long key = mix((long) card.getName().hashCode() << 32 | (card.getValue() & 0xFFFFFFFFL));
+    key = mix(key ^ ((long) mask.getBits(InfluenceKind.CLAIM) << 25
+        | mask.getBits(InfluenceKind.UPGRADE)));
+    return mix(key ^ ((long) mask.getBits(InfluenceKind.DEVALUE) << 8 | card.getCost() << 2
+        | sideOf(card.getOwner())));
+  }
+
+  private static long modKey(int idx, int mod) {
+    return mod == 0 ? 0 : mix(((long) idx << 32 | (mod & 0xFFFFFFFFL)) ^ MOD_SALT);
+  }
+
+  private static long mix(long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  private void record(int idx) {
+    if (!recording) {
+      return;
+    }
+    ensureHistory(3);
+    history[historySize++] = idx;
+    history[historySize++] = cells[idx];
+    history[historySize++] = valueMods[idx];
+  }
+
+  private void pushFrame(long hashBefore, int flags, int cardsBefore, int entries) {
+    ensureHistory(5);
+    history[historySize++] = (int) (hashBefore >>> 32);
+    history[historySize++] = (int) hashBefore;
+    history[historySize++] = flags;
+    history[historySize++] = cardsBefore;
+    history[historySize++] = entries;
+    undoDepth++;
+  }
+
+  private void ensureHistory(int extra) {
+    if (historySize + extra > history.length) {
+      history = Arrays.copyOf(history, Math.max(history.length * 2, historySize + extra));
+    }
+  }
+
+  private List<Pawn> pawnsAt(int idx) {
+    int cell = cells[idx];
+    List<Pawn> pawns = new ArrayList<>(countOf(cell));
+    Player owner = playerOf(ownerOf(cell));
+    for (int i = 0; i < countOf(cell); i++) {
+      pawns.add(new SimplePawn(owner));
+    }
+    return pawns;
+  }
+
+  private int sideOf(Player player) {
+    if (player == null) {
+      return NONE;
+    }
+    if (player.equals(player1)) {
+      return RED;
+    }
+    return player.equals(player2) ? BLUE : NONE;
+  }
+
+  private Player playerOf(int side) {
+    if (side == RED) {
+      return player1;
+    }
+    return side == BLUE ? player2 : null;
+  }
+
+  private static int pack(int owner, int count, int cardIdx) {
+    return owner | (count << COUNT_SHIFT) | (cardIdx << CARD_SHIFT);
+  }
+
+  private static int ownerOf(int cell) {
+    return cell & OWNER_MASK;
+  }
+
+  private static int countOf(int cell) {
+    return (cell & COUNT_MASK) >>> COUNT_SHIFT;
+  }
+
+  private static int cardIndexOf(int cell) {
+    return cell >>> CARD_SHIFT;
+  }
+
+  /**
+   * Live view of one packed square, so the board can be used wherever Cells are expected. Writes go
+   * straight to the packed arrays; the pawn list returned is a detached copy.
+   */
+  private class PackedCell implements Cell {
+
+    private final int idx;
+
+    private PackedCell(int idx) {
+      this.idx = idx;
+    }
+
+    @Override
+    public Card getCard() {
+      return cardAt(idx);
+    }
+
+    @Override
+    public void setCard(Card card) {
+      int cell = cells[idx];
+      if (card == null) {
+        setCell(idx, pack(ownerOf(cell), countOf(cell), 0));
+        return;
+      }
+      if (card.getCost() > countOf(cell)) {
+        throw new IllegalArgumentException("Card is null/too large.");
+      }
+      putCard(idx, card);
+    }
+
+    @Override
+    public List<Pawn> getPawns() {
+      return pawnsAt(idx);
+    }
+
+    @Override
+    public Player getPawnOwner() {
+      int cell = cells[idx];
+      return countOf(cell) == 0 ? null : playerOf(ownerOf(cell));
+    }
+
+    @Override
+    public int getPawnCount() {
+      return countOf(cells[idx]);
+    }
+
+    @Override
+    public void setPawnOwner(Player owner) {
+      if (owner == null) {
+        throw new IllegalArgumentException("Owner cannot be null.");
+      }
+      int cell = cells[idx];
+      if (countOf(cell) == 0) {
+        throw new IllegalStateException("Cell has no pawns.");
+      }
+      setCell(idx, pack(sideOf(owner), countOf(cell), cardIndexOf(cell)));
+    }
+
+    @Override
+    public void clearPawns() {
+      int cell = cells[idx];
+      setCell(idx, pack(cardIndexOf(cell) == 0 ? NONE : ownerOf(cell), 0, cardIndexOf(cell)));
+    }
+
+    @Override
+    public void addPawn(Player owner) {
+      int cell = cells[idx];
+      int count = countOf(cell);
+      int side = sideOf(owner);
+      if (count == 0 || (ownerOf(cell) == side && count < 3)) {
+        setCell(idx, pack(side, count + 1, cardIndexOf(cell)));
+      } else {
+        throw new IllegalStateException("Pawns in square have a different owner");
+      }
+    }
+
+    @Override
+    public int getValueModifier() {
+      return valueMods[idx];
+    }
+
+    @Override
+    public void changeValueModifier(int value) {
+      setValueModifier(idx, valueMods[idx] + value);
+    }
+
+    @Override
+    public void resetValueModifier() {
+      setValueModifier(idx, 0);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package model;
 
+import java.util.BitSet;
 import java.util.List;
 import model.card.Card;
 import model.card.Pawn;
@@ -82,7 +83,14 @@ public interface ReadOnlyBoard {
   public boolean getTurn();
 
   /**
-   * Gets a copy of the board.
+   * Returns whether the last move was a pass, in which case another pass ends the game.
+   *
+   * @return true if the previous player passed.
+   */
+  public boolean isLastMovePass();
+
+  /**
+   * Gets a copy of the board. The cells are copies too, so changing them never affects the board.
    *
    * @return a copy of the board.
    */
@@ -106,4 +114,48 @@ public interface ReadOnlyBoard {
    * pawns.
    */
   List<Pawn> getPawnsAt(int row, int col);
+
+  /**
+   * Registers a listener that is notified after every move made on this board.
+   *
+   * @param listener the listener.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  void addListener(BoardListener listener);
+
+  /**
+   * Returns the squares the player could place a card of the given cost in: squares without a
+   * card that hold at least that many of the player's pawns. Bit (row * getWidth() + col) is set
+   * for every such square.
+   *
+   * @param player the player.
+   * @param cost   the cost of the card, from 1 to 3.
+   * @return a new set of the playable squares, which the caller may change.
+   * @throws IllegalStateException    if the game has not started.
+   * @throws IllegalArgumentException if the player is null or the cost is not from 1 to 3.
+   */
+  BitSet getPlayableCells(Player player, int cost);
+
+  /**
+   * Returns whether the player could place the card in the given square, whoever's turn it is.
+   *
+   * @param player the player.
+   * @param card   the card.
+   * @param row    the row.
+   * @param col    the column.
+   * @return true if the square has no card and enough of the player's pawns for the card.
+   * @throws IllegalStateException    if the game has not started.
+   * @throws IllegalArgumentException if the player or card is null.
+   */
+  boolean isLegalPlacement(Player player, Card card, int row, int col);
+
+  /**
+   * Returns the latest state of the game, which never changes and can be read from any thread
+   * while the board is being played. Readers on another thread than the one making moves should
+   * read the board through its state.
+   *
+   * @return the state as of the last move.
+   * @throws IllegalStateException if the game has not started.
+   */
+  BoardState getState();
 }
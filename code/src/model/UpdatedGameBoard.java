@@ -1,9 +1,7 @@
 package model;
 
-import java.util.List;
 import model.card.Card;
-import model.card.Influence;
-import model.card.Pawn;
+import model.card.InfluenceMask;
 
 /**
  * Updated Game Board class with new rules for upgrading and devaluing cards. Handles all influence
@@ -23,53 +21,50 @@ public class UpdatedGameBoard extends GameBoard {
 
   @Override
   protected void applyInfluence(Player player, Card card, int placedRow, int placedCol) {
-    Influence[][] grid = card.getInfluenceArray();
-    for (int row = 0; row < 5; row++) {
-      for (int col = 0; col < 5; col++) {
-        Influence influence = grid[row][col];
-        if (!influence.getInfluence()) {
-          continue;
-        }
-        int targetRow = placedRow + row - 2;
-        int targetCol = placedCol + col - 2;
-        if (!isInBounds(targetRow, targetCol)) {
-          continue;
-        }
-        Cell cell = getCell(targetRow, targetCol);
-        switch (influence.getInfluenceKind()) {
-          case CLAIM:
-            handleClaimInfluence(player, cell);
-            break;
-          case UPGRADE:
-            cell.changeValueModifier(+1);
-            break;
-          case DEVALUE: {
-            cell.changeValueModifier(-1);
-            destroyCardIfNecessary(cell);
-            break;
-          }
-          default:
-            break;
+    InfluenceMask mask = card.getInfluenceMask();
+    for (int i = 0; i < mask.size(); i++) {
+      int targetRow = placedRow + mask.getRowOffset(i);
+      int targetCol = placedCol + mask.getColOffset(i);
+      if (!isInBounds(targetRow, targetCol)) {
+        continue;
+      }
+      Cell cell = cellAt(targetRow, targetCol);
+      switch (mask.getKind(i)) {
+        case CLAIM:
+          handleClaimInfluence(player, cell);
+          cellChanged(targetRow, targetCol);
+          break;
+        case UPGRADE:
+          cell.changeValueModifier(+1);
+          cellChanged(targetRow, targetCol);
+          break;
+        case DEVALUE: {
+          cell.changeValueModifier(-1);
+          destroyCardIfNecessary(cell);
+          cellChanged(targetRow, targetCol);
+          break;
         }
+        default:
+          break;
       }
     }
   }
 
   private void handleClaimInfluence(Player player, Cell cell) {
-    List<Pawn> pawns = cell.getPawns();
     if (cell.getCard() != null) {
       return;
     }
-    if (pawns.isEmpty()) {
+    Player owner = cell.getPawnOwner();
+    if (owner == null) {
       cell.addPawn(player);
       return;
     }
-    if (pawns.get(0).getOwner().equals(player)) {
-      if (pawns.size() < 3) {
+    if (owner.equals(player)) {
+      if (cell.getPawnCount() < 3) {
         cell.addPawn(player);
       }
     } else {
-      pawns.forEach(pawn -> pawn.setOwner(player));
+      cell.setPawnOwner(player);
     }
   }
 
@@ -83,7 +78,7 @@ public class UpdatedGameBoard extends GameBoard {
       return;
     }
     cell.setCard(null);
-    cell.getPawns().clear();
+    cell.clearPawns();
     for (int i = 0; i < card.getCost(); i++) {
       cell.addPawn(card.getOwner());
     }
@@ -91,22 +86,8 @@ public class UpdatedGameBoard extends GameBoard {
   }
 
   @Override
-  public int getRowScore(Player player, int row) {
-    if (!isGameStart()) {
-      throw new IllegalStateException("game has not started.");
-    }
-    if (row < 0 || row >= getHeight()) {
-      throw new IllegalArgumentException("Invalid row index.");
-    }
-    int score = 0;
-    for (int col = 0; col < getWidth(); col++) {
-      Cell cell = getCell(row, col);
-      Card card = cell.getCard();
-      if (card != null && card.getOwner().equals(player)) {
-        score += Math.max(0, card.getValue() + cell.getValueModifier());
-      }
-    }
-    return score;
+  protected int cardScore(Cell cell) {
+    return Math.max(0, cell.getCard().getValue() + cell.getValueModifier());
   }
 
 }
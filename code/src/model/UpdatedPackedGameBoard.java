@@ -0,0 +1,67 @@
+package model;
+
+import model.card.Card;
+import model.card.InfluenceMask;
+
+/**
+ * Packed version of the UpdatedGameBoard. Uses the same primitive board representation as
+ * PackedGameBoard, with the new rules for upgrading and devaluing cards.
+ */
+public class UpdatedPackedGameBoard extends PackedGameBoard {
+
+  /**
+   * Constructor for the game, same as the superclass.
+   *
+   * @param row the row.
+   * @param col the col.
+   */
+  public UpdatedPackedGameBoard(int row, int col) {
+    super(row, col);
+  }
+
+  /**
+   * Copy constructor, same as the superclass.
+   *
+   * @param other the board to copy.
+   */
+  protected UpdatedPackedGameBoard(UpdatedPackedGameBoard other) {
+    super(other);
+  }
+
+  @Override
+  public PackedGameBoard copy() {
+    return new UpdatedPackedGameBoard(this);
+  }
+
+  @Override
+  protected void applyInfluence(int side, Card card, int placedRow, int placedCol) {
+    InfluenceMask mask = card.getInfluenceMask();
+    for (int i = 0; i < mask.size(); i++) {
+      int targetRow = placedRow + mask.getRowOffset(i);
+      int targetCol = placedCol + mask.getColOffset(i);
+      if (!isInBounds(targetRow, targetCol)) {
+        continue;
+      }
+      int idx = index(targetRow, targetCol);
+      switch (mask.getKind(i)) {
+        case CLAIM:
+          claim(side, idx);
+          break;
+        case UPGRADE:
+          changeValueModifier(idx, +1);
+          break;
+        case DEVALUE:
+          changeValueModifier(idx, -1);
+          destroyCardIfNecessary(idx);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  @Override
+  protected int cardScore(int idx) {
+    return Math.max(0, super.cardScore(idx) + valueModifierAt(idx));
+  }
+}
@@ -0,0 +1,147 @@
+package model.card;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reader that keeps the card definitions of recently read decks, so setting up another game with
+ * the same deck files does not parse them again. Decks are keyed by their absolute path, their
+ * modification time and size, and whether they were reversed, so a deck file that changes is read
+ * again. When one orientation of a deck is already cached, the other is made by reversing the
+ * cached definitions instead of reading the file.
+ *
+ * <p>At most the given number of decks are kept, dropping the least recently used deck first.
+ * Every call to readDeck still returns new cards, since cards can only be given an owner once. The
+ * reader may be shared between threads; the wrapped reader is only ever called by one thread at a
+ * time.</p>
+ */
+public class CachingReader implements Reader {
+
+  private final Reader delegate;
+  private final Map<Key, List<CardDefinition>> cache;
+
+  /**
+   * Constructor for the caching reader.
+   *
+   * @param delegate the reader used for decks that are not cached.
+   * @param maxDecks the most decks to keep, counting each orientation separately.
+   * @throws IllegalArgumentException if the reader is null or maxDecks is not positive.
+   */
+  public CachingReader(Reader delegate, int maxDecks) {
+    if (delegate == null || maxDecks <= 0) {
+      throw new IllegalArgumentException("Reader cannot be null and the cache must hold a deck.");
+    }
+    this.delegate = delegate;
+    this.cache = new LinkedHashMap<Key, List<CardDefinition>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, List<CardDefinition>> eldest) {
+        return size() > maxDecks;
+      }
+    };
+  }
+
+  @Override
+  public List<Card> readDeck(String filePath) {
+    return CardDefinition.newDeck(definitions(filePath, false));
+  }
+
+  @Override
+  public List<Card> readDeckReverse(String filePath) {
+    return CardDefinition.newDeck(definitions(filePath, true));
+  }
+
+  /**
+   * Returns the definitions of a deck file, reading it only if it is not cached. The list is
+   * shared with every other caller and cannot be changed.
+   *
+   * @param filePath the path to the deck file.
+   * @return the definitions of the deck's cards.
+   * @throws IllegalArgumentException if the path is null or the file cannot be read.
+   */
+  @Override
+  public List<CardDefinition> readDefinitions(String filePath) {
+    return definitions(filePath, false);
+  }
+
+  /**
+   * Returns the definitions of a deck file with reversed influence grids, reading it only if it is
+   * not cached. The list is shared with every other caller and cannot be changed.
+   *
+   * @param filePath the path to the deck file.
+   * @return the reversed definitions of the deck's cards.
+   * @throws IllegalArgumentException if the path is null or the file cannot be read.
+   */
+  @Override
+  public List<CardDefinition> readDefinitionsReverse(String filePath) {
+    return definitions(filePath, true);
+  }
+
+  private synchronized List<CardDefinition> definitions(String filePath, boolean reverse) {
+    if (filePath == null) {
+      throw new IllegalArgumentException("File path cannot be null.");
+    }
+    Path path = Paths.get(filePath).toAbsolutePath().normalize();
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read deck file: " + filePath, e);
+    }
+    Key key = new Key(path, attributes.lastModifiedTime().toMillis(), attributes.size(), reverse);
+    List<CardDefinition> deck = cache.get(key);
+    if (deck != null) {
+      return deck;
+    }
+    List<CardDefinition> other = cache.get(new Key(path, key.modified, key.size, !reverse));
+    if (other != null) {
+      deck = CardDefinition.reverseAll(other);
+    } else {
+      deck = reverse ? delegate.readDefinitionsReverse(filePath)
+          : delegate.readDefinitions(filePath);
+    }
+    deck = Collections.unmodifiableList(deck);
+    cache.put(key, deck);
+    return deck;
+  }
+
+  /**
+   * Identifies one version of a deck file read in one orientation.
+   */
+  private static final class Key {
+
+    private final Path path;
+    private final long modified;
+    private final long size;
+    private final boolean reverse;
+
+    private Key(Path path, long modified, long size, boolean reverse) {
+      this.path = path;
+      this.modified = modified;
+      this.size = size;
+      this.reverse = reverse;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return path.equals(key.path) && modified == key.modified && size == key.size
+          && reverse == key.reverse;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, modified, size, reverse);
+    }
+  }
+}
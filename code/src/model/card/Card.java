@@ -49,4 +49,12 @@ public interface Card {
    */
   public Influence[][] getInfluenceArray();
 
+  /**
+   * Returns the compiled form of the card's influence grid. Unlike getInfluenceArray, this does
+   * not copy anything, so it is the one to use when applying the card to a board.
+   *
+   * @return the card's InfluenceMask.
+   */
+  public InfluenceMask getInfluenceMask();
+
 }
@@ -0,0 +1,140 @@
+package model.card;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable definition of a card as read from a deck file: its name, cost, value and influence
+ * grid. A definition never has an owner, so one parsed deck of definitions can be shared by every
+ * game in the program, including games running on other threads. Each game gives its players
+ * their own GameCards made from the definitions, which hold only the owner and a reference to the
+ * definition.
+ */
+public final class CardDefinition {
+
+  private final String name;
+  private final int cost;
+  private final int value;
+  private final Influence[][] influenceArray;
+  private final InfluenceMask influenceMask;
+
+  /**
+   * Constructor for a card definition.
+   *
+   * @param name           the name of the card.
+   * @param influenceArray the 5x5 influence grid of the card, which is copied.
+   * @param cost           the cost of the card, from 1 to 3.
+   * @param value          the value of the card.
+   * @throws IllegalArgumentException if an argument is null or out of range, or the grid is not
+   *                                  5x5.
+   */
+  public CardDefinition(String name, Influence[][] influenceArray, int cost, int value) {
+    if (name == null || influenceArray == null || cost <= 0 || cost > 3 || value <= 0) {
+      throw new IllegalArgumentException("Illegal arguments for GameCard");
+    }
+    if (influenceArray.length != 5 || influenceArray[0].length != 5) {
+      throw new IllegalArgumentException("Influence array must be a 5x5 grid.");
+    }
+    for (int i = 0; i < influenceArray.length; i++) {
+      if (influenceArray[i] == null || influenceArray[i].length != 5) {
+        throw new IllegalArgumentException(
+            "Each row in the influence array must have exactly 5 columns.");
+      }
+    }
+    this.name = name;
+    this.influenceArray = copyInfluenceArray(influenceArray);
+    this.influenceMask = InfluenceMask.compile(this.influenceArray);
+    this.cost = cost;
+    this.value = value;
+  }
+
+  /**
+   * Makes a new card with no owner for each definition, keeping their order.
+   *
+   * @param definitions the card definitions.
+   * @return a new deck of cards.
+   * @throws IllegalArgumentException if the definitions or any of them are null.
+   */
+  public static List<Card> newDeck(List<CardDefinition> definitions) {
+    if (definitions == null) {
+      throw new IllegalArgumentException("Definitions cannot be null.");
+    }
+    List<Card> deck = new ArrayList<>(definitions.size());
+    for (CardDefinition definition : definitions) {
+      deck.add(new GameCard(definition));
+    }
+    return deck;
+  }
+
+  /**
+   * Returns the definition of this card as the other player sees it, with the influence grid
+   * flipped horizontally and vertically, like reading a deck in reverse.
+   *
+   * @return the reversed definition.
+   */
+  public CardDefinition reversed() {
+    Influence[][] grid = new Influence[5][5];
+    for (int r = 0; r < 5; r++) {
+      for (int c = 0; c < 5; c++) {
+        grid[4 - r][4 - c] = influenceArray[r][c];
+      }
+    }
+    return new CardDefinition(name, grid, cost, value);
+  }
+
+  /**
+   * Reverses every definition in a deck, keeping their order, like reading the deck in reverse.
+   *
+   * @param definitions the card definitions.
+   * @return a new list of the reversed definitions.
+   * @throws IllegalArgumentException if the definitions or any of them are null.
+   */
+  public static List<CardDefinition> reverseAll(List<CardDefinition> definitions) {
+    if (definitions == null) {
+      throw new IllegalArgumentException("Definitions cannot be null.");
+    }
+    List<CardDefinition> reversed = new ArrayList<>(definitions.size());
+    for (CardDefinition definition : definitions) {
+      if (definition == null) {
+        throw new IllegalArgumentException("Definitions cannot be null.");
+      }
+      reversed.add(definition.reversed());
+    }
+    return reversed;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getCost() {
+    return cost;
+  }
+
+  public int getValue() {
+    return value;
+  }
+
+  /**
+   * Returns a copy of the influence grid.
+   *
+   * @return the 5x5 influence grid.
+   */
+  public Influence[][] getInfluenceArray() {
+    return copyInfluenceArray(influenceArray);
+  }
+
+  public InfluenceMask getInfluenceMask() {
+    return influenceMask;
+  }
+
+  private static Influence[][] copyInfluenceArray(Influence[][] grid) {
+    Influence[][] copy = new Influence[5][5];
+    for (int r = 0; r < 5; r++) {
+      for (int c = 0; c < 5; c++) {
+        copy[r][c] = grid[r][c];
+      }
+    }
+    return copy;
+  }
+}
@@ -0,0 +1,147 @@
+package model.card;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles decks into the binary deck format read by MappedDeckReader, so that large card pools
+ * can be loaded without parsing text.
+ *
+ * <p>A compiled deck is little endian and made of three parts:</p>
+ * <ul>
+ *   <li>a 16 byte header: the magic number, the format version, the number of cards and the offset
+ *   of the name table;</li>
+ *   <li>one 20 byte record per card, in deck order: the influence grid as a long with 2 bits per
+ *   square in row major order, the offset of the name in the name table, the value, the length of
+ *   the name in bytes, the cost and a padding byte;</li>
+ *   <li>the name table, holding the UTF-8 bytes of every distinct card name.</li>
+ * </ul>
+ *
+ * <p>Grids are stored the way they appear in the text file, and reversed when they are loaded.</p>
+ */
+public final class DeckCompiler {
+
+  static final int MAGIC = 0x444E5750;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 16;
+  static final int RECORD_SIZE = 20;
+  static final int MAX_NAME_LENGTH = 0xFFFF;
+  // 2 bit codes for each influence kind in a packed grid.
+  static final int NONE_CODE = 0;
+  static final int CLAIM_CODE = 1;
+  static final int UPGRADE_CODE = 2;
+  static final int DEVALUE_CODE = 3;
+
+  private DeckCompiler() {
+  }
+
+  /**
+   * Compiles a text deck file into a binary deck file, replacing the binary file if it exists.
+   *
+   * @param deckPath   the path to the deck configuration file.
+   * @param binaryPath the path to write the compiled deck to.
+   * @throws IllegalArgumentException if a path is null, the deck is malformed or a file cannot be
+   *                                  read or written.
+   */
+  public static void compile(String deckPath, String binaryPath) {
+    if (deckPath == null || binaryPath == null) {
+      throw new IllegalArgumentException("Paths cannot be null.");
+    }
+    write(new StreamingDeckReader().readDeck(deckPath), binaryPath);
+  }
+
+  /**
+   * Writes the given cards to a binary deck file, replacing the file if it exists. The owners of
+   * the cards are not written.
+   *
+   * @param deck       the cards to write.
+   * @param binaryPath the path to write the compiled deck to.
+   * @throws IllegalArgumentException if an argument is null, a card name is too long or the file
+   *                                  cannot be written.
+   */
+  public static void write(List<Card> deck, String binaryPath) {
+    if (deck == null || binaryPath == null) {
+      throw new IllegalArgumentException("Deck and path cannot be null.");
+    }
+    ByteBuffer buffer = encode(deck);
+    try (FileChannel channel = FileChannel.open(Paths.get(binaryPath), StandardOpenOption.WRITE,
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not write deck file: " + binaryPath, e);
+    }
+  }
+
+  private static ByteBuffer encode(List<Card> deck) {
+    // Lay out the name table first, sharing the bytes of repeated names.
+    Map<String, Integer> nameOffsets = new HashMap<>();
+    byte[][] names = new byte[deck.size()][];
+    int nameTableSize = 0;
+    for (int i = 0; i < deck.size(); i++) {
+      Card card = deck.get(i);
+      if (card == null) {
+        throw new IllegalArgumentException("Deck cannot contain null cards.");
+      }
+      names[i] = card.getName().getBytes(StandardCharsets.UTF_8);
+      if (names[i].length > MAX_NAME_LENGTH) {
+        throw new IllegalArgumentException("Card name is too long: " + card.getName());
+      }
+      if (!nameOffsets.containsKey(card.getName())) {
+        nameOffsets.put(card.getName(), nameTableSize);
+        nameTableSize += names[i].length;
+      }
+    }
+    int nameTableOffset = HEADER_SIZE + deck.size() * RECORD_SIZE;
+    ByteBuffer buffer = ByteBuffer.allocate(nameTableOffset + nameTableSize)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(deck.size()).putInt(nameTableOffset);
+    for (int i = 0; i < deck.size(); i++) {
+      Card card = deck.get(i);
+      int nameOffset = nameOffsets.get(card.getName());
+      buffer.putLong(packGrid(card.getInfluenceArray()));
+      buffer.putInt(nameOffset);
+      buffer.putInt(card.getValue());
+      buffer.putShort((short) names[i].length);
+      buffer.put((byte) card.getCost());
+      buffer.put((byte) 0);
+      buffer.position(nameTableOffset + nameOffset);
+      buffer.put(names[i]);
+      buffer.position(HEADER_SIZE + (i + 1) * RECORD_SIZE);
+    }
+    buffer.clear();
+    return buffer;
+  }
+
+  private static long packGrid(Influence[][] grid) {
+    long packed = 0;
+    for (int row = 0; row < 5; row++) {
+      for (int col = 0; col < 5; col++) {
+        packed |= (long) codeOf(grid[row][col].getInfluenceKind()) << (2 * (row * 5 + col));
+      }
+    }
+    return packed;
+  }
+
+  private static int codeOf(InfluenceKind kind) {
+    switch (kind) {
+      case CLAIM:
+        return CLAIM_CODE;
+      case UPGRADE:
+        return UPGRADE_CODE;
+      case DEVALUE:
+        return DEVALUE_CODE;
+      default:
+        return NONE_CODE;
+    }
+  }
+}
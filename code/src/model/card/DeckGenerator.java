@@ -0,0 +1,63 @@
+package model.card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Makes decks of random cards, for playing boards too large for any deck file. The same size,
+ * rules and seed always give the same deck, so games on generated decks can be repeated.
+ *
+ * <p>Every card has a cost from 1 to 3, a value from its cost to 2 more than its cost, and claims
+ * its center square. Each other square of its grid is a claim about one time in five. Decks for
+ * the updated rules also upgrade or devalue some squares.</p>
+ */
+public final class DeckGenerator {
+
+  private DeckGenerator() {
+  }
+
+  /**
+   * Generates a deck of card definitions.
+   *
+   * @param size         the number of cards in the deck.
+   * @param updatedRules true to also use upgrade and devalue influences, which only the updated
+   *                     rules understand.
+   * @param seed         the seed for the random cards.
+   * @return the generated deck.
+   * @throws IllegalArgumentException if size is negative.
+   */
+  public static List<CardDefinition> generate(int size, boolean updatedRules, long seed) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Deck size cannot be negative.");
+    }
+    Random random = new Random(seed);
+    List<CardDefinition> deck = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Influence[][] grid = new Influence[5][5];
+      for (int r = 0; r < 5; r++) {
+        for (int c = 0; c < 5; c++) {
+          grid[r][c] = SimpleInfluence.of(randomKind(random, updatedRules));
+        }
+      }
+      grid[2][2] = SimpleInfluence.of(InfluenceKind.CLAIM);
+      int cost = 1 + random.nextInt(3);
+      deck.add(new CardDefinition("SYNTHETIC" + i, grid, cost, cost + random.nextInt(3)));
+    }
+    return deck;
+  }
+
+  private static InfluenceKind randomKind(Random random, boolean updatedRules) {
+    int roll = random.nextInt(20);
+    if (roll < 4) {
+      return InfluenceKind.CLAIM;
+    }
+    if (updatedRules && roll == 4) {
+      return InfluenceKind.UPGRADE;
+    }
+    if (updatedRules && roll == 5) {
+      return InfluenceKind.DEVALUE;
+    }
+    return InfluenceKind.NONE;
+  }
+}
@@ -18,7 +18,7 @@ public class DeckReader implements Reader {
    * @return a List of GameCard objects parsed from the file.
    */
   public List<Card> readDeck(String filePath) {
-    return readDeckHelper(filePath, false);
+    return CardDefinition.newDeck(readDeckHelper(filePath, false));
   }
 
   /**
@@ -29,6 +29,16 @@ public class DeckReader implements Reader {
    * @return a List of GameCard objects parsed from the file with reversed influence grids.
    */
   public List<Card> readDeckReverse(String filePath) {
+    return CardDefinition.newDeck(readDeckHelper(filePath, true));
+  }
+
+  @Override
+  public List<CardDefinition> readDefinitions(String filePath) {
+    return readDeckHelper(filePath, false);
+  }
+
+  @Override
+  public List<CardDefinition> readDefinitionsReverse(String filePath) {
     return readDeckHelper(filePath, true);
   }
 
@@ -37,10 +47,10 @@ public class DeckReader implements Reader {
    *
    * @param filePath    the path to the deck configuration file.
    * @param reverseGrid boolean to optionally reverse the influence arrays.
-   * @return a List of GameCard objects parsed from the file.
+   * @return a List of CardDefinition objects parsed from the file.
    */
-  private List<Card> readDeckHelper(String filePath, boolean reverseGrid) {
-    List<Card> deck = new ArrayList<>();
+  private List<CardDefinition> readDeckHelper(String filePath, boolean reverseGrid) {
+    List<CardDefinition> deck = new ArrayList<>();
     File configFile = new File(filePath);
 
     try (Scanner scanner = new Scanner(configFile)) {
@@ -64,8 +74,8 @@ public class DeckReader implements Reader {
           charGrid = reverseInfluenceGrid(charGrid);
         }
 
-        // Convert and create the GameCard
-        deck.add(convertToGameCard(cardName, charGrid, cost, value));
+        // Convert and create the CardDefinition
+        deck.add(convertToDefinition(cardName, charGrid, cost, value));
       }
     } catch (FileNotFoundException e) {
       e.printStackTrace();
@@ -149,17 +159,18 @@ public class DeckReader implements Reader {
   }
 
   /**
-   * Converts a validated character grid into a GameCard object.
+   * Converts a validated character grid into a CardDefinition object.
    *
    * @param cardName The name of the card.
    * @param charGrid The 5x5 character array representing the influence grid.
    * @param cost     The cost of the card.
    * @param value    The value of the card.
-   * @return A new GameCard object.
+   * @return A new CardDefinition object.
    */
-  private GameCard convertToGameCard(String cardName, char[][] charGrid, int cost, int value) {
+  private CardDefinition convertToDefinition(String cardName, char[][] charGrid, int cost,
+      int value) {
     SimpleInfluence[][] influenceArray = convertToInfluenceArray(charGrid);
-    return new GameCard(cardName, influenceArray, cost, value);
+    return new CardDefinition(cardName, influenceArray, cost, value);
   }
 
 
@@ -196,16 +207,16 @@ public class DeckReader implements Reader {
         switch (ch) {
           case 'C':
           case 'I':
-            influenceArray[row][col] = new SimpleInfluence(InfluenceKind.CLAIM);
+            influenceArray[row][col] = SimpleInfluence.of(InfluenceKind.CLAIM);
             break;
           case 'U':
-            influenceArray[row][col] = new SimpleInfluence(InfluenceKind.UPGRADE);
+            influenceArray[row][col] = SimpleInfluence.of(InfluenceKind.UPGRADE);
             break;
           case 'D':
-            influenceArray[row][col] = new SimpleInfluence(InfluenceKind.DEVALUE);
+            influenceArray[row][col] = SimpleInfluence.of(InfluenceKind.DEVALUE);
             break;
           default:
-            influenceArray[row][col] = new SimpleInfluence(InfluenceKind.NONE);
+            influenceArray[row][col] = SimpleInfluence.of(InfluenceKind.NONE);
             break;
         }
 
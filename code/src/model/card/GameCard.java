@@ -3,17 +3,12 @@ package model.card;
 import model.Player;
 
 /**
- * Represents the game card class. Holds all Influence, naming, scoring, and values for the cards.
+ * Represents the game card class. Holds the owner of a card in one game, along with the shared
+ * CardDefinition that holds its influence, naming, scoring and values.
  */
 public class GameCard implements Card {
 
-  private final String name;
-
-  private final int cost;
-
-  private final int value;
-
-  private final Influence[][] influenceArray;
+  private final CardDefinition definition;
 
   private Player owner;
 
@@ -26,28 +21,35 @@ public class GameCard implements Card {
    * @param value          value of card.
    */
   public GameCard(String name, Influence[][] influenceArray, int cost, int value) {
-    if (name == null || influenceArray == null || cost <= 0 || cost > 3 || value <= 0) {
-      throw new IllegalArgumentException("Illegal arguments for GameCard");
-    }
-    if (influenceArray.length != 5 || influenceArray[0].length != 5) {
-      throw new IllegalArgumentException("Influence array must be a 5x5 grid.");
-    }
-    for (int i = 0; i < influenceArray.length; i++) {
-      if (influenceArray[i] == null || influenceArray[i].length != 5) {
-        throw new IllegalArgumentException(
-            "Each row in the influence array must have exactly 5 columns.");
-      }
+    this(new CardDefinition(name, influenceArray, cost, value));
+  }
+
+  /**
+   * Constructor for a card with no owner yet, made from a shared definition.
+   *
+   * @param definition the definition of the card.
+   * @throws IllegalArgumentException if the definition is null.
+   */
+  public GameCard(CardDefinition definition) {
+    if (definition == null) {
+      throw new IllegalArgumentException("Definition cannot be null.");
     }
-    this.name = name;
-    this.influenceArray = copyInfluenceArray(influenceArray);
-    this.cost = cost;
-    this.value = value;
+    this.definition = definition;
     this.owner = null;
   }
 
+  /**
+   * Returns the shared definition this card was made from.
+   *
+   * @return the definition.
+   */
+  public CardDefinition getDefinition() {
+    return definition;
+  }
+
   @Override
   public String getName() {
-    return name;
+    return definition.getName();
   }
 
   @Override
@@ -71,17 +73,22 @@ public class GameCard implements Card {
 
   @Override
   public int getCost() {
-    return cost;
+    return definition.getCost();
   }
 
   @Override
   public int getValue() {
-    return value;
+    return definition.getValue();
   }
 
   @Override
   public Influence[][] getInfluenceArray() {
-    return copyInfluenceArray(influenceArray);
+    return definition.getInfluenceArray();
+  }
+
+  @Override
+  public InfluenceMask getInfluenceMask() {
+    return definition.getInfluenceMask();
   }
 
   /**
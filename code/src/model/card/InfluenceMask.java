@@ -0,0 +1,146 @@
+package model.card;
+
+/**
+ * Compiled, immutable form of a card's 5x5 influence grid. Holds only the squares that actually
+ * influence the board, as offsets from the square the card is placed in, so applying a card visits
+ * the active squares without copying or scanning the whole grid. Also exposes one bitmask per
+ * InfluenceKind, where bit (row * 5 + col) is set when that grid square has that kind.
+ */
+public final class InfluenceMask {
+
+  /**
+   * The width and height of an influence grid.
+   */
+  public static final int GRID_SIZE = 5;
+
+  private final int[] rowOffsets;
+  private final int[] colOffsets;
+  private final InfluenceKind[] kinds;
+  private final int claimBits;
+  private final int upgradeBits;
+  private final int devalueBits;
+
+  private InfluenceMask(int[] rowOffsets, int[] colOffsets, InfluenceKind[] kinds,
+      int claimBits, int upgradeBits, int devalueBits) {
+    this.rowOffsets = rowOffsets;
+    this.colOffsets = colOffsets;
+    this.kinds = kinds;
+    this.claimBits = claimBits;
+    this.upgradeBits = upgradeBits;
+    this.devalueBits = devalueBits;
+  }
+
+  /**
+   * Compiles a 5x5 influence grid. Squares are kept in row-major order, the same order the grid
+   * would be scanned in. Missing (null) squares are treated as having no influence.
+   *
+   * @param grid the 5x5 influence grid.
+   * @return the compiled mask.
+   * @throws IllegalArgumentException if the grid is not 5x5.
+   */
+  public static InfluenceMask compile(Influence[][] grid) {
+    if (grid == null || grid.length != GRID_SIZE) {
+      throw new IllegalArgumentException("Influence array must be a 5x5 grid.");
+    }
+    int[] rows = new int[GRID_SIZE * GRID_SIZE];
+    int[] cols = new int[GRID_SIZE * GRID_SIZE];
+    InfluenceKind[] found = new InfluenceKind[GRID_SIZE * GRID_SIZE];
+    int size = 0;
+    int claim = 0;
+    int upgrade = 0;
+    int devalue = 0;
+    for (int row = 0; row < GRID_SIZE; row++) {
+      if (grid[row] == null || grid[row].length != GRID_SIZE) {
+        throw new IllegalArgumentException("Influence array must be a 5x5 grid.");
+      }
+      for (int col = 0; col < GRID_SIZE; col++) {
+        Influence influence = grid[row][col];
+        if (influence == null || !influence.getInfluence()) {
+          continue;
+        }
+        InfluenceKind kind = influence.getInfluenceKind();
+        int bit = 1 << (row * GRID_SIZE + col);
+        switch (kind) {
+          case UPGRADE:
+            upgrade |= bit;
+            break;
+          case DEVALUE:
+            devalue |= bit;
+            break;
+          default:
+            claim |= bit;
+            break;
+        }
+        rows[size] = row - 2;
+        cols[size] = col - 2;
+        found[size] = kind;
+        size++;
+      }
+    }
+    int[] rowOffsets = new int[size];
+    int[] colOffsets = new int[size];
+    InfluenceKind[] kinds = new InfluenceKind[size];
+    System.arraycopy(rows, 0, rowOffsets, 0, size);
+    System.arraycopy(cols, 0, colOffsets, 0, size);
+    System.arraycopy(found, 0, kinds, 0, size);
+    return new InfluenceMask(rowOffsets, colOffsets, kinds, claim, upgrade, devalue);
+  }
+
+  /**
+   * Returns the number of squares this mask influences.
+   *
+   * @return the number of active squares.
+   */
+  public int size() {
+    return kinds.length;
+  }
+
+  /**
+   * Returns the row offset, from -2 to 2, of the given active square.
+   *
+   * @param i the index of the active square.
+   * @return the row offset from the placed card.
+   */
+  public int getRowOffset(int i) {
+    return rowOffsets[i];
+  }
+
+  /**
+   * Returns the column offset, from -2 to 2, of the given active square.
+   *
+   * @param i the index of the active square.
+   * @return the column offset from the placed card.
+   */
+  public int getColOffset(int i) {
+    return colOffsets[i];
+  }
+
+  /**
+   * Returns the kind of influence of the given active square.
+   *
+   * @param i the index of the active square.
+   * @return the kind of influence, never NONE.
+   */
+  public InfluenceKind getKind(int i) {
+    return kinds[i];
+  }
+
+  /**
+   * Returns the bitmask of grid squares with the given kind of influence.
+   *
+   * @param kind the kind of influence.
+   * @return the bitmask, with bit (row * 5 + col) set for every matching square.
+   */
+  public int getBits(InfluenceKind kind) {
+    switch (kind) {
+      case CLAIM:
+        return claimBits;
+      case UPGRADE:
+        return upgradeBits;
+      case DEVALUE:
+        return devalueBits;
+      default:
+        return ~(claimBits | upgradeBits | devalueBits) & ((1 << GRID_SIZE * GRID_SIZE) - 1);
+    }
+  }
+}
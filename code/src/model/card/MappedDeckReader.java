@@ -0,0 +1,197 @@
+package model.card;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Reader for decks compiled by DeckCompiler. The file is memory mapped and only its header is
+ * checked up front; each card is decoded from its record the first time it is asked for, so
+ * loading a deck costs the same however many cards it holds.
+ *
+ * <p>Lists of definitions may be shared between threads. Lists of cards are not safe to share, and
+ * every call returns a new one with its own cards, since cards can only be given an owner once.
+ * None of the lists support changes.</p>
+ */
+public class MappedDeckReader implements Reader {
+
+  /**
+   * The file extension used for compiled decks.
+   */
+  public static final String EXTENSION = ".deck";
+
+  /**
+   * Reads a compiled deck file and returns a list of GameCard objects.
+   *
+   * @param filePath the path to the compiled deck file.
+   * @return a List of GameCard objects decoded from the file.
+   * @throws IllegalArgumentException if the file cannot be read or is not a compiled deck.
+   */
+  @Override
+  public List<Card> readDeck(String filePath) {
+    return new LazyDeck(readDefinitions(filePath));
+  }
+
+  /**
+   * Reads a compiled deck file and returns a list of GameCard objects with reversed influence
+   * grids.
+   *
+   * @param filePath the path to the compiled deck file.
+   * @return a List of GameCard objects decoded from the file with reversed influence grids.
+   * @throws IllegalArgumentException if the file cannot be read or is not a compiled deck.
+   */
+  @Override
+  public List<Card> readDeckReverse(String filePath) {
+    return new LazyDeck(readDefinitionsReverse(filePath));
+  }
+
+  @Override
+  public List<CardDefinition> readDefinitions(String filePath) {
+    return new MappedDefinitions(map(filePath), false);
+  }
+
+  @Override
+  public List<CardDefinition> readDefinitionsReverse(String filePath) {
+    return new MappedDefinitions(map(filePath), true);
+  }
+
+  private static ByteBuffer map(String filePath) {
+    if (filePath == null) {
+      throw new IllegalArgumentException("File path cannot be null.");
+    }
+    try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed.
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+          .order(ByteOrder.LITTLE_ENDIAN);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read deck file: " + filePath, e);
+    }
+  }
+
+  /**
+   * Deck of new cards made from definitions the first time each card is asked for.
+   */
+  private static final class LazyDeck extends AbstractList<Card> implements RandomAccess {
+
+    private final List<CardDefinition> definitions;
+    private final Card[] cards;
+
+    private LazyDeck(List<CardDefinition> definitions) {
+      this.definitions = definitions;
+      this.cards = new Card[definitions.size()];
+    }
+
+    @Override
+    public Card get(int index) {
+      if (index < 0 || index >= cards.length) {
+        throw new IndexOutOfBoundsException("Invalid card index: " + index);
+      }
+      if (cards[index] == null) {
+        cards[index] = new GameCard(definitions.get(index));
+      }
+      return cards[index];
+    }
+
+    @Override
+    public int size() {
+      return cards.length;
+    }
+  }
+
+  /**
+   * Definitions backed by a compiled deck file, decoding each one on first access.
+   */
+  private static final class MappedDefinitions extends AbstractList<CardDefinition>
+      implements RandomAccess {
+
+    private final ByteBuffer data;
+    private final boolean reverseGrid;
+    private final int nameTableOffset;
+    // Threads may race to decode the same definition. That is harmless, since definitions are
+    // immutable and any of the decoded copies can be kept.
+    private final CardDefinition[] definitions;
+
+    private MappedDefinitions(ByteBuffer data, boolean reverseGrid) {
+      if (data.capacity() < DeckCompiler.HEADER_SIZE
+          || data.getInt(0) != DeckCompiler.MAGIC) {
+        throw new IllegalArgumentException("File is not a compiled deck.");
+      }
+      if (data.getInt(4) != DeckCompiler.VERSION) {
+        throw new IllegalArgumentException("Unsupported deck version: " + data.getInt(4));
+      }
+      int size = data.getInt(8);
+      int nameTableOffset = data.getInt(12);
+      if (size < 0 || nameTableOffset != DeckCompiler.HEADER_SIZE
+          + (long) size * DeckCompiler.RECORD_SIZE || nameTableOffset > data.capacity()) {
+        throw new IllegalArgumentException("Compiled deck is truncated or corrupt.");
+      }
+      this.data = data;
+      this.reverseGrid = reverseGrid;
+      this.nameTableOffset = nameTableOffset;
+      this.definitions = new CardDefinition[size];
+    }
+
+    @Override
+    public CardDefinition get(int index) {
+      if (index < 0 || index >= definitions.length) {
+        throw new IndexOutOfBoundsException("Invalid card index: " + index);
+      }
+      CardDefinition definition = definitions[index];
+      if (definition == null) {
+        definition = decode(index);
+        definitions[index] = definition;
+      }
+      return definition;
+    }
+
+    @Override
+    public int size() {
+      return definitions.length;
+    }
+
+    private CardDefinition decode(int index) {
+      int record = DeckCompiler.HEADER_SIZE + index * DeckCompiler.RECORD_SIZE;
+      long grid = data.getLong(record);
+      int nameOffset = data.getInt(record + 8);
+      int value = data.getInt(record + 12);
+      int nameLength = data.getShort(record + 16) & 0xFFFF;
+      int cost = data.get(record + 18);
+      long nameStart = (long) nameTableOffset + nameOffset;
+      if (nameOffset < 0 || nameStart + nameLength > data.capacity()) {
+        throw new IllegalArgumentException("Compiled deck is truncated or corrupt.");
+      }
+      byte[] name = new byte[nameLength];
+      ByteBuffer view = data.duplicate();
+      view.position((int) nameStart);
+      view.get(name);
+
+      Influence[][] influences = new Influence[5][5];
+      for (int square = 0; square < 25; square++) {
+        int target = reverseGrid ? 24 - square : square;
+        influences[target / 5][target % 5] = influenceOf((int) (grid >>> (2 * square)) & 0x3);
+      }
+      return new CardDefinition(new String(name, StandardCharsets.UTF_8), influences, cost,
+          value);
+    }
+
+    private static Influence influenceOf(int code) {
+      switch (code) {
+        case DeckCompiler.CLAIM_CODE:
+          return SimpleInfluence.of(InfluenceKind.CLAIM);
+        case DeckCompiler.UPGRADE_CODE:
+          return SimpleInfluence.of(InfluenceKind.UPGRADE);
+        case DeckCompiler.DEVALUE_CODE:
+          return SimpleInfluence.of(InfluenceKind.DEVALUE);
+        default:
+          return SimpleInfluence.of(InfluenceKind.NONE);
+      }
+    }
+  }
+}
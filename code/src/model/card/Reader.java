@@ -26,4 +26,22 @@ public interface Reader {
    */
   public List<Card> readDeckReverse(String filePath);
 
+  /**
+   * Reads a deck configuration file and returns the definitions of its cards, which have no owner
+   * and can be shared between games. Use CardDefinition.newDeck to make cards from them.
+   *
+   * @param filePath the path to the deck configuration file.
+   * @return a List of CardDefinition objects parsed from the file.
+   */
+  public List<CardDefinition> readDefinitions(String filePath);
+
+  /**
+   * Reads a deck configuration file and returns the definitions of its cards with reversed
+   * influence grids.
+   *
+   * @param filePath the path to the deck configuration file.
+   * @return a List of CardDefinition objects parsed from the file with reversed influence grids.
+   */
+  public List<CardDefinition> readDefinitionsReverse(String filePath);
+
 }
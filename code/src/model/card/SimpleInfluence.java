@@ -6,6 +6,15 @@ package model.card;
  */
 public class SimpleInfluence implements Influence {
 
+  private static final SimpleInfluence[] SHARED =
+      new SimpleInfluence[InfluenceKind.values().length];
+
+  static {
+    for (InfluenceKind kind : InfluenceKind.values()) {
+      SHARED[kind.ordinal()] = new SimpleInfluence(kind);
+    }
+  }
+
   private final InfluenceKind kind;
 
   /**
@@ -18,6 +27,21 @@ public class SimpleInfluence implements Influence {
     this.kind = kind;
   }
 
+  /**
+   * Returns the shared influence of the given kind. Influences never change, so every card can use
+   * the same four instances instead of allocating one per square.
+   *
+   * @param kind the influence.
+   * @return the shared influence.
+   * @throws IllegalArgumentException if the kind is null.
+   */
+  public static SimpleInfluence of(InfluenceKind kind) {
+    if (kind == null) {
+      throw new IllegalArgumentException("Kind cannot be null.");
+    }
+    return SHARED[kind.ordinal()];
+  }
+
   @Override
   public boolean getInfluence() {
     return kind != InfluenceKind.NONE;
@@ -0,0 +1,311 @@
+package model.card;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reader that parses deck files in a single pass over their bytes, for decks too large to read
+ * comfortably with DeckReader. The file is read through one reusable buffer, grid squares become
+ * the shared SimpleInfluence instances, and malformed input is reported with the line and column
+ * where it was found.
+ *
+ * <p>Accepts the same format as DeckReader: a header line holding the card name, cost and value
+ * separated by spaces or tabs, followed by five grid lines of exactly five characters, with blank
+ * lines allowed between cards. Lines may end with either a line feed or a carriage return and line
+ * feed. Columns count bytes from 1.</p>
+ *
+ * <p>The buffers are reused between calls, so a reader must not be shared between threads.</p>
+ */
+public class StreamingDeckReader implements Reader {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int GRID_SIZE = 5;
+
+  private final ByteBuffer buffer;
+  // The current line, without its line ending.
+  private byte[] line;
+  private int lineLength;
+  private int lineNumber;
+  // CardDefinition copies the grid it is given, so one scratch grid serves every card.
+  private final Influence[][] grid;
+
+  /**
+   * Constructor for the reader.
+   */
+  public StreamingDeckReader() {
+    this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    this.line = new byte[128];
+    this.grid = new Influence[GRID_SIZE][GRID_SIZE];
+  }
+
+  /**
+   * Reads a deck configuration file and returns a list of GameCard objects.
+   *
+   * @param filePath the path to the deck configuration file.
+   * @return a List of GameCard objects parsed from the file.
+   * @throws IllegalArgumentException if the file cannot be read or is malformed.
+   */
+  @Override
+  public List<Card> readDeck(String filePath) {
+    return CardDefinition.newDeck(readFile(filePath, false));
+  }
+
+  /**
+   * Reads a deck configuration file and returns a list of GameCard objects with reversed influence
+   * grids.
+   *
+   * @param filePath the path to the deck configuration file.
+   * @return a List of GameCard objects parsed from the file with reversed influence grids.
+   * @throws IllegalArgumentException if the file cannot be read or is malformed.
+   */
+  @Override
+  public List<Card> readDeckReverse(String filePath) {
+    return CardDefinition.newDeck(readFile(filePath, true));
+  }
+
+  @Override
+  public List<CardDefinition> readDefinitions(String filePath) {
+    return readFile(filePath, false);
+  }
+
+  @Override
+  public List<CardDefinition> readDefinitionsReverse(String filePath) {
+    return readFile(filePath, true);
+  }
+
+  /**
+   * Reads a deck from a stream. The stream is read to the end but not closed.
+   *
+   * @param in          the stream holding the deck.
+   * @param reverseGrid true to flip the influence grids horizontally and vertically.
+   * @return the cards in the order they appear.
+   * @throws IllegalArgumentException if the stream is null, cannot be read or is malformed.
+   */
+  public List<Card> readDeck(InputStream in, boolean reverseGrid) {
+    if (in == null) {
+      throw new IllegalArgumentException("Stream cannot be null.");
+    }
+    return CardDefinition.newDeck(readDefinitions(Channels.newChannel(in), reverseGrid));
+  }
+
+  /**
+   * Reads a deck from a channel. The channel is read to the end but not closed.
+   *
+   * @param channel     the channel holding the deck.
+   * @param reverseGrid true to flip the influence grids horizontally and vertically.
+   * @return the cards in the order they appear.
+   * @throws IllegalArgumentException if the channel is null, cannot be read or is malformed.
+   */
+  public List<Card> readDeck(ReadableByteChannel channel, boolean reverseGrid) {
+    return CardDefinition.newDeck(readDefinitions(channel, reverseGrid));
+  }
+
+  /**
+   * Reads the card definitions of a deck from a channel. The channel is read to the end but not
+   * closed.
+   *
+   * @param channel     the channel holding the deck.
+   * @param reverseGrid true to flip the influence grids horizontally and vertically.
+   * @return the definitions in the order they appear.
+   * @throws IllegalArgumentException if the channel is null, cannot be read or is malformed.
+   */
+  public List<CardDefinition> readDefinitions(ReadableByteChannel channel, boolean reverseGrid) {
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel cannot be null.");
+    }
+    buffer.clear().flip();
+    lineNumber = 0;
+    List<CardDefinition> deck = new ArrayList<>();
+    try {
+      while (nextLine(channel)) {
+        if (isBlank()) {
+          continue;
+        }
+        deck.add(readCard(channel, reverseGrid));
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read deck: " + e.getMessage(), e);
+    }
+    return deck;
+  }
+
+  private List<CardDefinition> readFile(String filePath, boolean reverseGrid) {
+    if (filePath == null) {
+      throw new IllegalArgumentException("File path cannot be null.");
+    }
+    try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+      return readDefinitions(channel, reverseGrid);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read deck file: " + filePath, e);
+    }
+  }
+
+  /**
+   * Parses the card whose header is the current line, reading its grid lines.
+   */
+  private CardDefinition readCard(ReadableByteChannel channel, boolean reverseGrid)
+      throws IOException {
+    int pos = skipSpaces(0);
+    int nameStart = pos;
+    while (pos < lineLength && !isSpace(line[pos])) {
+      pos++;
+    }
+    String name = new String(line, nameStart, pos - nameStart, StandardCharsets.UTF_8);
+    pos = expectSpaces(pos, "cost");
+    int costStart = pos;
+    pos = skipDigits(pos, "cost");
+    int cost = parseNumber(costStart, pos);
+    pos = expectSpaces(pos, "value");
+    int valueStart = pos;
+    pos = skipDigits(pos, "value");
+    int value = parseNumber(valueStart, pos);
+    pos = skipSpaces(pos);
+    if (pos < lineLength) {
+      throw error(pos, "expected the end of the header for card " + name);
+    }
+    if (cost < 1 || cost > 3) {
+      throw error(costStart, "cost must be from 1 to 3 for card " + name);
+    }
+    if (value < 1) {
+      throw error(valueStart, "value must be positive for card " + name);
+    }
+
+    for (int row = 0; row < GRID_SIZE; row++) {
+      if (!nextLine(channel)) {
+        throw error(0, "incomplete grid for card " + name);
+      }
+      if (lineLength != GRID_SIZE) {
+        throw error(Math.min(lineLength, GRID_SIZE),
+            "grid row must have exactly 5 characters for card " + name);
+      }
+      for (int col = 0; col < GRID_SIZE; col++) {
+        Influence influence = influenceOf(line[col], row, col, name);
+        if (reverseGrid) {
+          grid[GRID_SIZE - 1 - row][GRID_SIZE - 1 - col] = influence;
+        } else {
+          grid[row][col] = influence;
+        }
+      }
+    }
+    return new CardDefinition(name, grid, cost, value);
+  }
+
+  private Influence influenceOf(byte ch, int row, int col, String name) {
+    boolean center = row == GRID_SIZE / 2 && col == GRID_SIZE / 2;
+    if (center != (ch == 'C')) {
+      throw error(col, center ? "center cell must be C for card " + name
+          : "C found outside the center for card " + name);
+    }
+    switch (ch) {
+      case 'C':
+      case 'I':
+        return SimpleInfluence.of(InfluenceKind.CLAIM);
+      case 'U':
+        return SimpleInfluence.of(InfluenceKind.UPGRADE);
+      case 'D':
+        return SimpleInfluence.of(InfluenceKind.DEVALUE);
+      case 'X':
+        return SimpleInfluence.of(InfluenceKind.NONE);
+      default:
+        throw error(col, "invalid character '" + (char) (ch & 0xFF) + "' in grid for card "
+            + name);
+    }
+  }
+
+  /**
+   * Copies the next line of the channel into the line buffer, dropping its line ending.
+   *
+   * @return false if the channel has no more lines.
+   */
+  private boolean nextLine(ReadableByteChannel channel) throws IOException {
+    lineLength = 0;
+    boolean any = false;
+    while (true) {
+      if (!buffer.hasRemaining()) {
+        buffer.clear();
+        int read = channel.read(buffer);
+        buffer.flip();
+        if (read < 0) {
+          break;
+        }
+        continue;
+      }
+      any = true;
+      byte b = buffer.get();
+      if (b == '\n') {
+        break;
+      }
+      if (lineLength == line.length) {
+        line = Arrays.copyOf(line, line.length * 2);
+      }
+      line[lineLength++] = b;
+    }
+    if (lineLength > 0 && line[lineLength - 1] == '\r') {
+      lineLength--;
+    }
+    if (any) {
+      lineNumber++;
+    }
+    return any;
+  }
+
+  private boolean isBlank() {
+    return skipSpaces(0) == lineLength;
+  }
+
+  private int skipSpaces(int pos) {
+    while (pos < lineLength && isSpace(line[pos])) {
+      pos++;
+    }
+    return pos;
+  }
+
+  private int expectSpaces(int pos, String next) {
+    int end = skipSpaces(pos);
+    if (end == pos || end == lineLength) {
+      throw error(end, "expected the card " + next);
+    }
+    return end;
+  }
+
+  private int skipDigits(int pos, String what) {
+    int start = pos;
+    while (pos < lineLength && line[pos] >= '0' && line[pos] <= '9') {
+      pos++;
+    }
+    if (pos == start || (pos < lineLength && !isSpace(line[pos]))) {
+      throw error(pos, "the card " + what + " must be a number");
+    }
+    if (pos - start > 9) {
+      throw error(start, "the card " + what + " is too large");
+    }
+    return pos;
+  }
+
+  private int parseNumber(int start, int end) {
+    int result = 0;
+    for (int i = start; i < end; i++) {
+      result = result * 10 + (line[i] - '0');
+    }
+    return result;
+  }
+
+  private static boolean isSpace(byte b) {
+    return b == ' ' || b == '\t';
+  }
+
+  private IllegalArgumentException error(int pos, String message) {
+    return new IllegalArgumentException(
+        "Line " + lineNumber + ", column " + (pos + 1) + ": " + message);
+  }
+}
@@ -0,0 +1,154 @@
+package model.record;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Reads the games of a game log written by GameLogWriter one at a time, from first to last, so
+ * logs of any number of games can be gone through without holding them in memory. Games that are
+ * not needed can be skipped without decoding them.
+ */
+public class GameLogReader implements Closeable {
+
+  private final DataInputStream in;
+  private byte[] entry = new byte[256];
+
+  /**
+   * Opens a game log for reading.
+   *
+   * @param logPath the path to the log file.
+   * @throws IllegalArgumentException if the path is null, the file is not a game log or it cannot
+   *                                  be read.
+   */
+  public GameLogReader(String logPath) {
+    if (logPath == null) {
+      throw new IllegalArgumentException("Log path cannot be null.");
+    }
+    try {
+      this.in = new DataInputStream(new BufferedInputStream(
+          Files.newInputStream(Paths.get(logPath)), 1 << 16));
+      GameLogWriter.readHeader(in);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read game log: " + logPath, e);
+    }
+  }
+
+  /**
+   * Reads the next game in the log.
+   *
+   * @return the next game, or null if there are no more.
+   * @throws IllegalArgumentException if the log is truncated or corrupt, or cannot be read.
+   */
+  public GameRecord next() {
+    int length = nextLength();
+    if (length < 0) {
+      return null;
+    }
+    if (entry.length < length) {
+      entry = new byte[Math.max(length, entry.length * 2)];
+    }
+    try {
+      in.readFully(entry, 0, length);
+      DataInputStream data = new DataInputStream(new ByteArrayInputStream(entry, 0, length));
+      boolean original = (data.readUnsignedByte() & 1) != 0;
+      int rows = readVarInt(data);
+      int cols = readVarInt(data);
+      int handSize = readVarInt(data);
+      String redDeck = data.readUTF();
+      String blueDeck = data.readUTF();
+      long redDeckHash = data.readLong();
+      long blueDeckHash = data.readLong();
+      long seed = data.readLong();
+      int moveCount = readVarInt(data);
+      // Every move takes at least one byte, so a count larger than what is left is corrupt.
+      if (moveCount < 0 || moveCount > data.available()) {
+        throw new IllegalArgumentException("Game log is truncated or corrupt.");
+      }
+      int[] moves = new int[moveCount];
+      for (int i = 0; i < moves.length; i++) {
+        moves[i] = readVarInt(data) - 1;
+      }
+      return new GameRecord(original, rows, cols, handSize, redDeck, blueDeck, redDeckHash,
+          blueDeckHash, seed, moves);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Game log is truncated or corrupt.", e);
+    }
+  }
+
+  /**
+   * Skips the next game in the log without decoding it.
+   *
+   * @return false if there were no more games.
+   * @throws IllegalArgumentException if the log is truncated or corrupt, or cannot be read.
+   */
+  public boolean skip() {
+    int length = nextLength();
+    if (length < 0) {
+      return false;
+    }
+    try {
+      int left = length;
+      while (left > 0) {
+        int skipped = (int) in.skip(left);
+        if (skipped <= 0) {
+          throw new EOFException();
+        }
+        left -= skipped;
+      }
+      return true;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Game log is truncated or corrupt.", e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  /**
+   * Reads the length of the next entry, or returns -1 at the end of the log.
+   *
+   * @throws IllegalArgumentException if the length is corrupt.
+   */
+  private int nextLength() {
+    try {
+      int first = in.read();
+      if (first < 0) {
+        return -1;
+      }
+      int length = first & 0x7F;
+      if ((first & 0x80) != 0) {
+        length |= readVarInt(in) << 7;
+      }
+      if (length < 0) {
+        throw new IllegalArgumentException("Game log is truncated or corrupt.");
+      }
+      return length;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Game log is truncated or corrupt.", e);
+    }
+  }
+
+  private static int readVarInt(InputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.read();
+      if (b < 0) {
+        throw new EOFException();
+      }
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Variable length integer is too long.");
+  }
+}
@@ -0,0 +1,135 @@
+package model.record;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends game records to a game log file. Logs are only ever appended to, so a log can be
+ * written by many tournaments in turn and read while it grows; a game is written in one piece
+ * once it is over and flushed straight away, so a crash loses at most the games still being
+ * played.
+ *
+ * <p>A log starts with a header of the magic number and the format version, followed by one
+ * entry per game. Each entry is its length in bytes followed by the game: a flags byte (bit 0 set
+ * for the original rules), the rows, columns and hand size, the two deck references in modified
+ * UTF-8, the two deck hashes and the seed as 8 bytes each, the number of moves and then the moves,
+ * each stored as one more than its value in GameRecord so that a pass is 0. Every count and move
+ * is a variable length integer, 7 bits to a byte with the low bits first, so most moves on small
+ * boards take one byte.</p>
+ *
+ * <p>The writer may be shared between threads.</p>
+ */
+public class GameLogWriter implements Closeable {
+
+  static final int MAGIC = 0x4C4E5750;
+  static final int VERSION = 1;
+
+  private final OutputStream out;
+  private final ByteArrayOutputStream entry = new ByteArrayOutputStream();
+  private final DataOutputStream entryData = new DataOutputStream(entry);
+
+  /**
+   * Opens a game log for appending, creating it if it does not exist.
+   *
+   * @param logPath the path to the log file.
+   * @throws IllegalArgumentException if the path is null, the file is not a game log or it cannot
+   *                                  be opened.
+   */
+  public GameLogWriter(String logPath) {
+    if (logPath == null) {
+      throw new IllegalArgumentException("Log path cannot be null.");
+    }
+    Path path = Paths.get(logPath);
+    try {
+      boolean empty = !Files.exists(path) || Files.size(path) == 0;
+      if (!empty) {
+        try (InputStream in = Files.newInputStream(path)) {
+          readHeader(new DataInputStream(in));
+        }
+      }
+      this.out = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND));
+      if (empty) {
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.flush();
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not open game log: " + logPath, e);
+    }
+  }
+
+  /**
+   * Appends a game to the log and flushes it to the file.
+   *
+   * @param record the game to append.
+   * @throws IllegalArgumentException if the record is null.
+   * @throws IllegalStateException    if the log cannot be written.
+   */
+  public synchronized void append(GameRecord record) {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null.");
+    }
+    try {
+      entry.reset();
+      entryData.writeByte(record.isOriginal() ? 1 : 0);
+      writeVarInt(entryData, record.getRows());
+      writeVarInt(entryData, record.getCols());
+      writeVarInt(entryData, record.getHandSize());
+      entryData.writeUTF(record.getRedDeck());
+      entryData.writeUTF(record.getBlueDeck());
+      entryData.writeLong(record.getRedDeckHash());
+      entryData.writeLong(record.getBlueDeckHash());
+      entryData.writeLong(record.getSeed());
+      writeVarInt(entryData, record.getMoveCount());
+      for (int i = 0; i < record.getMoveCount(); i++) {
+        writeVarInt(entryData, record.getMove(i) + 1);
+      }
+      entryData.flush();
+      writeVarInt(out, entry.size());
+      entry.writeTo(out);
+      out.flush();
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not write game log.", e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    out.close();
+  }
+
+  /**
+   * Reads and checks the header of a game log.
+   *
+   * @throws IllegalArgumentException if the stream does not hold a game log this code can read.
+   */
+  static void readHeader(DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IllegalArgumentException("File is not a game log.");
+    }
+    int version = in.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported game log version: " + version);
+    }
+  }
+
+  private static void writeVarInt(OutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+}
@@ -0,0 +1,271 @@
+package model.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Immutable record of one game: the rules, board and hand size it was played with, where the two
+ * decks came from, and every move in order. That is all ReplayEngine needs to play the game again
+ * and rebuild any position in it, so no board is ever stored.
+ *
+ * <p>A record of a game on deck files can also hold a hash of each file's contents, taken when
+ * the game was played, so that ReplayEngine can refuse to replay it on a deck file that has been
+ * edited since rather than replaying different cards.</p>
+ *
+ * <p>Each move is one int. A pass is PASS, and a placement is the hand index, row and column
+ * folded into one number, ((handIdx * rows) + row) * cols + col.</p>
+ */
+public final class GameRecord {
+
+  /**
+   * The deck reference of a deck made by DeckGenerator from the record's seed.
+   */
+  public static final String SYNTHETIC_DECK = "synthetic";
+
+  /**
+   * The deck reference of a deck that cannot be found again from the record alone. Such games can
+   * only be replayed by passing the decks to ReplayEngine.
+   */
+  public static final String UNKNOWN_DECK = "";
+
+  /**
+   * The deck hash of a deck whose contents were not hashed, which is never checked.
+   */
+  public static final long NO_DECK_HASH = 0;
+
+  static final int PASS = -1;
+
+  private final boolean original;
+  private final int rows;
+  private final int cols;
+  private final int handSize;
+  private final String redDeck;
+  private final String blueDeck;
+  private final long redDeckHash;
+  private final long blueDeckHash;
+  private final long seed;
+  private final int[] moves;
+
+  /**
+   * Constructor for a game record. The decks are not hashed; see withDeckHashes.
+   *
+   * @param original true if the game was played with the original rules on a GameBoard, false for
+   *                 the updated rules on an UpdatedGameBoard.
+   * @param rows     the number of rows on the board.
+   * @param cols     the number of columns on the board.
+   * @param handSize the number of cards in each player's hand.
+   * @param redDeck  where red's deck came from: a deck file path, SYNTHETIC_DECK or UNKNOWN_DECK.
+   * @param blueDeck where blue's deck came from, which like in PawnsGame is read in reverse.
+   * @param seed     the seed of synthetic decks, or any number the game was played with.
+   * @throws IllegalArgumentException if a deck is null or a size is not positive.
+   */
+  public GameRecord(boolean original, int rows, int cols, int handSize, String redDeck,
+      String blueDeck, long seed) {
+    this(original, rows, cols, handSize, redDeck, blueDeck, NO_DECK_HASH, NO_DECK_HASH, seed,
+        new int[0]);
+  }
+
+  GameRecord(boolean original, int rows, int cols, int handSize, String redDeck,
+      String blueDeck, long redDeckHash, long blueDeckHash, long seed, int[] moves) {
+    if (redDeck == null || blueDeck == null || moves == null) {
+      throw new IllegalArgumentException("Decks cannot be null.");
+    }
+    if (rows <= 0 || cols <= 0 || handSize <= 0) {
+      throw new IllegalArgumentException("Board and hand size must be positive.");
+    }
+    this.original = original;
+    this.rows = rows;
+    this.cols = cols;
+    this.handSize = handSize;
+    this.redDeck = redDeck;
+    this.blueDeck = blueDeck;
+    this.redDeckHash = redDeckHash;
+    this.blueDeckHash = blueDeckHash;
+    this.seed = seed;
+    this.moves = moves;
+  }
+
+  /**
+   * Returns a record of the same game with the given moves.
+   */
+  GameRecord withMoves(int[] moves, int count) {
+    return new GameRecord(original, rows, cols, handSize, redDeck, blueDeck, redDeckHash,
+        blueDeckHash, seed, Arrays.copyOf(moves, count));
+  }
+
+  /**
+   * Returns a record of the same game holding the hash of each deck file as it is now. Decks that
+   * are not files, SYNTHETIC_DECK and UNKNOWN_DECK, get NO_DECK_HASH. Call it when the decks are
+   * read for the game.
+   *
+   * @return the record with the deck hashes.
+   * @throws IllegalArgumentException if a deck file cannot be read.
+   */
+  public GameRecord withDeckHashes() {
+    return new GameRecord(original, rows, cols, handSize, redDeck, blueDeck, hashDeck(redDeck),
+        hashDeck(blueDeck), seed, moves);
+  }
+
+  /**
+   * Hashes the contents of a deck file, the first 8 bytes of their SHA-256 digest.
+   *
+   * @param deck a deck reference.
+   * @return the hash, or NO_DECK_HASH if the deck is not a file.
+   * @throws IllegalArgumentException if the deck file cannot be read.
+   */
+  static long hashDeck(String deck) {
+    if (deck.equals(SYNTHETIC_DECK) || deck.equals(UNKNOWN_DECK)) {
+      return NO_DECK_HASH;
+    }
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+          Files.readAllBytes(Paths.get(deck)));
+      long hash = ByteBuffer.wrap(digest).getLong();
+      return hash == NO_DECK_HASH ? 1 : hash;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read deck: " + deck, e);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available.", e);
+    }
+  }
+
+  int encodePlacement(int handIdx, int row, int col) {
+    if (handIdx < 0 || row < 0 || row >= rows || col < 0 || col >= cols) {
+      throw new IllegalArgumentException("Placement is outside the board or hand.");
+    }
+    long move = ((long) handIdx * rows + row) * cols + col;
+    if (move > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Hand index is too large to record.");
+    }
+    return (int) move;
+  }
+
+  int getMove(int index) {
+    checkIndex(index);
+    return moves[index];
+  }
+
+  public boolean isOriginal() {
+    return original;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getCols() {
+    return cols;
+  }
+
+  public int getHandSize() {
+    return handSize;
+  }
+
+  public String getRedDeck() {
+    return redDeck;
+  }
+
+  public String getBlueDeck() {
+    return blueDeck;
+  }
+
+  /**
+   * Returns the hash of red's deck file when the game was played.
+   *
+   * @return the hash, or NO_DECK_HASH if it was not hashed.
+   */
+  public long getRedDeckHash() {
+    return redDeckHash;
+  }
+
+  /**
+   * Returns the hash of blue's deck file when the game was played.
+   *
+   * @return the hash, or NO_DECK_HASH if it was not hashed.
+   */
+  public long getBlueDeckHash() {
+    return blueDeckHash;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public int getMoveCount() {
+    return moves.length;
+  }
+
+  /**
+   * Returns whether a move was a pass.
+   *
+   * @param index the number of the move, from 0.
+   * @return true if the player passed.
+   * @throws IndexOutOfBoundsException if there is no such move.
+   */
+  public boolean isPass(int index) {
+    checkIndex(index);
+    return moves[index] == PASS;
+  }
+
+  /**
+   * Returns the hand index of the card placed in a move.
+   *
+   * @param index the number of the move, from 0.
+   * @return the hand index, or -1 if the move was a pass.
+   * @throws IndexOutOfBoundsException if there is no such move.
+   */
+  public int getHandIndex(int index) {
+    return isPass(index) ? -1 : moves[index] / cols / rows;
+  }
+
+  /**
+   * Returns the row a card was placed in.
+   *
+   * @param index the number of the move, from 0.
+   * @return the row, or -1 if the move was a pass.
+   * @throws IndexOutOfBoundsException if there is no such move.
+   */
+  public int getRow(int index) {
+    return isPass(index) ? -1 : moves[index] / cols % rows;
+  }
+
+  /**
+   * Returns the column a card was placed in.
+   *
+   * @param index the number of the move, from 0.
+   * @return the column, or -1 if the move was a pass.
+   * @throws IndexOutOfBoundsException if there is no such move.
+   */
+  public int getCol(int index) {
+    return isPass(index) ? -1 : moves[index] % cols;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= moves.length) {
+      throw new IndexOutOfBoundsException("Invalid move index: " + index);
+    }
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof GameRecord)) {
+      return false;
+    }
+    GameRecord record = (GameRecord) other;
+    return original == record.original && rows == record.rows && cols == record.cols
+        && handSize == record.handSize && redDeck.equals(record.redDeck)
+        && blueDeck.equals(record.blueDeck) && redDeckHash == record.redDeckHash
+        && blueDeckHash == record.blueDeckHash && seed == record.seed
+        && Arrays.equals(moves, record.moves);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(moves) + Long.hashCode(seed);
+  }
+}
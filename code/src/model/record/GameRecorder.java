@@ -0,0 +1,100 @@
+package model.record;
+
+import java.util.Arrays;
+import model.BoardListener;
+
+/**
+ * Records the moves of one game as they are made. A GameBoard given the recorder through
+ * setRecorder reports every move that it accepts, and the finished record is appended to the game
+ * log, if there is one, as soon as the game is over.
+ *
+ * <p>Moves are kept as ints in one growing array, so recording costs no objects per move.</p>
+ */
+public class GameRecorder implements BoardListener {
+
+  private final GameRecord start;
+  private final GameLogWriter log;
+  private int[] moves;
+  private int count;
+
+  /**
+   * Constructor for a recorder that only keeps the record in memory.
+   *
+   * @param start the record the game starts from, whose moves are kept.
+   * @throws IllegalArgumentException if the record is null.
+   */
+  public GameRecorder(GameRecord start) {
+    this(start, null);
+  }
+
+  /**
+   * Constructor for a recorder that appends the record to a log once the game is over.
+   *
+   * @param start the record the game starts from, whose moves are kept.
+   * @param log   the log to append the finished game to, or null for none.
+   * @throws IllegalArgumentException if the record is null.
+   */
+  public GameRecorder(GameRecord start, GameLogWriter log) {
+    if (start == null) {
+      throw new IllegalArgumentException("Record cannot be null.");
+    }
+    this.start = start;
+    this.log = log;
+    this.moves = new int[Math.max(16, start.getMoveCount() * 2)];
+    for (int i = 0; i < start.getMoveCount(); i++) {
+      moves[count++] = start.getMove(i);
+    }
+  }
+
+  /**
+   * Records that a card was placed.
+   *
+   * @param handIdx the index of the card in the player's hand.
+   * @param row     the row the card was placed in.
+   * @param col     the column the card was placed in.
+   * @throws IllegalArgumentException if the placement is outside the board.
+   */
+  public void cardPlaced(int handIdx, int row, int col) {
+    add(start.encodePlacement(handIdx, row, col));
+  }
+
+  /**
+   * Records that a player passed.
+   */
+  public void turnPassed() {
+    add(GameRecord.PASS);
+  }
+
+  /**
+   * Returns the record of the game so far.
+   *
+   * @return the record of every move made up to now.
+   */
+  public GameRecord getRecord() {
+    return start.withMoves(moves, count);
+  }
+
+  @Override
+  public void cellChanged(int row, int col) {
+    // Only moves are recorded.
+  }
+
+  @Override
+  public void turnChanged(boolean redTurn) {
+    // Moves are reported by the board as they are made.
+  }
+
+  @Override
+  public void gameOver() {
+    if (log != null) {
+      log.append(getRecord());
+    }
+  }
+
+  private void add(int move) {
+    if (count == moves.length) {
+      moves = Arrays.copyOf(moves, count * 2);
+    }
+    moves[count++] = move;
+  }
+}
@@ -0,0 +1,113 @@
+package model.record;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.GameBoard;
+import model.Player;
+import model.SimplePlayer;
+import model.UpdatedGameBoard;
+import model.card.CachingReader;
+import model.card.CardDefinition;
+import model.card.DeckGenerator;
+import model.card.MappedDeckReader;
+import model.card.Reader;
+import model.card.StreamingDeckReader;
+
+/**
+ * Rebuilds positions of recorded games by playing their moves again on a new board, with no views
+ * or listeners attached. The decks of each record are found from its deck references: deck files
+ * are read the way PawnsGame and Tournament read them, and synthetic decks are generated again
+ * from the record's seed. Decks are kept between replays, so replaying many games on the same
+ * decks reads or generates each deck once. If the record holds the hashes of its deck files, a deck
+ * file whose contents have changed since the game was played is refused rather than replayed.
+ *
+ * <p>An engine is not safe to share between threads; give each thread its own.</p>
+ */
+public class ReplayEngine {
+
+  private final Reader textDecks = new CachingReader(new StreamingDeckReader(), 16);
+  private final Map<String, List<CardDefinition>> syntheticDecks = new HashMap<>();
+
+  /**
+   * Plays the first moves of a recorded game again, finding its decks from the record.
+   *
+   * @param record the game to replay.
+   * @param moves  the number of moves to play, from 0 to the record's move count.
+   * @return the board after the moves, with red as getP1 and blue as getP2.
+   * @throws IllegalArgumentException if the record is null, moves is out of range, a deck
+   *                                  cannot be found or a deck file has changed since the game.
+   * @throws IllegalStateException    if a recorded move cannot be made on the board.
+   */
+  public GameBoard replay(GameRecord record, int moves) {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null.");
+    }
+    return replay(record, deck(record, record.getRedDeck(), record.getRedDeckHash(), false),
+        deck(record, record.getBlueDeck(), record.getBlueDeckHash(), true), moves);
+  }
+
+  /**
+   * Plays the first moves of a recorded game again with the given decks.
+   *
+   * @param record   the game to replay.
+   * @param redDeck  the card definitions for red.
+   * @param blueDeck the card definitions for blue, already reversed.
+   * @param moves    the number of moves to play, from 0 to the record's move count.
+   * @return the board after the moves, with red as getP1 and blue as getP2.
+   * @throws IllegalArgumentException if an argument is null or moves is out of range.
+   * @throws IllegalStateException    if a recorded move cannot be made on the board.
+   */
+  public GameBoard replay(GameRecord record, List<CardDefinition> redDeck,
+      List<CardDefinition> blueDeck, int moves) {
+    if (record == null || redDeck == null || blueDeck == null) {
+      throw new IllegalArgumentException("Record and decks cannot be null.");
+    }
+    if (moves < 0 || moves > record.getMoveCount()) {
+      throw new IllegalArgumentException("Invalid number of moves: " + moves);
+    }
+    Player red = new SimplePlayer(record.getHandSize(), true);
+    Player blue = new SimplePlayer(record.getHandSize(), false);
+    red.setDeck(CardDefinition.newDeck(redDeck));
+    blue.setDeck(CardDefinition.newDeck(blueDeck));
+    GameBoard board = record.isOriginal() ? new GameBoard(record.getRows(), record.getCols())
+        : new UpdatedGameBoard(record.getRows(), record.getCols());
+    board.startGame(red, blue);
+    for (int i = 0; i < moves; i++) {
+      Player player = board.getTurn() ? red : blue;
+      try {
+        if (record.isPass(i)) {
+          board.passTurn(player);
+        } else {
+          board.placeCard(player, record.getHandIndex(i), record.getRow(i), record.getCol(i));
+        }
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        throw new IllegalStateException("Move " + i + " cannot be replayed: " + e.getMessage(),
+            e);
+      }
+    }
+    return board;
+  }
+
+  private List<CardDefinition> deck(GameRecord record, String deck, long hash, boolean reverse) {
+    if (deck.equals(GameRecord.UNKNOWN_DECK)) {
+      throw new IllegalArgumentException("Record does not say which decks were played.");
+    }
+    if (deck.equals(GameRecord.SYNTHETIC_DECK)) {
+      String key = record.getRows() * record.getCols() + " " + record.isOriginal() + " "
+          + record.getSeed() + " " + reverse;
+      return syntheticDecks.computeIfAbsent(key, unused -> {
+        List<CardDefinition> generated = DeckGenerator.generate(
+            record.getRows() * record.getCols(), !record.isOriginal(), record.getSeed());
+        return reverse ? CardDefinition.reverseAll(generated) : generated;
+      });
+    }
+    if (hash != GameRecord.NO_DECK_HASH && GameRecord.hashDeck(deck) != hash) {
+      throw new IllegalArgumentException(
+          "Deck file has changed since the game was recorded: " + deck);
+    }
+    Reader reader = deck.endsWith(MappedDeckReader.EXTENSION) ? new MappedDeckReader()
+        : textDecks;
+    return reverse ? reader.readDefinitionsReverse(deck) : reader.readDefinitions(deck);
+  }
+}
@@ -1,10 +1,8 @@
 package provider.model;
 
-import java.util.List;
 import model.Cell;
 import model.Player;
 import model.card.Card;
-import model.card.Pawn;
 
 /**
  * Adapter class for the Cells of the board. Take the GameBoard's cells and turns them into
@@ -13,6 +11,9 @@ import model.card.Pawn;
 public class CellAdapter implements ProviderCell {
 
   public final Cell cell;
+  // The adapter of the cell's card, made the first time it is asked for.
+  private Card adaptedCard;
+  private ProviderCard cardAdapter;
 
   /**
    * Constructor for the cell adapter.
@@ -29,17 +30,16 @@ public class CellAdapter implements ProviderCell {
 
   @Override
   public PlayerEnum getOwner() {
-    List<Pawn> pawns = cell.getPawns();
-    if (pawns.isEmpty()) {
+    Player owner = cell.getPawnOwner();
+    if (owner == null) {
       return PlayerEnum.None;
     }
-    Player owner = pawns.get(0).getOwner();
     return owner.getIsRed() ? PlayerEnum.Red : PlayerEnum.Blue;
   }
 
   @Override
   public int getPawns() {
-    return this.cell.getPawns().size();
+    return this.cell.getPawnCount();
   }
 
   @Override
@@ -48,8 +48,11 @@ public class CellAdapter implements ProviderCell {
     if (card == null) {
       return null;
     }
-    Player owner = card.getOwner();
-    return new CardAdapter(card);
+    if (card != adaptedCard) {
+      cardAdapter = new CardAdapter(card);
+      adaptedCard = card;
+    }
+    return cardAdapter;
   }
 
   @Override
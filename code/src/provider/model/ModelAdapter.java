@@ -1,7 +1,11 @@
 package provider.model;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import model.BoardState;
+import model.Cell;
 import model.Player;
 import model.ReadOnlyBoard;
 import model.card.Card;
@@ -9,12 +13,29 @@ import model.card.Card;
 /**
  * Adapter class for the main game model. Takes the ReadOnlyBoard interface and adapts it to fit the
  * ReadONlyPawnsBoardModel interface to create compatibility with the provider view.
+ *
+ * <p>The adapter reads the board through its published BoardState, so the provider view can ask
+ * for anything from the Swing thread while moves are made on another. It keeps one CellAdapter per
+ * cell and one CardAdapter per card in a hand, made the first time they are asked for, so a view
+ * that asks for the board and hands on every repaint gets the same objects back. A cell's adapter
+ * is made again only once the state holds a different cell for it, and a hand's once the state
+ * holds a different hand.</p>
+ *
+ * <p>Each call reads the latest state, so two calls may read two different states. A view that
+ * reads a whole frame through many calls should read it from atLatestState instead.</p>
  */
 public class ModelAdapter implements ReadonlyPawnsBoardModel {
 
   private Player player1;
   private Player player2;
   private ReadOnlyBoard board;
+  // Guarded by this.
+  private final CellAdapter[][] cells;
+  private List<Card> redCards;
+  private List<Card> blueCards;
+  private List<ProviderCard> redHand;
+  private List<ProviderCard> blueHand;
+  private Map<Card, ProviderCard> handCards = new IdentityHashMap<>();
 
   /**
    * Constructor for the model adapter.
@@ -30,29 +51,49 @@ public class ModelAdapter implements ReadonlyPawnsBoardModel {
     this.player1 = player1;
     this.player2 = player2;
     this.board = board;
+    this.cells = new CellAdapter[board.getHeight()][board.getWidth()];
+  }
+
+  /**
+   * Returns a model that reads the latest state of the board as it is now, and keeps reading that
+   * state however the board changes, so that a frame read from it never mixes two states of the
+   * game. It shares this adapter's cell and card adapters.
+   *
+   * @return the model of the current state.
+   */
+  public ReadonlyPawnsBoardModel atLatestState() {
+    return new StateModel(board.getState());
   }
 
   @Override
   public boolean gameOver() {
-    return board.isGameOver();
+    return board.getState().isGameOver();
   }
 
   @Override
   public int getRowScore(int row, PlayerEnum playerEnum) {
+    return getRowScore(board.getState(), row, playerEnum);
+  }
+
+  private int getRowScore(BoardState state, int row, PlayerEnum playerEnum) {
     if (playerEnum == PlayerEnum.Red) {
-      return board.getRowScore(player1, row);
+      return state.getRowScore(player1, row);
     } else {
-      return board.getRowScore(player2, row);
+      return state.getRowScore(player2, row);
     }
 
   }
 
   @Override
   public PlayerEnum getWinner() {
-    if (!board.isGameOver()) {
+    return getWinner(board.getState());
+  }
+
+  private PlayerEnum getWinner(BoardState state) {
+    if (!state.isGameOver()) {
       throw new IllegalStateException();
     }
-    Player winner = board.getWinner();
+    Player winner = state.getWinner();
     if (winner == null) {
       return PlayerEnum.None;
     } else if (winner == player1) {
@@ -74,50 +115,102 @@ public class ModelAdapter implements ReadonlyPawnsBoardModel {
 
   @Override
   public ProviderCell getCellAt(int row, int col) {
-    return new CellAdapter(board.getCell(row, col));
+    return getCellAt(board.getState(), row, col);
+  }
+
+  private synchronized ProviderCell getCellAt(BoardState state, int row, int col) {
+    Cell cell = state.getCell(row, col);
+    CellAdapter adapter = cells[row][col];
+    if (adapter == null || adapter.cell != cell) {
+      adapter = new CellAdapter(cell);
+      cells[row][col] = adapter;
+    }
+    return adapter;
   }
 
   @Override
   public PlayerEnum getTurn() {
-    boolean turn = board.getTurn();
+    return getTurn(board.getState());
+  }
+
+  private static PlayerEnum getTurn(BoardState state) {
+    boolean turn = state.getTurn();
     return turn ? PlayerEnum.Blue : PlayerEnum.Red;
   }
 
+  /**
+   * Returns a new array holding the adapter of every cell.
+   */
   @Override
   public ProviderCell[][] getBoard() {
-    int rowSize = board.getHeight();
-    int colSize = board.getWidth();
+    return getBoard(board.getState());
+  }
+
+  private ProviderCell[][] getBoard(BoardState state) {
+    int rowSize = state.getHeight();
+    int colSize = state.getWidth();
     ProviderCell[][] board = new ProviderCell[rowSize][colSize];
     for (int row = 0; row < rowSize; row++) {
       for (int col = 0; col < colSize; col++) {
-        board[row][col] = getCellAt(row, col);
+        board[row][col] = getCellAt(state, row, col);
       }
     }
     return board;
   }
 
+  /**
+   * Returns the hand of a player as an unmodifiable list, which stays the same until the hand
+   * changes. A card keeps its adapter for as long as it stays in a hand.
+   */
   @Override
   public List<ProviderCard> getHand(PlayerEnum playerEnum) {
+    return getHand(board.getState(), playerEnum);
+  }
+
+  private synchronized List<ProviderCard> getHand(BoardState state, PlayerEnum playerEnum) {
+    List<Card> red = state.getHand(player1);
+    List<Card> blue = state.getHand(player2);
+    if (red != redCards || blue != blueCards) {
+      Map<Card, ProviderCard> kept = new IdentityHashMap<>();
+      redHand = adaptHand(red, kept);
+      blueHand = adaptHand(blue, kept);
+      handCards = kept;
+      redCards = red;
+      blueCards = blue;
+    }
+    return (playerEnum == PlayerEnum.Red) ? redHand : blueHand;
+  }
+
+  private List<ProviderCard> adaptHand(List<Card> hand, Map<Card, ProviderCard> kept) {
     List<ProviderCard> result = new ArrayList<>();
-    Player player = (playerEnum == PlayerEnum.Red) ? player1 : player2;
-    for (Card card : player.getHand()) {
-      result.add(new CardAdapter(card));
+    for (Card card : hand) {
+      ProviderCard adapter = handCards.get(card);
+      if (adapter == null) {
+        adapter = new CardAdapter(card);
+      }
+      kept.put(card, adapter);
+      result.add(adapter);
     }
-    return result;
+    return List.copyOf(result);
   }
 
   @Override
   public PlayerEnum getOwnerOf(int row, int col) {
-    if (board.getCell(row, col).getCard() != null) {
-      Player cardOwner = board.getCell(row, col).getCard().getOwner();
+    return getOwnerOf(board.getState(), row, col);
+  }
+
+  private PlayerEnum getOwnerOf(BoardState state, int row, int col) {
+    Cell cell = state.getCell(row, col);
+    if (cell.getCard() != null) {
+      Player cardOwner = cell.getCard().getOwner();
       if (cardOwner == player1) {
         return PlayerEnum.Red;
       } else if (cardOwner == player2) {
         return PlayerEnum.Blue;
       }
     }
-    if (!board.getCell(row, col).getPawns().isEmpty()) {
-      Player pawnOwner = board.getCell(row, col).getPawns().get(0).getOwner();
+    if (cell.getPawnCount() > 0) {
+      Player pawnOwner = cell.getPawnOwner();
       return (pawnOwner == player1) ? PlayerEnum.Red : PlayerEnum.Blue;
     }
     return PlayerEnum.None;
@@ -126,35 +219,100 @@ public class ModelAdapter implements ReadonlyPawnsBoardModel {
 
   @Override
   public boolean isMoveLegal(int handIdx, int row, int col) {
-    if (board.isGameOver()) {
+    return isMoveLegal(board.getState(), handIdx, row, col);
+  }
+
+  private boolean isMoveLegal(BoardState state, int handIdx, int row, int col) {
+    if (state.isGameOver()) {
       return false;
     }
-    if (row < 0 || row >= board.getHeight() || col < 0 || col >= board.getWidth()) {
+    Player current = state.getTurn() ? player2 : player1;
+    List<Card> hand = state.getHand(current);
+    if (handIdx < 0 || handIdx >= hand.size()) {
       return false;
     }
-    if (board.getCell(row, col).getCard() != null) {
-      return false;
+    return state.isLegalPlacement(current, hand.get(handIdx), row, col);
+  }
+
+  @Override
+  public int getPlayerScore(PlayerEnum playerEnum) {
+    return getPlayerScore(board.getState(), playerEnum);
+  }
+
+  private int getPlayerScore(BoardState state, PlayerEnum playerEnum) {
+    Player player = (playerEnum == PlayerEnum.Red) ? player1 : player2;
+    return state.getTotalScore(player);
+  }
+
+  /**
+   * The model atLatestState returns, reading one state with the adapter's methods.
+   */
+  private final class StateModel implements ReadonlyPawnsBoardModel {
+
+    private final BoardState state;
+
+    private StateModel(BoardState state) {
+      this.state = state;
     }
-    PlayerEnum turn = getTurn();
-    Player current = (turn == PlayerEnum.Red) ? player1 : player2;
-    if (handIdx < 0 || handIdx >= current.getHandSize()) {
-      return false;
+
+    @Override
+    public boolean gameOver() {
+      return state.isGameOver();
     }
 
-    if (board.getCell(row, col).getPawns().isEmpty()) {
-      return false;
+    @Override
+    public int getRowScore(int row, PlayerEnum playerEnum) {
+      return ModelAdapter.this.getRowScore(state, row, playerEnum);
     }
-    if (!board.getCell(row, col).getPawns().get(0).getOwner().equals(current)) {
-      return false;
+
+    @Override
+    public PlayerEnum getWinner() {
+      return ModelAdapter.this.getWinner(state);
     }
 
-    Card chosenCard = current.getHand().get(handIdx);
-    return chosenCard.getCost() <= board.getCell(row, col).getPawns().size();
-  }
+    @Override
+    public int getWidth() {
+      return state.getWidth();
+    }
 
-  @Override
-  public int getPlayerScore(PlayerEnum playerEnum) {
-    Player player = (playerEnum == PlayerEnum.Red) ? player1 : player2;
-    return board.getTotalScore(player);
+    @Override
+    public int getHeight() {
+      return state.getHeight();
+    }
+
+    @Override
+    public ProviderCell getCellAt(int row, int col) {
+      return ModelAdapter.this.getCellAt(state, row, col);
+    }
+
+    @Override
+    public PlayerEnum getTurn() {
+      return ModelAdapter.getTurn(state);
+    }
+
+    @Override
+    public ProviderCell[][] getBoard() {
+      return ModelAdapter.this.getBoard(state);
+    }
+
+    @Override
+    public List<ProviderCard> getHand(PlayerEnum playerEnum) {
+      return ModelAdapter.this.getHand(state, playerEnum);
+    }
+
+    @Override
+    public PlayerEnum getOwnerOf(int row, int col) {
+      return ModelAdapter.this.getOwnerOf(state, row, col);
+    }
+
+    @Override
+    public boolean isMoveLegal(int handIdx, int row, int col) {
+      return ModelAdapter.this.isMoveLegal(state, handIdx, row, col);
+    }
+
+    @Override
+    public int getPlayerScore(PlayerEnum playerEnum) {
+      return ModelAdapter.this.getPlayerScore(state, playerEnum);
+    }
   }
 }
@@ -10,6 +10,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Logger;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.event.MouseInputAdapter;
@@ -19,9 +20,14 @@ import provider.model.ReadonlyPawnsBoardModel;
 
 /**
  * Represents a panel for Pawns Board.
+ *
+ * <p>Clicks and highlights are logged at FINE level to the provider.view.PBPanel logger, which
+ * is off unless turned on through java.util.logging.</p>
  */
 public class PBPanel extends JPanel {
 
+  private static final Logger LOG = Logger.getLogger(PBPanel.class.getName());
+
   private final ReadonlyPawnsBoardModel model;
   private final Color playerRedColor = new Color(255, 0, 0, 125);
   private final Color playerBlueColor = new Color(0, 0, 255, 125);
@@ -81,34 +87,37 @@ public class PBPanel extends JPanel {
   @Override
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
+    PBSnapshot frame = PBSnapshot.of(this.model, this.playerEnum);
     Graphics2D g2d = (Graphics2D) g.create();
     g2d.setFont(stringFont);
-    drawEnds(g2d);
-    drawScore(g2d);
-    drawCells(g2d);
-    drawLines(g2d);
-    drawHand(g2d);
+    drawEnds(g2d, frame);
+    drawScore(g2d, frame);
+    drawCells(g2d, frame);
+    drawLines(g2d, frame);
+    drawHand(g2d, frame);
+    g2d.dispose();
   }
 
-  private void drawScore(Graphics2D g2d) {
+  private void drawScore(Graphics2D g2d, PBSnapshot frame) {
     g2d.setColor(Color.BLACK);
-    for (int i = 0; i < this.model.getHeight(); i++) {
-      g2d.drawString(this.model.getRowScore(i, PlayerEnum.Red) + "", 50, 50 + i * 100);
-      g2d.drawString(this.model.getRowScore(i, PlayerEnum.Blue) + "", this.boardWidth - 50,
+    for (int i = 0; i < frame.getHeight(); i++) {
+      g2d.drawString(frame.getRowScore(i, PlayerEnum.Red) + "", 50, 50 + i * 100);
+      g2d.drawString(frame.getRowScore(i, PlayerEnum.Blue) + "", this.boardWidth - 50,
           50 + i * 100);
     }
   }
 
-  private void drawEnds(Graphics2D g2d) {
-    for (int i = 0; i < this.model.getHeight(); i++) {
+  private void drawEnds(Graphics2D g2d, PBSnapshot frame) {
+    for (int i = 0; i < frame.getHeight(); i++) {
       g2d.setColor(Color.GRAY);
       g2d.fillRect(0, (100 * i), 100, 100);
       g2d.fillRect(boardWidth - 100, (100 * i), 100, 100);
-      if (this.model.getRowScore(i, PlayerEnum.Red) > this.model.getRowScore(i, PlayerEnum.Blue)) {
+      int red = frame.getRowScore(i, PlayerEnum.Red);
+      int blue = frame.getRowScore(i, PlayerEnum.Blue);
+      if (red > blue) {
         g2d.setColor(playerRedColor);
         g2d.fillOval(25, (100 * i) + 25, 50, 50);
-      } else if (this.model.getRowScore(i, PlayerEnum.Red) < this.model.getRowScore(i,
-          PlayerEnum.Blue)) {
+      } else if (red < blue) {
         g2d.setColor(playerBlueColor);
         g2d.fillOval(boardWidth - 75, (100 * i) + 25, 50, 50);
       }
@@ -117,49 +126,48 @@ public class PBPanel extends JPanel {
     g2d.drawLine(boardWidth, 0, boardWidth, boardHeight);
   }
 
-  private void drawLines(Graphics2D g2d) {
+  private void drawLines(Graphics2D g2d, PBSnapshot frame) {
     g2d.setColor(Color.BLACK);
-    int mHeight = this.model.getHeight();
-    int mWidth = this.model.getWidth();
+    int mHeight = frame.getHeight();
+    int mWidth = frame.getWidth();
     for (int i = 0; i <= mHeight; i++) {
       g2d.drawLine(0, 100 * i, boardWidth, 100 * i);
     }
     for (int i = 0; i <= mWidth; i++) {
       g2d.drawLine(100 * i, 0, 100 * i, this.boardHeight);
     }
-    for (int i = 0; i <= this.model.getHand(this.model.getTurn()).size(); i++) {
-      g2d.drawLine((this.boardWidth / 3) * i, this.model.getHeight() * 100,
-          (this.boardWidth / 3) * i, this.model.getHeight() * 100 + 100);
+    for (int i = 0; i <= frame.getTurnHandSize(); i++) {
+      g2d.drawLine((this.boardWidth / 3) * i, mHeight * 100,
+          (this.boardWidth / 3) * i, mHeight * 100 + 100);
     }
     g2d.drawLine(0, this.boardHeight + 100, this.boardWidth, this.boardHeight + 100);
   }
 
-  private void drawCells(Graphics2D g2d) {
-    System.out.println(this.cellHighlightX + " " + this.cellHighlightY);
-    for (int j = 0; j < this.model.getHeight(); j++) {
-      for (int i = 0; i < this.model.getWidth(); i++) {
-        if (this.model.getCellAt(j, i).getCard() != null) {
+  private void drawCells(Graphics2D g2d, PBSnapshot frame) {
+    LOG.fine(() -> "Highlighted cell " + this.cellHighlightX + " " + this.cellHighlightY);
+    for (int j = 0; j < frame.getHeight(); j++) {
+      for (int i = 0; i < frame.getWidth(); i++) {
+        int pawns = frame.getPawns(j, i);
+        if (frame.hasCard(j, i)) {
           this.setPlayerColor(g2d);
-          renderCard(g2d, j, i);
+          renderCard(g2d, frame, j, i);
         } else if (i == this.cellHighlightX && j == this.cellHighlightY
             && this.isHighlightedCell) {
           g2d.setColor(itemSelectedColor);
           g2d.fillRect(100 * i + 101, 100 * j, 100, 100);
-          if (this.model.getCellAt(j, i).getPawns() != 0) {
+          if (pawns != 0) {
             g2d.setColor(Color.BLACK);
-            g2d.drawString(this.model.getCellAt(j, i).getPawns() + "",
-                150 + 100 * i, 50 + 100 * j);
+            g2d.drawString(pawns + "", 150 + 100 * i, 50 + 100 * j);
           }
-        } else if (this.model.getCellAt(j, i).getPawns() != 0) {
-          if (this.model.getCellAt(j, i).getOwner() == PlayerEnum.Red) {
+        } else if (pawns != 0) {
+          if (frame.getOwner(j, i) == PlayerEnum.Red) {
             g2d.setColor(playerRedColor);
           } else {
             g2d.setColor(playerBlueColor);
           }
           g2d.fillRect(100 * i + 101, 100 * j, 100, 100);
           g2d.setColor(Color.BLACK);
-          g2d.drawString(this.model.getCellAt(j, i).getPawns() + "",
-              150 + 100 * i, 50 + 100 * j);
+          g2d.drawString(pawns + "", 150 + 100 * i, 50 + 100 * j);
         } else {
           g2d.setColor(Color.LIGHT_GRAY);
           g2d.fillRect(100 * i + 101, 100 * j, 100, 100);
@@ -170,14 +178,14 @@ public class PBPanel extends JPanel {
   }
 
   // Can possibly be upgraded to render the influence grid in color, for now textual is good.
-  private void renderCard(Graphics2D g2d, int i, int j) {
+  private void renderCard(Graphics2D g2d, PBSnapshot frame, int i, int j) {
     g2d.setColor(Color.BLACK);
     g2d.setFont(cardFont);
-    String[] split = this.model.getCellAt(i, j).getCard().toString().split("\\n");
+    String[] split = frame.getCardLines(i, j);
     for (int n = 0; n < split.length; n++) {
       g2d.drawString(split[n], 101 + 100 * j, 10 + (10 * n) + (100 * i));
     }
-    if (this.model.getCellAt(i, j).getOwner() == PlayerEnum.Blue) {
+    if (frame.getOwner(i, j) == PlayerEnum.Blue) {
       g2d.setColor(playerBlueColor);
     } else {
       g2d.setColor(playerRedColor);
@@ -186,29 +194,26 @@ public class PBPanel extends JPanel {
     g2d.setFont(this.stringFont);
   }
 
-  private void drawHand(Graphics2D g2d) {
-    if (this.highlightedProviderCard != null) {
-      System.out.println(this.highlightedProviderCard.getName());
-    } else {
-      System.out.println("null");
-    }
-    for (int i = 0; i < this.model.getHand(this.playerEnum).size(); i++) {
-      if (this.model.getHand(this.playerEnum).get(i).equals(this.highlightedProviderCard)) {
+  private void drawHand(Graphics2D g2d, PBSnapshot frame) {
+    LOG.fine(() -> "Highlighted card " + (this.highlightedProviderCard == null ? "null"
+        : this.highlightedProviderCard.getName()));
+    List<ProviderCard> hand = frame.getHand();
+    int top = frame.getHeight() * 100;
+    for (int i = 0; i < hand.size(); i++) {
+      if (hand.get(i).equals(this.highlightedProviderCard)) {
         g2d.setColor(this.itemSelectedColor);
       } else {
         this.setPlayerColor(g2d);
       }
-      g2d.fillRect((this.boardWidth / 3) * i, this.model.getHeight() * 100,
-          (this.boardWidth / 3), 100);
-      g2d.setColor(Color.BLACK);
-      g2d.setFont(cardFont);
-      String[] split;
-      for (int j = 0; j < this.model.getHand(this.playerEnum).size(); j++) {
-        split = this.model.getHand(this.playerEnum).get(j).toString().split("\\n");
-        for (int n = 0; n < split.length; n++) {
-          g2d.drawString(split[n], (this.boardWidth / 3) * j,
-              (this.model.getHeight() * 100) + 10 + (10 * n));
-        }
+      g2d.fillRect((this.boardWidth / 3) * i, top, (this.boardWidth / 3), 100);
+    }
+    // Text goes over every slot, since a card's text can run into the next slot.
+    g2d.setColor(Color.BLACK);
+    g2d.setFont(cardFont);
+    for (int j = 0; j < hand.size(); j++) {
+      String[] split = frame.getHandLines(j);
+      for (int n = 0; n < split.length; n++) {
+        g2d.drawString(split[n], (this.boardWidth / 3) * j, top + 10 + (10 * n));
       }
     }
   }
@@ -258,10 +263,10 @@ public class PBPanel extends JPanel {
           && point.getX() >= 0 && point.getX() < boardWidth) {
         cardHighlightX = this.getCardXValue((int) point.getX());
         highlightCard();
-        System.out.println("Clicked on card in hand slot " + cardHighlightX);
+        LOG.fine(() -> "Clicked on card in hand slot " + cardHighlightX);
       } else if (point.getX() > 100 && point.getX() < boardWidth - 100
           && point.getY() > 0 && point.getY() < boardHeight) {
-        System.out.println("Clicked on cell with coordinates " + point.getX() + "," + point.getY());
+        LOG.fine(() -> "Clicked on cell with coordinates " + point.getX() + "," + point.getY());
         cellHighlightX = this.getXValue((int) point.getX());
         cellHighlightY = this.getYValue((int) point.getY());
         setHighlightCell(cellHighlightX, cellHighlightY);
@@ -282,16 +287,16 @@ public class PBPanel extends JPanel {
       PBPanel.this.cellHighlightX = highlightX;
       PBPanel.this.cellHighlightY = highlightY;
       if (!PBPanel.this.isHighlightedCell) {
-        System.out.println("setting highlighted cell to true");
+        LOG.fine("setting highlighted cell to true");
         PBPanel.this.lastHighlightedCellX = highlightX;
         PBPanel.this.lastHighlightedCellY = highlightY;
         PBPanel.this.isHighlightedCell = true;
       } else if (PBPanel.this.lastHighlightedCellX == highlightX
           && PBPanel.this.lastHighlightedCellY == highlightY) {
-        System.out.println("setting highlighted cell to false");
+        LOG.fine("setting highlighted cell to false");
         PBPanel.this.isHighlightedCell = false;
       } else {
-        System.out.println("doing nothing");
+        LOG.fine("doing nothing");
         PBPanel.this.cellHighlightX = PBPanel.this.lastHighlightedCellX;
         PBPanel.this.cellHighlightY = PBPanel.this.lastHighlightedCellY;
       }
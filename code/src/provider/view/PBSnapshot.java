@@ -0,0 +1,130 @@
+package provider.view;
+
+import java.util.List;
+import provider.model.ModelAdapter;
+import provider.model.PlayerEnum;
+import provider.model.ProviderCard;
+import provider.model.ProviderCell;
+import provider.model.ReadonlyPawnsBoardModel;
+
+/**
+ * Everything PBPanel draws in one repaint, read from the model once when the repaint starts. The
+ * panel draws only from the snapshot, so every cell, score and card is asked for once per repaint
+ * instead of once for every place it is drawn. When the model is our ModelAdapter, the snapshot is
+ * read from one state of the board, so a frame never mixes two states of the game even when a
+ * move is made while it is being read; any other model is read as it is.
+ */
+final class PBSnapshot {
+
+  private final int width;
+  private final int height;
+  private final int[] redRowScores;
+  private final int[] blueRowScores;
+  // Cells in row-major order.
+  private final String[][] cardLines;
+  private final PlayerEnum[] owners;
+  private final int[] pawns;
+  private final int turnHandSize;
+  private final List<ProviderCard> hand;
+  private final String[][] handLines;
+
+  private PBSnapshot(ReadonlyPawnsBoardModel model, PlayerEnum player) {
+    this.width = model.getWidth();
+    this.height = model.getHeight();
+    this.redRowScores = new int[height];
+    this.blueRowScores = new int[height];
+    for (int row = 0; row < height; row++) {
+      redRowScores[row] = model.getRowScore(row, PlayerEnum.Red);
+      blueRowScores[row] = model.getRowScore(row, PlayerEnum.Blue);
+    }
+
+    this.cardLines = new String[width * height][];
+    this.owners = new PlayerEnum[width * height];
+    this.pawns = new int[width * height];
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        ProviderCell cell = model.getCellAt(row, col);
+        ProviderCard card = cell.getCard();
+        int idx = row * width + col;
+        cardLines[idx] = card == null ? null : lines(card);
+        owners[idx] = cell.getOwner();
+        pawns[idx] = cell.getPawns();
+      }
+    }
+
+    PlayerEnum turn = model.getTurn();
+    this.hand = List.copyOf(model.getHand(player));
+    this.turnHandSize = turn == player ? hand.size() : model.getHand(turn).size();
+    this.handLines = new String[hand.size()][];
+    for (int i = 0; i < hand.size(); i++) {
+      handLines[i] = lines(hand.get(i));
+    }
+  }
+
+  /**
+   * Reads a snapshot of the model.
+   *
+   * @param model  the model to read.
+   * @param player the player whose hand is shown.
+   * @return the snapshot.
+   */
+  static PBSnapshot of(ReadonlyPawnsBoardModel model, PlayerEnum player) {
+    if (model instanceof ModelAdapter) {
+      return new PBSnapshot(((ModelAdapter) model).atLatestState(), player);
+    }
+    return new PBSnapshot(model, player);
+  }
+
+  private static String[] lines(ProviderCard card) {
+    return card.toString().split("\\n");
+  }
+
+  int getWidth() {
+    return width;
+  }
+
+  int getHeight() {
+    return height;
+  }
+
+  int getRowScore(int row, PlayerEnum player) {
+    return player == PlayerEnum.Red ? redRowScores[row] : blueRowScores[row];
+  }
+
+  boolean hasCard(int row, int col) {
+    return cardLines[row * width + col] != null;
+  }
+
+  /**
+   * Returns the lines of text of the card in a cell, or null if the cell has no card.
+   */
+  String[] getCardLines(int row, int col) {
+    return cardLines[row * width + col];
+  }
+
+  PlayerEnum getOwner(int row, int col) {
+    return owners[row * width + col];
+  }
+
+  int getPawns(int row, int col) {
+    return pawns[row * width + col];
+  }
+
+  /**
+   * Returns the number of cards in the hand of the player whose turn it is.
+   */
+  int getTurnHandSize() {
+    return turnHandSize;
+  }
+
+  /**
+   * Returns the hand of the player the panel shows.
+   */
+  List<ProviderCard> getHand() {
+    return hand;
+  }
+
+  String[] getHandLines(int idx) {
+    return handLines[idx];
+  }
+}
@@ -0,0 +1,366 @@
+package strategy;
+
+import java.util.Arrays;
+import java.util.List;
+import model.Board;
+import model.PackedGameBoard;
+import model.Player;
+import model.card.Card;
+
+/**
+ * Strategy implementation that searches several moves ahead with alpha-beta pruning. The search
+ * runs on a packed snapshot of the board using iterative deepening: it searches one move deep,
+ * then two, and so on until the time budget runs out, and returns the best move of the deepest
+ * search that finished. Moves that were best in the previous iteration, and moves that caused a
+ * cutoff at the same depth (killer moves), are searched first so the pruning cuts as much as
+ * possible.
+ *
+ * <p>Results are kept in a transposition table keyed by the board's position hash, so a position
+ * that is reached again through a different move order is not searched twice. The table can be
+ * shared between strategies, including ones that search at the same time.</p>
+ *
+ * <p>Positions are scored as the difference between the two players' total scores. Both hands are
+ * taken from the board's players; cards drawn from the decks during the game are not simulated.
+ * Ties between moves with the same score are broken the same way as the other strategies: the
+ * uppermost, then leftmost board position, then the leftmost card.</p>
+ */
+public class AlphaBetaStrategy implements Strategy {
+
+  private static final int PASS = -1;
+  private static final int WIN = 1_000_000;
+  private static final int INFINITY = Integer.MAX_VALUE;
+  private static final int MAX_DEPTH = 64;
+  private static final int CHECK_INTERVAL = 1024;
+  private static final int TABLE_SIZE_LOG2 = 16;
+
+  private final long timeBudgetMillis;
+  private final int maxDepth;
+  private final TranspositionTable table;
+
+  /**
+   * Constructor for the strategy.
+   *
+   * @param timeBudgetMillis how long, in milliseconds, each getMove call may search for.
+   * @throws IllegalArgumentException if the budget is not positive.
+   */
+  public AlphaBetaStrategy(long timeBudgetMillis) {
+    this(timeBudgetMillis, MAX_DEPTH);
+  }
+
+  /**
+   * Constructor for the strategy with a limit on the search depth.
+   *
+   * @param timeBudgetMillis how long, in milliseconds, each getMove call may search for.
+   * @param maxDepth         the deepest search, in moves, that will be attempted.
+   * @throws IllegalArgumentException if the budget or depth is not positive.
+   */
+  public AlphaBetaStrategy(long timeBudgetMillis, int maxDepth) {
+    this(timeBudgetMillis, maxDepth, new TranspositionTable(TABLE_SIZE_LOG2));
+  }
+
+  /**
+   * Constructor for the strategy with a transposition table that may be shared with other
+   * strategies.
+   *
+   * @param timeBudgetMillis how long, in milliseconds, each getMove call may search for.
+   * @param maxDepth         the deepest search, in moves, that will be attempted.
+   * @param table            the transposition table to use.
+   * @throws IllegalArgumentException if the budget or depth is not positive or the table is null.
+   */
+  public AlphaBetaStrategy(long timeBudgetMillis, int maxDepth, TranspositionTable table) {
+    if (timeBudgetMillis <= 0 || maxDepth <= 0) {
+      throw new IllegalArgumentException("Time budget and depth must be positive.");
+    }
+    if (table == null) {
+      throw new IllegalArgumentException("Table cannot be null.");
+    }
+    this.timeBudgetMillis = timeBudgetMillis;
+    this.maxDepth = maxDepth;
+    this.table = table;
+  }
+
+  @Override
+  public Move getMove(Board board, Player player) {
+    if (board == null || player == null) {
+      throw new IllegalArgumentException("Board/player cannot be null.");
+    }
+    if (board.getTurn() != player.getIsRed()) {
+      return new Move(-1, -1, true, -1);
+    }
+    long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+    table.newSearch();
+    Search search = new Search(board, table, deadline);
+    int best = search.run(maxDepth);
+    if (best == PASS) {
+      return new Move(-1, -1, true, -1);
+    }
+    int cell = cellOf(best);
+    return new Move(cell / board.getWidth(), cell % board.getWidth(), false, handIdxOf(best));
+  }
+
+  private static int encode(int handIdx, int cell) {
+    return (handIdx << 20) | cell;
+  }
+
+  private static int handIdxOf(int move) {
+    return move >>> 20;
+  }
+
+  private static int cellOf(int move) {
+    return move & 0xFFFFF;
+  }
+
+  /**
+   * State of a single getMove call, so that one strategy can be shared between games that run at
+   * the same time.
+   */
+  private static final class Search {
+
+    private final PackedGameBoard board;
+    private final TranspositionTable table;
+    private final long[] entry;
+    private final Player[] players;
+    private final Card[][] hands;
+    private final boolean[][] used;
+    private final int width;
+    private final int cells;
+    private final long deadline;
+    private final int[][] killers;
+    private final int[][] moveBuffers;
+    private long nodes;
+    private boolean aborted;
+
+    private Search(Board live, TranspositionTable table, long deadline) {
+      this.board = PackedGameBoard.of(live);
+      this.table = table;
+      this.entry = new long[2];
+      this.players = new Player[] {live.getP1(), live.getP2()};
+      this.hands = new Card[][] {handOf(players[0]), handOf(players[1])};
+      this.used = new boolean[][] {new boolean[hands[0].length], new boolean[hands[1].length]};
+      this.width = live.getWidth();
+      this.cells = live.getWidth() * live.getHeight();
+      this.deadline = deadline;
+      this.killers = new int[MAX_DEPTH + 1][2];
+      // 0 is a real move (the first card in the first square), so no killer yet is PASS.
+      for (int[] plyKillers : killers) {
+        Arrays.fill(plyKillers, PASS);
+      }
+      this.moveBuffers = new int[MAX_DEPTH + 1][];
+    }
+
+    private static Card[] handOf(Player player) {
+      List<Card> hand = player.getHand();
+      return hand.toArray(new Card[0]);
+    }
+
+    private int run(int maxDepth) {
+      int[] rootMoves = generate(0);
+      int rootCount = rootMoves.length;
+      int[] rootScores = new int[rootCount];
+      int best = rootMoves[0];
+      for (int depth = 1; depth <= Math.min(maxDepth, MAX_DEPTH); depth++) {
+        int alpha = -INFINITY;
+        int bestThisDepth = PASS;
+        for (int i = 0; i < rootCount; i++) {
+          int move = rootMoves[i];
+          // Searching with the bound one below alpha keeps scores equal to alpha exact, so ties
+          // can be broken safely.
+          int bound = alpha == -INFINITY ? INFINITY : -(alpha - 1);
+          make(move);
+          int score = -search(depth - 1, 1, -INFINITY, bound);
+          unmake(move);
+          if (aborted) {
+            break;
+          }
+          rootScores[i] = score;
+          if (score > alpha || (score == alpha && breaksTie(move, bestThisDepth))) {
+            alpha = score;
+            bestThisDepth = move;
+          }
+        }
+        if (aborted) {
+          break;
+        }
+        best = bestThisDepth;
+        sortByScore(rootMoves, rootScores, rootCount);
+        if (Math.abs(alpha) >= WIN) {
+          break;
+        }
+      }
+      return best;
+    }
+
+    private int search(int depth, int ply, int alpha, int beta) {
+      if (++nodes % CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+        aborted = true;
+        return 0;
+      }
+      if (board.isGameOver()) {
+        int diff = evaluate();
+        return diff > 0 ? WIN + diff : diff < 0 ? -WIN + diff : 0;
+      }
+      if (depth == 0 || ply >= MAX_DEPTH) {
+        return evaluate();
+      }
+      // The hands are fixed for the whole search and the board hash covers the cards that have
+      // been played, so the board hash alone identifies the position.
+      long key = board.getHash();
+      int hashMove = PASS;
+      if (table.probe(key, entry)) {
+        long info = entry[0];
+        hashMove = (int) entry[1];
+        if (TranspositionTable.depthOf(info) >= depth) {
+          int stored = TranspositionTable.scoreOf(info);
+          switch (TranspositionTable.flagOf(info)) {
+            case TranspositionTable.EXACT:
+              return stored;
+            case TranspositionTable.LOWER:
+              alpha = Math.max(alpha, stored);
+              break;
+            default:
+              beta = Math.min(beta, stored);
+              break;
+          }
+          if (alpha >= beta) {
+            return stored;
+          }
+        }
+      }
+      int alphaBefore = alpha;
+      int[] moves = generate(ply);
+      int count = moves[moves.length - 1];
+      promote(moves, count, hashMove);
+      int best = -INFINITY;
+      int bestMove = PASS;
+      for (int i = 0; i < count; i++) {
+        int move = moves[i];
+        make(move);
+        int score = -search(depth - 1, ply + 1, -beta, -alpha);
+        unmake(move);
+        if (aborted) {
+          return 0;
+        }
+        if (score > best) {
+          best = score;
+          bestMove = move;
+        }
+        if (score > alpha) {
+          alpha = score;
+        }
+        if (alpha >= beta) {
+          if (move != PASS && killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+          }
+          break;
+        }
+      }
+      int flag = best <= alphaBefore ? TranspositionTable.UPPER
+          : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+      table.store(key, depth, flag, best, bestMove);
+      return best;
+    }
+
+    /**
+     * Generates the moves of the side to move, killer moves first and passing last. At the root
+     * the array is exactly as long as the number of moves; deeper down the arrays are reused and
+     * the last slot holds the number of moves.
+     */
+    private int[] generate(int ply) {
+      int side = board.getTurn() ? 0 : 1;
+      Card[] hand = hands[side];
+      int max = hand.length * cells + 2;
+      int[] moves = moveBuffers[ply];
+      if (moves == null || moves.length < max) {
+        moves = new int[max];
+        moveBuffers[ply] = moves;
+      }
+      int count = 0;
+      for (int handIdx = 0; handIdx < hand.length; handIdx++) {
+        if (used[side][handIdx]) {
+          continue;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+          if (board.canPlay(hand[handIdx], cell / width, cell % width)) {
+            moves[count++] = encode(handIdx, cell);
+          }
+        }
+      }
+      promote(moves, count, killers[ply][1]);
+      promote(moves, count, killers[ply][0]);
+      moves[count++] = PASS;
+      if (ply == 0) {
+        int[] root = new int[count];
+        System.arraycopy(moves, 0, root, 0, count);
+        return root;
+      }
+      moves[moves.length - 1] = count;
+      return moves;
+    }
+
+    private void promote(int[] moves, int count, int move) {
+      for (int i = 0; i < count; i++) {
+        if (moves[i] == move && move != PASS) {
+          System.arraycopy(moves, 0, moves, 1, i);
+          moves[0] = move;
+          return;
+        }
+      }
+    }
+
+    private void make(int move) {
+      if (move == PASS) {
+        board.pass();
+        return;
+      }
+      int side = board.getTurn() ? 0 : 1;
+      int cell = cellOf(move);
+      board.play(hands[side][handIdxOf(move)], cell / width, cell % width);
+      used[side][handIdxOf(move)] = true;
+    }
+
+    private void unmake(int move) {
+      board.undo();
+      if (move != PASS) {
+        used[board.getTurn() ? 0 : 1][handIdxOf(move)] = false;
+      }
+    }
+
+    /**
+     * Scores the position for the side to move.
+     */
+    private int evaluate() {
+      int red = board.getTotalScore(players[0]);
+      int blue = board.getTotalScore(players[1]);
+      return board.getTurn() ? red - blue : blue - red;
+    }
+
+    private static boolean breaksTie(int move, int best) {
+      if (best == PASS) {
+        return true;
+      }
+      if (move == PASS) {
+        return false;
+      }
+      if (cellOf(move) != cellOf(best)) {
+        return cellOf(move) < cellOf(best);
+      }
+      return handIdxOf(move) < handIdxOf(best);
+    }
+
+    private static void sortByScore(int[] moves, int[] scores, int count) {
+      for (int i = 1; i < count; i++) {
+        int move = moves[i];
+        int score = scores[i];
+        int j = i - 1;
+        while (j >= 0 && scores[j] < score) {
+          moves[j + 1] = moves[j];
+          scores[j + 1] = scores[j];
+          j--;
+        }
+        moves[j + 1] = move;
+        scores[j + 1] = score;
+      }
+    }
+  }
+}
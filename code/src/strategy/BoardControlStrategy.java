@@ -1,12 +1,12 @@
 package strategy;
 
+import java.util.BitSet;
 import java.util.List;
 import model.Board;
 import model.Cell;
 import model.Player;
 import model.card.Card;
-import model.card.Influence;
-import model.card.Pawn;
+import model.card.InfluenceMask;
 
 /**
  * Strategy Representation representing the strategy of controlling the most squares on the board.
@@ -22,28 +22,27 @@ public class BoardControlStrategy implements Strategy {
     }
     Move bestMove = new Move(-1, -1, true, -1);
     int bestOwnedCount = countCellsOwned(board.getCopy(), player);
-    for (int handIdx = 0; handIdx < player.getHandSize(); handIdx++) {
-
-      Card card = player.getHand().get(handIdx);
-      for (int row = 0; row < board.getHeight(); row++) {
-        for (int col = 0; col < board.getWidth(); col++) {
-
-          if (isLegal(board.getCopy(), player, card, row, col)) {
-            Cell[][] testCopy = testPlacement(board, player, card, handIdx, row, col);
-            if (testCopy == null) {
-              continue;
-            }
+    List<Card> hand = player.getHand();
+    int width = board.getWidth();
+    for (int handIdx = 0; handIdx < hand.size(); handIdx++) {
+      Card card = hand.get(handIdx);
+      BitSet playable = board.getPlayableCells(player, card.getCost());
+      for (int idx = playable.nextSetBit(0); idx >= 0; idx = playable.nextSetBit(idx + 1)) {
+        int row = idx / width;
+        int col = idx % width;
+        Cell[][] testCopy = testPlacement(board, player, card, handIdx, row, col);
+        if (testCopy == null) {
+          continue;
+        }
 
-            int ownershipCount = countCellsOwned(testCopy, player);
-            if (ownershipCount > bestOwnedCount) {
-              bestOwnedCount = ownershipCount;
-              bestMove = new Move(row, col, false, handIdx);
-            } else if (ownershipCount == bestOwnedCount) {
+        int ownershipCount = countCellsOwned(testCopy, player);
+        if (ownershipCount > bestOwnedCount) {
+          bestOwnedCount = ownershipCount;
+          bestMove = new Move(row, col, false, handIdx);
+        } else if (ownershipCount == bestOwnedCount) {
 
-              if (tieBreaker(row, col, handIdx, bestMove)) {
-                bestMove = new Move(row, col, false, handIdx);
-              }
-            }
+          if (tieBreaker(row, col, handIdx, bestMove)) {
+            bestMove = new Move(row, col, false, handIdx);
           }
         }
       }
@@ -51,26 +50,17 @@ public class BoardControlStrategy implements Strategy {
     return bestMove;
   }
 
-  private boolean isLegal(Cell[][] board, Player player, Card card, int row, int col) {
-    if (row < 0 || row >= board.length || col < 0 || col >= board[0].length) {
-      return false;
-    }
-    if (board[row][col].getCard() != null) {
-      return false;
-    }
-
-    if (board[row][col].getPawns().isEmpty()) {
-      return false;
-    }
-    if (!board[row][col].getPawns().get(0).getOwner().equals(player)) {
-      return false;
-    }
-    return board[row][col].getPawns().size() >= card.getCost();
-  }
-
   protected Cell[][] testPlacement(Board board, Player player, Card card, int handIdx, int row,
       int col) {
-    Cell[][] copy = board.getCopy();
+    return testPlacement(board.getCopy(), player, card, row, col);
+  }
+
+  /**
+   * Places the card on the given copy of the board and applies its influence.
+   *
+   * @return the copy, or null if the card cannot be placed there.
+   */
+  protected Cell[][] testPlacement(Cell[][] copy, Player player, Card card, int row, int col) {
     try {
       copy[row][col].setCard(card);
       applyInfluenceOnCellArray(player, card, copy, row, col);
@@ -92,8 +82,8 @@ public class BoardControlStrategy implements Strategy {
             ownedCount++;
           }
         } else {
-          if (!board[row][col].getPawns().isEmpty()) {
-            if (board[row][col].getPawns().get(0).getOwner().equals(player)) {
+          if (board[row][col].getPawnCount() > 0) {
+            if (board[row][col].getPawnOwner().equals(player)) {
               ownedCount++;
             }
           }
@@ -122,37 +112,24 @@ public class BoardControlStrategy implements Strategy {
 
   private void applyInfluenceOnCellArray(Player player, Card card, Cell[][] board, int placedRow,
       int placedCol) {
-    Influence[][] grid = card.getInfluenceArray();
-    for (int row = 0; row < 5; row++) {
-      for (int col = 0; col < 5; col++) {
-        boolean influence = grid[row][col].getInfluence();
-        if (!influence) {
-          continue;
-        }
-        int rowOffset = row - 2;
-        int colOffset = col - 2;
-        int targetRow = placedRow + rowOffset;
-        int targetCol = placedCol + colOffset;
-        if (!canApplyInfluence(board, targetRow, targetCol)) {
-          continue;
-        }
-        Cell targetCell = board[targetRow][targetCol];
-        if (targetCell.getCard() != null) {
-          continue;
-        }
-        List<Pawn> pawns = targetCell.getPawns();
-        if (pawns.isEmpty()) {
-          targetCell.addPawn(player);
-        } else {
-          if (pawns.get(0).getOwner() == player) {
-            if (pawns.size() < 3) {
-              targetCell.addPawn(player);
-            }
-          } else {
-            for (Pawn pawn : pawns) {
-              pawn.setOwner(player);
-            }
+    InfluenceMask mask = card.getInfluenceMask();
+    for (int i = 0; i < mask.size(); i++) {
+      int targetRow = placedRow + mask.getRowOffset(i);
+      int targetCol = placedCol + mask.getColOffset(i);
+      if (!canApplyInfluence(board, targetRow, targetCol)) {
+        continue;
+      }
+      Cell targetCell = board[targetRow][targetCol];
+      Player owner = targetCell.getPawnOwner();
+      if (owner == null) {
+        targetCell.addPawn(player);
+      } else {
+        if (owner == player) {
+          if (targetCell.getPawnCount() < 3) {
+            targetCell.addPawn(player);
           }
+        } else {
+          targetCell.setPawnOwner(player);
         }
       }
     }
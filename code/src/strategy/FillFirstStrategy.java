@@ -1,5 +1,6 @@
 package strategy;
 
+import java.util.List;
 import model.Board;
 import model.Player;
 import model.card.Card;
@@ -17,34 +18,17 @@ public class FillFirstStrategy implements Strategy {
     if (board == null || player == null) {
       throw new IllegalArgumentException("Board or player is null");
     }
-    for (int cardIdx = 0; cardIdx < player.getHandSize() - 1; cardIdx++) {
-      Card card = player.getHand().get(cardIdx);
-      for (int row = 0; row < board.getHeight(); row++) {
-        for (int col = 0; col < board.getWidth(); col++) {
-          if (isLegal(board, player, card, row, col)) {
-            return new Move(row, col, false, cardIdx);
-          }
-        }
+    List<Card> hand = player.getHand();
+    int cards = Math.min(player.getHandSize() - 1, hand.size());
+    for (int cardIdx = 0; cardIdx < cards; cardIdx++) {
+      Card card = hand.get(cardIdx);
+      // Squares are numbered left to right, then top down, so the lowest set bit is the first.
+      int first = board.getPlayableCells(player, card.getCost()).nextSetBit(0);
+      if (first >= 0) {
+        return new Move(first / board.getWidth(), first % board.getWidth(), false, cardIdx);
       }
     }
     return new Move(-1, -1, true, -1);
   }
 
-  private boolean isLegal(Board board, Player player, Card card, int row, int col) {
-    if (row < 0 || row >= board.getHeight() || col < 0 || col >= board.getWidth()) {
-      return false;
-    }
-    if (board.getCell(row, col).getCard() != null) {
-      return false;
-    }
-
-    if (board.getCell(row, col).getPawns().isEmpty()) {
-      return false;
-    }
-    if (!board.getCell(row, col).getPawns().get(0).getOwner().equals(player)) {
-      return false;
-    }
-    return board.getCell(row, col).getPawns().size() >= card.getCost();
-  }
-
 }
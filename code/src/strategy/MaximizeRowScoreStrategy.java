@@ -1,5 +1,7 @@
 package strategy;
 
+import java.util.BitSet;
+import java.util.List;
 import model.Board;
 import model.Player;
 import model.card.Card;
@@ -18,18 +20,24 @@ public class MaximizeRowScoreStrategy implements Strategy {
       throw new IllegalArgumentException("Board/player cannot be null.");
     }
     Player opponent = (board.getP1() == player) ? board.getP2() : board.getP1();
+    List<Card> hand = player.getHand();
+    int width = board.getWidth();
+    // Playable squares for each card cost, looked up once rather than per square.
+    BitSet[] playable = new BitSet[4];
     for (int row = 0; row < board.getHeight(); row++) {
       int myScore = board.getRowScore(player, row);
       int oppScore = board.getRowScore(opponent, row);
       if (myScore <= oppScore) {
-        for (int cardIdx = 0; cardIdx < player.getHandSize(); cardIdx++) {
-          Card card = player.getHand().get(cardIdx);
-          for (int col = 0; col < board.getWidth(); col++) {
-            if (isLegal(board, player, card, row, col)) {
-              int newScore = scoreIfPlaced(board, player, card, row);
-              if (newScore > oppScore) {
-                return new Move(row, col, false, cardIdx);
-              }
+        for (int cardIdx = 0; cardIdx < hand.size(); cardIdx++) {
+          Card card = hand.get(cardIdx);
+          if (playable[card.getCost()] == null) {
+            playable[card.getCost()] = board.getPlayableCells(player, card.getCost());
+          }
+          int col = playable[card.getCost()].nextSetBit(row * width) - row * width;
+          if (col >= 0 && col < width) {
+            int newScore = scoreIfPlaced(board, player, card, row);
+            if (newScore > oppScore) {
+              return new Move(row, col, false, cardIdx);
             }
           }
         }
@@ -42,21 +50,4 @@ public class MaximizeRowScoreStrategy implements Strategy {
     int currScore = board.getRowScore(player, row);
     return currScore + card.getValue();
   }
-
-  private boolean isLegal(Board board, Player player, Card card, int row, int col) {
-    if (row < 0 || row >= board.getHeight() || col < 0 || col >= board.getWidth()) {
-      return false;
-    }
-    if (board.getCell(row, col).getCard() != null) {
-      return false;
-    }
-
-    if (board.getCell(row, col).getPawns().isEmpty()) {
-      return false;
-    }
-    if (!board.getCell(row, col).getPawns().get(0).getOwner().equals(player)) {
-      return false;
-    }
-    return board.getCell(row, col).getPawns().size() >= card.getCost();
-  }
 }
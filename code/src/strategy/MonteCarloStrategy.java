@@ -0,0 +1,474 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import model.Board;
+import model.PackedGameBoard;
+import model.Player;
+import model.card.Card;
+
+/**
+ * Strategy implementation that uses Monte Carlo tree search. Each worker of a fork-join pool
+ * repeatedly guesses the cards it cannot see, builds a search tree for that guess using UCT
+ * selection and plays the game out to the end from every new node. When the time budget runs out
+ * the visit counts of the first moves are added up over all trees, and the most visited move is
+ * played.
+ *
+ * <p>The player's own hand and deck are known. The opponent's hand and the order of the opponent's
+ * deck are hidden, so every tree deals the opponent a random hand, of the right size, from all the
+ * opponent's cards that are not on the board yet (determinization). Playouts either pick a random
+ * legal move or play like the FillFirstStrategy, and only pass when they have no legal move.</p>
+ *
+ * <p>Ties between moves with the same number of visits are broken the same way as the other
+ * strategies: the uppermost, then leftmost board position, then the leftmost card.</p>
+ */
+public class MonteCarloStrategy implements Strategy {
+
+  private static final int PASS = -1;
+  private static final double EXPLORATION = Math.sqrt(2);
+  private static final int ITERATIONS_PER_TREE = 2000;
+
+  private final long timeBudgetMillis;
+  private final ForkJoinPool pool;
+  private final boolean guidedPlayouts;
+  private final SplittableRandom seeds;
+
+  /**
+   * Constructor for the strategy, using random playouts and the common fork-join pool.
+   *
+   * @param timeBudgetMillis how long, in milliseconds, each getMove call may search for.
+   * @throws IllegalArgumentException if the budget is not positive.
+   */
+  public MonteCarloStrategy(long timeBudgetMillis) {
+    this(timeBudgetMillis, ForkJoinPool.commonPool(), false, System.nanoTime());
+  }
+
+  /**
+   * Constructor for the strategy.
+   *
+   * @param timeBudgetMillis how long, in milliseconds, each getMove call may search for.
+   * @param pool             the pool to search in; one tree is searched per worker at a time.
+   * @param guidedPlayouts   true to play out games like the FillFirstStrategy, false to play
+   *                         random legal moves.
+   * @param seed             the seed for the random guesses and playouts.
+   * @throws IllegalArgumentException if the budget is not positive or the pool is null.
+   */
+  public MonteCarloStrategy(long timeBudgetMillis, ForkJoinPool pool, boolean guidedPlayouts,
+      long seed) {
+    if (timeBudgetMillis <= 0) {
+      throw new IllegalArgumentException("Time budget must be positive.");
+    }
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null.");
+    }
+    this.timeBudgetMillis = timeBudgetMillis;
+    this.pool = pool;
+    this.guidedPlayouts = guidedPlayouts;
+    this.seeds = new SplittableRandom(seed);
+  }
+
+  @Override
+  public Move getMove(Board board, Player player) {
+    if (board == null || player == null) {
+      throw new IllegalArgumentException("Board/player cannot be null.");
+    }
+    if (board.getTurn() != player.getIsRed()) {
+      return new Move(-1, -1, true, -1);
+    }
+    long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+    PackedGameBoard root = PackedGameBoard.of(board);
+    Player opponent = player.getIsRed() ? board.getP2() : board.getP1();
+    int[] rootMoves = rootMoves(root, player);
+    if (rootMoves.length == 1) {
+      return new Move(-1, -1, true, -1);
+    }
+    List<Callable<long[]>> workers = new ArrayList<>();
+    for (int i = 0; i < pool.getParallelism(); i++) {
+      SplittableRandom random = nextRandom();
+      workers.add(() -> new Worker(root, player, opponent, rootMoves, random, deadline).run());
+    }
+    long[] visits = new long[rootMoves.length];
+    for (Future<long[]> result : pool.invokeAll(workers)) {
+      long[] counts = join(result);
+      for (int i = 0; i < visits.length; i++) {
+        visits[i] += counts[i];
+      }
+    }
+    int best = 0;
+    for (int i = 1; i < rootMoves.length; i++) {
+      if (visits[i] > visits[best]
+          || (visits[i] == visits[best] && breaksTie(rootMoves[i], rootMoves[best]))) {
+        best = i;
+      }
+    }
+    int move = rootMoves[best];
+    if (move == PASS) {
+      return new Move(-1, -1, true, -1);
+    }
+    int cell = cellOf(move);
+    return new Move(cell / board.getWidth(), cell % board.getWidth(), false, handIdxOf(move));
+  }
+
+  private synchronized SplittableRandom nextRandom() {
+    return seeds.split();
+  }
+
+  private static long[] join(Future<long[]> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Search was interrupted.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Search failed.", e.getCause());
+    }
+  }
+
+  /**
+   * Returns every placement the player can make with the cards they will hold when their move is
+   * made, including the card they are about to draw, followed by passing.
+   */
+  private static int[] rootMoves(PackedGameBoard board, Player player) {
+    List<Card> hand = new ArrayList<>(player.getHand());
+    List<Card> deck = player.getDeck();
+    if (hand.size() < player.getHandSize() && !deck.isEmpty()) {
+      hand.add(deck.get(0));
+    }
+    int width = board.getWidth();
+    int cells = width * board.getHeight();
+    List<Integer> moves = new ArrayList<>();
+    for (int handIdx = 0; handIdx < hand.size(); handIdx++) {
+      for (int cell = 0; cell < cells; cell++) {
+        if (board.canPlay(hand.get(handIdx), cell / width, cell % width)) {
+          moves.add(encode(handIdx, cell));
+        }
+      }
+    }
+    moves.add(PASS);
+    int[] result = new int[moves.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = moves.get(i);
+    }
+    return result;
+  }
+
+  private static int encode(int handIdx, int cell) {
+    return (handIdx << 20) | cell;
+  }
+
+  private static int handIdxOf(int move) {
+    return move >>> 20;
+  }
+
+  private static int cellOf(int move) {
+    return move & 0xFFFFF;
+  }
+
+  private static boolean breaksTie(int move, int best) {
+    if (best == PASS) {
+      return true;
+    }
+    if (move == PASS) {
+      return false;
+    }
+    if (cellOf(move) != cellOf(best)) {
+      return cellOf(move) < cellOf(best);
+    }
+    return handIdxOf(move) < handIdxOf(best);
+  }
+
+  /**
+   * A node of a search tree. Wins are counted for the side that made the move leading to the
+   * node, so that a parent can always pick the child that is best for the side to move.
+   */
+  private static final class Node {
+
+    private final int move;
+    private final boolean movedByRed;
+    private final Node parent;
+    private final List<Node> children;
+    private int[] untried;
+    private int untriedCount;
+    private int visits;
+    private double wins;
+
+    private Node(int move, boolean movedByRed, Node parent) {
+      this.move = move;
+      this.movedByRed = movedByRed;
+      this.parent = parent;
+      this.children = new ArrayList<>();
+    }
+
+    private Node select() {
+      double logVisits = Math.log(visits);
+      Node best = null;
+      double bestValue = Double.NEGATIVE_INFINITY;
+      for (Node child : children) {
+        double value = child.wins / child.visits
+            + EXPLORATION * Math.sqrt(logVisits / child.visits);
+        if (value > bestValue) {
+          bestValue = value;
+          best = child;
+        }
+      }
+      return best;
+    }
+  }
+
+  /**
+   * The cards of one side in a guessed deal: the hand, as indexes into the order the side's cards
+   * will be drawn in, and how far into that order the side has drawn.
+   */
+  private static final class Side {
+
+    private final Card[] order;
+    private final int handSize;
+    private final int[] hand;
+    private int handLength;
+    private int drawn;
+
+    private Side(Card[] order, int handLength, int handSize) {
+      this.order = order;
+      this.handSize = handSize;
+      this.hand = new int[Math.max(handSize, handLength) + 1];
+      for (int i = 0; i < handLength; i++) {
+        hand[i] = i;
+      }
+      this.handLength = handLength;
+      this.drawn = handLength;
+    }
+
+    private void copyFrom(Side other) {
+      System.arraycopy(other.hand, 0, hand, 0, other.handLength);
+      handLength = other.handLength;
+      drawn = other.drawn;
+    }
+
+    /**
+     * Draws a card the same way the board does at the start of every turn.
+     */
+    private void drawIfNeeded() {
+      if (handLength < handSize && drawn < order.length) {
+        hand[handLength++] = drawn++;
+      }
+    }
+
+    private Card card(int handIdx) {
+      return order[hand[handIdx]];
+    }
+
+    private void remove(int handIdx) {
+      System.arraycopy(hand, handIdx + 1, hand, handIdx, handLength - handIdx - 1);
+      handLength--;
+    }
+  }
+
+  /**
+   * One worker of a search. Searches a new tree with a new guess for the opponent's cards every
+   * ITERATIONS_PER_TREE iterations, and adds up the visits of the first moves over all its trees.
+   */
+  private final class Worker {
+
+    private final PackedGameBoard board;
+    private final Player player;
+    private final Player opponent;
+    private final int[] rootMoves;
+    private final SplittableRandom random;
+    private final long deadline;
+    private final int width;
+    private final int cells;
+    private final Side[] start;
+    private final Side[] sides;
+
+    private Worker(PackedGameBoard root, Player player, Player opponent, int[] rootMoves,
+        SplittableRandom random, long deadline) {
+      this.board = root.copy();
+      this.player = player;
+      this.opponent = opponent;
+      this.rootMoves = rootMoves;
+      this.random = random;
+      this.deadline = deadline;
+      this.width = root.getWidth();
+      this.cells = root.getWidth() * root.getHeight();
+      this.start = new Side[2];
+      this.sides = new Side[2];
+    }
+
+    private long[] run() {
+      long[] visits = new long[rootMoves.length];
+      do {
+        deal();
+        Node root = new Node(PASS, !board.getTurn(), null);
+        root.untried = rootMoves.clone();
+        root.untriedCount = rootMoves.length;
+        for (int i = 0; i < ITERATIONS_PER_TREE && System.nanoTime() < deadline; i++) {
+          iterate(root);
+        }
+        for (Node child : root.children) {
+          for (int i = 0; i < rootMoves.length; i++) {
+            if (rootMoves[i] == child.move) {
+              visits[i] += child.visits;
+            }
+          }
+        }
+      } while (System.nanoTime() < deadline);
+      return visits;
+    }
+
+    /**
+     * Guesses the opponent's hand and deck order by shuffling all of the opponent's cards that
+     * are not on the board yet.
+     */
+    private void deal() {
+      List<Card> unseen = new ArrayList<>(opponent.getHand());
+      int opponentHand = unseen.size();
+      unseen.addAll(opponent.getDeck());
+      Card[] guess = unseen.toArray(new Card[0]);
+      for (int i = guess.length - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        Card swap = guess[i];
+        guess[i] = guess[j];
+        guess[j] = swap;
+      }
+      List<Card> known = new ArrayList<>(player.getHand());
+      int playerHand = known.size();
+      known.addAll(player.getDeck());
+      Side mine = new Side(known.toArray(new Card[0]), playerHand, player.getHandSize());
+      Side theirs = new Side(guess, opponentHand, opponent.getHandSize());
+      int me = player.getIsRed() ? 0 : 1;
+      start[me] = mine;
+      start[1 - me] = theirs;
+      sides[me] = new Side(mine.order, playerHand, player.getHandSize());
+      sides[1 - me] = new Side(guess, opponentHand, opponent.getHandSize());
+    }
+
+    /**
+     * Runs one iteration: selects a leaf with UCT, expands one of its moves, plays the game out
+     * and backs up the result. The board and hands are put back the way they were afterwards.
+     */
+    private void iterate(Node root) {
+      sides[0].copyFrom(start[0]);
+      sides[1].copyFrom(start[1]);
+      int depthBefore = board.getUndoDepth();
+      Node node = root;
+      while (node.untriedCount == 0 && !node.children.isEmpty()) {
+        node = node.select();
+        make(node.move);
+      }
+      if (!board.isGameOver()) {
+        if (node.untried == null) {
+          node.untried = legalMoves();
+          node.untriedCount = node.untried.length;
+        }
+        if (node.untriedCount > 0) {
+          int pick = random.nextInt(node.untriedCount);
+          int move = node.untried[pick];
+          node.untried[pick] = node.untried[--node.untriedCount];
+          Node child = new Node(move, board.getTurn(), node);
+          node.children.add(child);
+          make(move);
+          node = child;
+        }
+      }
+      double redResult = playOut();
+      while (board.getUndoDepth() > depthBefore) {
+        board.undo();
+      }
+      for (; node != null; node = node.parent) {
+        node.visits++;
+        node.wins += node.movedByRed ? redResult : 1 - redResult;
+      }
+    }
+
+    /**
+     * Plays the game to the end and returns 1 if red won, 0 if blue won and 0.5 for a tie.
+     */
+    private double playOut() {
+      while (!board.isGameOver()) {
+        make(guidedPlayouts ? firstMove() : randomMove());
+      }
+      int red = board.getTotalScore(board.getP1());
+      int blue = board.getTotalScore(board.getP2());
+      return red > blue ? 1 : red < blue ? 0 : 0.5;
+    }
+
+    private int[] legalMoves() {
+      Side side = drawForTurn();
+      int[] moves = new int[side.handLength * cells + 1];
+      int count = 0;
+      for (int handIdx = 0; handIdx < side.handLength; handIdx++) {
+        Card card = side.card(handIdx);
+        for (int cell = 0; cell < cells; cell++) {
+          if (board.canPlay(card, cell / width, cell % width)) {
+            moves[count++] = encode(handIdx, cell);
+          }
+        }
+      }
+      moves[count++] = PASS;
+      int[] result = new int[count];
+      System.arraycopy(moves, 0, result, 0, count);
+      return result;
+    }
+
+    /**
+     * Picks a legal placement uniformly at random, or passes if there is none.
+     */
+    private int randomMove() {
+      Side side = drawForTurn();
+      int chosen = PASS;
+      int seen = 0;
+      for (int handIdx = 0; handIdx < side.handLength; handIdx++) {
+        Card card = side.card(handIdx);
+        for (int cell = 0; cell < cells; cell++) {
+          if (board.canPlay(card, cell / width, cell % width) && random.nextInt(++seen) == 0) {
+            chosen = encode(handIdx, cell);
+          }
+        }
+      }
+      return chosen;
+    }
+
+    /**
+     * Picks the first card that fits anywhere, in the first square it fits in, like the
+     * FillFirstStrategy.
+     */
+    private int firstMove() {
+      Side side = drawForTurn();
+      for (int handIdx = 0; handIdx < side.handLength; handIdx++) {
+        Card card = side.card(handIdx);
+        for (int cell = 0; cell < cells; cell++) {
+          if (board.canPlay(card, cell / width, cell % width)) {
+            return encode(handIdx, cell);
+          }
+        }
+      }
+      return PASS;
+    }
+
+    /**
+     * Returns the side to move, after it has drawn the card it would draw at the start of its
+     * turn. Drawing twice in the same turn has no effect, as the hand is full after the first.
+     */
+    private Side drawForTurn() {
+      Side side = sides[board.getTurn() ? 0 : 1];
+      side.drawIfNeeded();
+      return side;
+    }
+
+    private void make(int move) {
+      Side side = drawForTurn();
+      if (move == PASS) {
+        board.pass();
+        return;
+      }
+      int cell = cellOf(move);
+      board.play(side.card(handIdxOf(move)), cell / width, cell % width);
+      side.remove(handIdxOf(move));
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import model.Board;
+import model.Cell;
+import model.GameCell;
+import model.Player;
+import model.card.Card;
+
+/**
+ * Variant of the BoardControlStrategy that tries its placements on the workers of a fork-join
+ * pool. The board is copied once on the calling thread, and every placement is then tried on a
+ * private copy of that snapshot, so the workers never touch the real board or each other's cells.
+ *
+ * <p>Always picks the same move as the BoardControlStrategy: the placement that leaves the player
+ * owning the most squares, with ties broken by tieBreaker. As that order does not depend on which
+ * worker tried which placement, the result is the same whatever the number of workers.</p>
+ */
+public class ParallelBoardControlStrategy extends BoardControlStrategy {
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructor for the strategy, using the common fork-join pool.
+   */
+  public ParallelBoardControlStrategy() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructor for the strategy.
+   *
+   * @param pool the pool to try placements in; the placements are split over its workers.
+   * @throws IllegalArgumentException if the pool is null.
+   */
+  public ParallelBoardControlStrategy(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null.");
+    }
+    this.pool = pool;
+  }
+
+  @Override
+  public Move getMove(Board board, Player player) {
+    if (board == null || player == null) {
+      throw new IllegalArgumentException("Board/player cannot be null.");
+    }
+    Cell[][] snapshot = copyOf(board.getCopy());
+    List<Card> hand = new ArrayList<>(player.getHand());
+    int width = board.getWidth();
+    // Each candidate is (handIdx, row, col), in the order the BoardControlStrategy tries them.
+    List<int[]> candidates = new ArrayList<>();
+    for (int handIdx = 0; handIdx < hand.size(); handIdx++) {
+      BitSet playable = board.getPlayableCells(player, hand.get(handIdx).getCost());
+      for (int idx = playable.nextSetBit(0); idx >= 0; idx = playable.nextSetBit(idx + 1)) {
+        candidates.add(new int[] {handIdx, idx / width, idx % width});
+      }
+    }
+
+    int workerCount = Math.max(1, Math.min(pool.getParallelism(), candidates.size()));
+    List<Callable<int[]>> workers = new ArrayList<>();
+    for (int i = 0; i < workerCount; i++) {
+      int first = i;
+      workers.add(() -> tryPlacements(snapshot, player, hand, candidates, first, workerCount));
+    }
+    // Results are (owned count, handIdx, row, col), starting from passing.
+    int[] best = {countCellsOwned(snapshot, player), -1, -1, -1};
+    for (Future<int[]> result : pool.invokeAll(workers)) {
+      best = better(best, join(result));
+    }
+    if (best[1] < 0) {
+      return new Move(-1, -1, true, -1);
+    }
+    return new Move(best[2], best[3], false, best[1]);
+  }
+
+  /**
+   * Tries every candidate from first on, stepping by step, and returns the best result found, or
+   * null if none of the placements worked.
+   */
+  private int[] tryPlacements(Cell[][] snapshot, Player player, List<Card> hand,
+      List<int[]> candidates, int first, int step) {
+    int[] best = null;
+    for (int i = first; i < candidates.size(); i += step) {
+      int[] candidate = candidates.get(i);
+      int handIdx = candidate[0];
+      int row = candidate[1];
+      int col = candidate[2];
+      Cell[][] placed = testPlacement(copyOf(snapshot), player, hand.get(handIdx), row, col);
+      if (placed != null) {
+        best = better(best, new int[] {countCellsOwned(placed, player), handIdx, row, col});
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the better of two results: the one owning more squares, or the one that wins the tie
+   * break.
+   */
+  private int[] better(int[] current, int[] other) {
+    if (current == null) {
+      return other;
+    }
+    if (other == null || other[0] < current[0]) {
+      return current;
+    }
+    if (other[0] > current[0]) {
+      return other;
+    }
+    Move currentMove = current[1] < 0 ? new Move(-1, -1, true, -1)
+        : new Move(current[2], current[3], false, current[1]);
+    return tieBreaker(other[2], other[3], other[1], currentMove) ? other : current;
+  }
+
+  private static Cell[][] copyOf(Cell[][] cells) {
+    Cell[][] copy = new Cell[cells.length][];
+    for (int row = 0; row < cells.length; row++) {
+      copy[row] = new Cell[cells[row].length];
+      for (int col = 0; col < cells[row].length; col++) {
+        copy[row][col] = GameCell.copyOf(cells[row][col]);
+      }
+    }
+    return copy;
+  }
+
+  private static int[] join(Future<int[]> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Search was interrupted.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Search failed.", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package strategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size table of search results keyed by position hash, that any number of searches can read
+ * and write at the same time without locking. Each entry is stored as three longs: the key xor-ed
+ * with the two data words, followed by the data words themselves. A reader recomputes the key from
+ * the three words, so an entry that was torn by two writers racing each other is simply treated as
+ * missing.
+ *
+ * <p>When two positions land in the same slot, the new result replaces the old one if the old one
+ * is from an earlier search, belongs to the same position, or was searched less deeply.</p>
+ */
+public final class TranspositionTable {
+
+  /**
+   * The stored score is the exact score of the position.
+   */
+  public static final int EXACT = 0;
+
+  /**
+   * The stored score is a lower bound: the search failed high.
+   */
+  public static final int LOWER = 1;
+
+  /**
+   * The stored score is an upper bound: the search failed low.
+   */
+  public static final int UPPER = 2;
+
+  // Layout of the info word: score in bits 0-31, depth in bits 32-39, flag in bits 40-41,
+  // generation in bits 42-49 and a valid bit at 50 so that an empty slot never looks stored.
+  private static final int DEPTH_SHIFT = 32;
+  private static final int FLAG_SHIFT = 40;
+  private static final int GENERATION_SHIFT = 42;
+  private static final long VALID = 1L << 50;
+
+  private final AtomicLongArray slots;
+  private final int mask;
+  private final AtomicInteger generation;
+
+  /**
+   * Constructor for the table.
+   *
+   * @param sizeLog2 the base two logarithm of the number of entries, from 1 to 26.
+   * @throws IllegalArgumentException if the size is out of range.
+   */
+  public TranspositionTable(int sizeLog2) {
+    if (sizeLog2 < 1 || sizeLog2 > 26) {
+      throw new IllegalArgumentException("Table size must be between 2^1 and 2^26 entries.");
+    }
+    this.slots = new AtomicLongArray(3 << sizeLog2);
+    this.mask = (1 << sizeLog2) - 1;
+    this.generation = new AtomicInteger();
+  }
+
+  /**
+   * Starts a new search, so that results of older searches are replaced first.
+   */
+  public void newSearch() {
+    generation.incrementAndGet();
+  }
+
+  /**
+   * Looks up a position.
+   *
+   * @param key the position hash.
+   * @param out an array of at least two longs, which receives the info word at index 0 and the
+   *            best move at index 1 when the position is found.
+   * @return true if the position was found.
+   */
+  public boolean probe(long key, long[] out) {
+    int slot = slotOf(key);
+    long check = slots.get(slot);
+    long info = slots.get(slot + 1);
+    long move = slots.get(slot + 2);
+    if ((info & VALID) == 0 || (check ^ info ^ move) != key) {
+      return false;
+    }
+    out[0] = info;
+    out[1] = move;
+    return true;
+  }
+
+  /**
+   * Stores the result of searching a position.
+   *
+   * @param key   the position hash.
+   * @param depth the depth the position was searched to, from 0 to 255.
+   * @param flag  EXACT, LOWER or UPPER.
+   * @param score the score of the position.
+   * @param move  the best move found, in the strategy's own encoding.
+   */
+  public void store(long key, int depth, int flag, int score, int move) {
+    int slot = slotOf(key);
+    int current = generation.get() & 0xFF;
+    long oldInfo = slots.get(slot + 1);
+    if ((oldInfo & VALID) != 0 && generationOf(oldInfo) == current
+        && depth < depthOf(oldInfo)
+        && (slots.get(slot) ^ oldInfo ^ slots.get(slot + 2)) != key) {
+      return;
+    }
+    long info = (score & 0xFFFFFFFFL) | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+        | ((long) flag << FLAG_SHIFT) | ((long) current << GENERATION_SHIFT) | VALID;
+    long moveWord = move;
+    slots.set(slot, key ^ info ^ moveWord);
+    slots.set(slot + 1, info);
+    slots.set(slot + 2, moveWord);
+  }
+
+  /**
+   * Returns the score of an info word.
+   *
+   * @param info the info word returned by probe.
+   * @return the stored score.
+   */
+  public static int scoreOf(long info) {
+    return (int) info;
+  }
+
+  /**
+   * Returns the depth of an info word.
+   *
+   * @param info the info word returned by probe.
+   * @return the stored depth.
+   */
+  public static int depthOf(long info) {
+    return (int) (info >>> DEPTH_SHIFT) & 0xFF;
+  }
+
+  /**
+   * Returns the flag of an info word.
+   *
+   * @param info the info word returned by probe.
+   * @return EXACT, LOWER or UPPER.
+   */
+  public static int flagOf(long info) {
+    return (int) (info >>> FLAG_SHIFT) & 0x3;
+  }
+
+  private static int generationOf(long info) {
+    return (int) (info >>> GENERATION_SHIFT) & 0xFF;
+  }
+
+  private int slotOf(long key) {
+    return 3 * (int) ((key ^ (key >>> 32)) & mask);
+  }
+}
@@ -47,7 +47,7 @@ public class AccessiblePawnsBoardGame extends PawnsBoardGame {
 
     highContrastItem.addActionListener(e -> {
       highContrastMode.toggle();
-      boardView.repaint();
+      boardView.invalidateBoard();
       handView.repaint();
       refreshBoard((Board) boardView.getModel(), currentPlayer);
     });
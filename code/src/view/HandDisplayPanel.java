@@ -7,7 +7,10 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.swing.JPanel;
 import model.Player;
 import model.card.Card;
@@ -20,12 +23,24 @@ import model.card.InfluenceKind;
  * This panel draws the player's cards, highlights the selected card in cyan, and also draws the
  * influence grid for each card below the card details.
  * </p>
+ * <p>
+ * Each card is drawn once into an image, kept for as long as the card stays in the hand and the
+ * colour scheme stays the same, so repainting the hand only copies those images.
+ * </p>
  */
 public class HandDisplayPanel extends JPanel {
 
   private static final int INFLUENCE_CELL_SIZE = 12;
+  private static final Font CARD_FONT = new Font("Arial", Font.BOLD, 12);
+  private static final Color CARD_FACE = new Color(240, 240, 240);
+  private static final Color HIGH_CONTRAST_DEVALUE = new Color(160, 32, 240);
   private final PlayerHandView parent;
   private final Player player;
+  // Drawn cards by identity, for the cards shown and the colour scheme they were drawn for. The
+  // hand is the player's own list, so the cards shown are kept to notice when it changes.
+  private Map<Card, BufferedImage> cardImages = new IdentityHashMap<>();
+  private Card[] imagesHand = new Card[0];
+  private boolean imagesHighContrast;
 
   /**
    * Constructor for the hand display panel. Is unique based on each player.
@@ -63,6 +78,9 @@ public class HandDisplayPanel extends JPanel {
     List<Card> hand = parent.getPlayerHand();
     int selectedIndex = parent.getSelectedCardIndx();
     int cardsToDisplay = Math.min(hand.size(), PlayerHandView.MAX_HAND_SIZE);
+    if (!isShown(hand, cardsToDisplay) || isHighContrast != imagesHighContrast) {
+      keepCardImages(hand, cardsToDisplay, isHighContrast);
+    }
 
     for (int i = 0; i < cardsToDisplay; i++) {
       int x = startX + i * (PlayerHandView.CARD_WIDTH + PlayerHandView.CARD_SPACING);
@@ -80,21 +98,72 @@ public class HandDisplayPanel extends JPanel {
         g2d.fillRect(x - 3, y - 3, PlayerHandView.CARD_WIDTH + 6, PlayerHandView.CARD_HEIGHT + 6);
       }
 
-      g2d.setColor(isHighContrast ? Color.BLACK : new Color(240, 240, 240));
-      g2d.fillRect(x, y, PlayerHandView.CARD_WIDTH, PlayerHandView.CARD_HEIGHT);
+      g2d.drawImage(cardImage(card, g2d, isHighContrast, highContrastMode), x, y, null);
+    }
+    g2d.dispose();
+  }
 
-      g2d.setColor(isHighContrast ? Color.WHITE : Color.BLACK);
-      g2d.drawRect(x, y, PlayerHandView.CARD_WIDTH, PlayerHandView.CARD_HEIGHT);
+  /**
+   * Drops the drawn cards that are no longer in the hand, or all of them when the colour scheme
+   * changed.
+   */
+  private void keepCardImages(List<Card> hand, int cardsToDisplay, boolean isHighContrast) {
+    Map<Card, BufferedImage> kept = new IdentityHashMap<>();
+    if (isHighContrast == imagesHighContrast) {
+      for (int i = 0; i < cardsToDisplay; i++) {
+        BufferedImage image = cardImages.get(hand.get(i));
+        if (image != null) {
+          kept.put(hand.get(i), image);
+        }
+      }
+    }
+    cardImages = kept;
+    imagesHand = hand.subList(0, cardsToDisplay).toArray(new Card[0]);
+    imagesHighContrast = isHighContrast;
+  }
 
-      g2d.setFont(new Font("Arial", Font.BOLD, 12));
-      g2d.setColor(isHighContrast ? Color.WHITE : Color.BLACK);
-      g2d.drawString(card.getName(), x + 5, y + 15);
-      g2d.drawString("Cost: " + card.getCost(), x + 5, y + 30);
-      g2d.drawString("Value: " + card.getValue(), x + 5, y + 45);
+  private boolean isShown(List<Card> hand, int cardsToDisplay) {
+    if (imagesHand.length != cardsToDisplay) {
+      return false;
+    }
+    for (int i = 0; i < cardsToDisplay; i++) {
+      if (imagesHand[i] != hand.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
 
-      drawInfluenceGrid(g2d, card, x + 5, y + 50, isHighContrast, highContrastMode);
+  /**
+   * Returns the image of a card, drawing it the first time it is asked for.
+   */
+  private BufferedImage cardImage(Card card, Graphics2D g2d, boolean isHighContrast,
+      HighContrastMode highContrastMode) {
+    BufferedImage image = cardImages.get(card);
+    if (image != null) {
+      return image;
     }
-    g2d.dispose();
+    // The border is drawn along the right and bottom edges, one pixel outside the card.
+    image = new BufferedImage(PlayerHandView.CARD_WIDTH + 1, PlayerHandView.CARD_HEIGHT + 1,
+        BufferedImage.TYPE_INT_ARGB);
+    Graphics2D cardG2d = image.createGraphics();
+    cardG2d.setRenderingHints(g2d.getRenderingHints());
+
+    cardG2d.setColor(isHighContrast ? Color.BLACK : CARD_FACE);
+    cardG2d.fillRect(0, 0, PlayerHandView.CARD_WIDTH, PlayerHandView.CARD_HEIGHT);
+
+    cardG2d.setColor(isHighContrast ? Color.WHITE : Color.BLACK);
+    cardG2d.drawRect(0, 0, PlayerHandView.CARD_WIDTH, PlayerHandView.CARD_HEIGHT);
+
+    cardG2d.setFont(CARD_FONT);
+    cardG2d.drawString(card.getName(), 5, 15);
+    cardG2d.drawString("Cost: " + card.getCost(), 5, 30);
+    cardG2d.drawString("Value: " + card.getValue(), 5, 45);
+
+    drawInfluenceGrid(cardG2d, card, 5, 50, isHighContrast, highContrastMode);
+    cardG2d.dispose();
+    cardImages.put(card, image);
+    return image;
   }
 
   private void drawInfluenceGrid(Graphics2D g2d, Card card, int startX, int startY,
@@ -123,7 +192,7 @@ public class HandDisplayPanel extends JPanel {
                 cellColor = Color.GREEN;
                 break;
               case DEVALUE:
-                cellColor = new Color(160, 32, 240);
+                cellColor = HIGH_CONTRAST_DEVALUE;
                 break;
               default:
                 cellColor = Color.DARK_GRAY;
@@ -2,9 +2,8 @@ package view;
 
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
-import model.Cell;
+import model.BoardState;
 import model.ReadOnlyBoard;
 
 /**
@@ -13,6 +12,9 @@ import model.ReadOnlyBoard;
 public class ModifierOverlayBoardView extends UpdatedPawnsBoardView {
 
   private static final int CELL_SIZE = 100;
+  private static final Font MODIFIER_FONT = new Font("Arial", Font.BOLD, 18);
+  private static final Color RAISED = new Color(0, 128, 0);
+  private static final Color LOWERED = new Color(160, 30, 240);
 
   /**
    * Constructor for the view.
@@ -24,37 +26,23 @@ public class ModifierOverlayBoardView extends UpdatedPawnsBoardView {
   }
 
   @Override
-  public void paintComponent(Graphics g) {
-    super.paintComponent(g);
+  protected void paintCell(Graphics2D g2, BoardState state, int row, int col) {
+    super.paintCell(g2, state, row, col);
 
     if (getHighContrastMode().isEnabled()) {
       return;
     }
 
-    Graphics2D g2 = (Graphics2D) g.create();
-    g2.scale(getScaleFactor(), getScaleFactor());
-    g2.setFont(new Font("Arial", Font.BOLD, 18));
-
-    ReadOnlyBoard board = getBoard();
-    for (int r = 0; r < board.getHeight(); r++) {
-      for (int c = 0; c < board.getWidth(); c++) {
-        Cell cell = board.getCell(r, c);
-        int mod = cell.getValueModifier();
-        if (mod == 0) {
-          continue;
-        }
-
-        g2.setColor(mod > 0 ? new Color(0, 128, 0)
-            : new Color(160, 30, 240));
-
-        String label = (mod > 0 ? "+" : "") + mod;
-        int x = c * CELL_SIZE + CELL_SIZE - 28;
-        int y = r * CELL_SIZE + CELL_SIZE - 8;
-        g2.drawString(label, x, y);
-      }
+    int mod = state.getCell(row, col).getValueModifier();
+    if (mod == 0) {
+      return;
     }
-    g2.dispose();
-  }
-
+    g2.setFont(MODIFIER_FONT);
+    g2.setColor(mod > 0 ? RAISED : LOWERED);
 
+    String label = (mod > 0 ? "+" : "") + mod;
+    int x = col * CELL_SIZE + CELL_SIZE - 28;
+    int y = row * CELL_SIZE + CELL_SIZE - 8;
+    g2.drawString(label, x, y);
+  }
 }
@@ -71,13 +71,11 @@ public class PawnsBoardGame extends JFrame implements PawnsBoardViewInterface {
 
   @Override
   public void refreshBoard(Board board, Player player) {
-    // Update all panels clearly
-    boardView.repaint();
-    handView.updateHand(player.getHand());
+    // The board view repaints the squares that changed by itself, as the board tells it about them.
+    handView.updateHand(board.getState().getHand(player));
     redScorePanel.repaint();
     blueScorePanel.repaint();
     this.setTitle(board.getTurn() ? "red" : "blue");
-    this.repaint();
   }
 
   @Override
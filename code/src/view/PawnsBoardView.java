@@ -1,18 +1,24 @@
 package view;
 
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
 import java.util.List;
 import javax.swing.JPanel;
+import model.BoardListener;
+import model.BoardState;
 import model.Player;
 import model.ReadOnlyBoard;
 import model.card.Card;
@@ -20,6 +26,15 @@ import model.card.Pawn;
 
 /**
  * JPanel for rendering a responsive Pawns game board.
+ *
+ * <p>The board is drawn into an offscreen image at the panel's current scale, on top of a cached
+ * background holding the static parts like the grid lines. Every paint reads the board's latest
+ * published BoardState, so a move made on another thread while painting never shows half done,
+ * and only redraws the squares whose cells differ from the state last drawn. The panel listens to
+ * the board to repaint only the part of the screen a move changed; anything else that needs
+ * painting is copied from the image. Subclasses draw squares through paintCellBackground and
+ * paintCell, and call invalidateBoard when something that changes how every square looks, like
+ * the colour scheme, changes.</p>
  */
 public class PawnsBoardView extends JPanel {
 
@@ -27,10 +42,23 @@ public class PawnsBoardView extends JPanel {
   private static final int CARD_PADDING = 10;
   private static final int PAWN_SIZE = 20;
   private static final int PAWN_SPACING = 5;
+  private static final Color HIGHLIGHT = new Color(173, 216, 230, 120);
+  private static final BasicStroke GRID_STROKE = new BasicStroke(1.5f);
   private final ReadOnlyBoard model;
   protected Point highlightedCell; // Changed to protected for subclass access
   private double scaleFactor;
   private CellClickListener cellClickListener;
+  // Squares whose look changed in the view itself, like the highlight, since the last paint, as
+  // row * width + col. Only touched while holding the lock on it.
+  private final BitSet dirtyCells = new BitSet();
+  // Squares changed by the move being made, repainted once the move is done and its state is
+  // published. Marked from the thread making the move, so only touched while holding the lock on it.
+  private final BitSet movedCells = new BitSet();
+  // The board as last drawn, the state it shows, and the static background it was drawn on, at
+  // the current scale. The images are null when they must be drawn again from scratch.
+  private BufferedImage boardImage;
+  private BufferedImage background;
+  private BoardState drawnState;
 
   /**
    * Constructs a responsive PawnsBoardView.
@@ -53,6 +81,25 @@ public class PawnsBoardView extends JPanel {
       }
     });
 
+    model.addListener(new BoardListener() {
+      @Override
+      public void cellChanged(int row, int col) {
+        synchronized (movedCells) {
+          movedCells.set(row * model.getWidth() + col);
+        }
+      }
+
+      @Override
+      public void turnChanged(boolean redTurn) {
+        repaintMovedCells();
+      }
+
+      @Override
+      public void gameOver() {
+        repaintMovedCells();
+      }
+    });
+
     updateScaleFactor();
   }
 
@@ -69,7 +116,7 @@ public class PawnsBoardView extends JPanel {
     double scaleX = (double) getWidth() / (model.getWidth() * CELL_SIZE);
     double scaleY = (double) getHeight() / (model.getHeight() * CELL_SIZE);
     scaleFactor = Math.min(scaleX, scaleY);
-    repaint();
+    invalidateBoard();
   }
 
   private void processClick(MouseEvent e) {
@@ -78,35 +125,180 @@ public class PawnsBoardView extends JPanel {
 
     if (row >= 0 && row < model.getHeight() && col >= 0 && col < model.getWidth()) {
       // If the cell is already highlighted, unhighlight it.
-      if (highlightedCell != null && highlightedCell.equals(new Point(col, row))) {
-        highlightedCell = null;
+      if (isHighlighted(row, col)) {
+        setHighlight(null);
       } else {
-        highlightedCell = new Point(col, row);
+        setHighlight(new Point(col, row));
       }
-      repaint();
       if (cellClickListener != null) {
         cellClickListener.onCellClicked(row, col);
       }
     }
   }
 
+  /**
+   * Marks a square as changed and repaints its part of the panel. May be called from any thread.
+   *
+   * @param row the row of the square.
+   * @param col the column of the square.
+   */
+  protected void markDirty(int row, int col) {
+    synchronized (dirtyCells) {
+      dirtyCells.set(row * model.getWidth() + col);
+    }
+    Rectangle bounds = cellBounds(row, col);
+    repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+  }
+
+  private void repaintMovedCells() {
+    BitSet moved;
+    synchronized (movedCells) {
+      if (movedCells.isEmpty()) {
+        return;
+      }
+      moved = (BitSet) movedCells.clone();
+      movedCells.clear();
+    }
+    int width = model.getWidth();
+    for (int idx = moved.nextSetBit(0); idx >= 0; idx = moved.nextSetBit(idx + 1)) {
+      Rectangle bounds = cellBounds(idx / width, idx % width);
+      repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+  }
+
+  /**
+   * Throws away the drawn board so every square is drawn again on the next paint, and repaints
+   * the whole panel. Called when the size or the look of the board changes.
+   */
+  protected void invalidateBoard() {
+    boardImage = null;
+    background = null;
+    repaint();
+  }
+
   @Override
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
-    Graphics2D g2d = (Graphics2D) g;
+    int width = (int) Math.ceil(model.getWidth() * CELL_SIZE * scaleFactor);
+    int height = (int) Math.ceil(model.getHeight() * CELL_SIZE * scaleFactor);
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+    BoardState state = model.getState();
+    if (boardImage == null || boardImage.getWidth() != width
+        || boardImage.getHeight() != height) {
+      drawWholeBoard(state, width, height);
+    } else {
+      drawChangedCells(state);
+    }
+    drawnState = state;
+    g.drawImage(boardImage, 0, 0, null);
+  }
 
-    AffineTransform original = g2d.getTransform();
+  private void drawWholeBoard(BoardState state, int width, int height) {
+    background = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D bg = background.createGraphics();
+    bg.scale(scaleFactor, scaleFactor);
+    paintBackground(bg);
+    bg.dispose();
+
+    boardImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    synchronized (dirtyCells) {
+      dirtyCells.clear();
+    }
+    Graphics2D g2d = boardImage.createGraphics();
+    g2d.drawImage(background, 0, 0, null);
+    g2d.scale(scaleFactor, scaleFactor);
+    for (int row = 0; row < model.getHeight(); row++) {
+      for (int col = 0; col < model.getWidth(); col++) {
+        drawCell(g2d, state, row, col, false);
+      }
+    }
+    g2d.dispose();
+  }
+
+  /**
+   * Draws again the squares marked dirty in the view and the squares whose cells are not the same
+   * in the given state as in the state last drawn.
+   */
+  private void drawChangedCells(BoardState state) {
+    BitSet dirty;
+    synchronized (dirtyCells) {
+      dirty = (BitSet) dirtyCells.clone();
+      dirtyCells.clear();
+    }
+    int width = model.getWidth();
+    if (state != drawnState) {
+      for (int row = 0; row < state.getHeight(); row++) {
+        if (state.isSameRow(drawnState, row)) {
+          continue;
+        }
+        for (int col = 0; col < width; col++) {
+          if (state.getCell(row, col) != drawnState.getCell(row, col)) {
+            dirty.set(row * width + col);
+          }
+        }
+      }
+    }
+    if (dirty.isEmpty()) {
+      return;
+    }
+    Graphics2D g2d = boardImage.createGraphics();
     g2d.scale(scaleFactor, scaleFactor);
+    for (int idx = dirty.nextSetBit(0); idx >= 0; idx = dirty.nextSetBit(idx + 1)) {
+      drawCell(g2d, state, idx / width, idx % width, true);
+    }
+    g2d.dispose();
+  }
 
-    drawGrid(g2d);
-    drawBoardContent(g2d);
+  /**
+   * Draws one square of the board image, clipped to the square.
+   *
+   * @param g2d               graphics for the board image at the board's scale.
+   * @param restoreBackground true to first put back the background under the square, when the
+   *                          square was drawn before.
+   */
+  private void drawCell(Graphics2D g2d, BoardState state, int row, int col,
+      boolean restoreBackground) {
+    Graphics2D cell = (Graphics2D) g2d.create();
+    cell.clipRect(col * CELL_SIZE, row * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+    if (restoreBackground) {
+      // The clip stays where it is on the image when the scale is taken away, so the background
+      // is copied pixel for pixel under exactly the square.
+      AffineTransform scaled = cell.getTransform();
+      cell.setTransform(new AffineTransform());
+      cell.setComposite(AlphaComposite.Src);
+      cell.drawImage(background, 0, 0, null);
+      cell.setComposite(AlphaComposite.SrcOver);
+      cell.setTransform(scaled);
+    }
+    paintCellBackground(cell, row, col);
+    paintCell(cell, state, row, col);
+    cell.dispose();
+  }
 
-    g2d.setTransform(original);
+  /**
+   * Returns the part of the panel a square covers, in screen pixels, rounded outwards.
+   */
+  private Rectangle cellBounds(int row, int col) {
+    int x0 = (int) Math.floor(col * CELL_SIZE * scaleFactor);
+    int y0 = (int) Math.floor(row * CELL_SIZE * scaleFactor);
+    int x1 = (int) Math.ceil((col + 1) * CELL_SIZE * scaleFactor);
+    int y1 = (int) Math.ceil((row + 1) * CELL_SIZE * scaleFactor);
+    return new Rectangle(x0, y0, x1 - x0, y1 - y0);
   }
 
-  private void drawGrid(Graphics2D g2d) {
+  /**
+   * Paints the parts of the board that never change during a game, in board coordinates where a
+   * square is getCellSize() wide. Painted once per size of the panel.
+   *
+   * @param g2d the graphics to paint with.
+   */
+  protected void paintBackground(Graphics2D g2d) {
+    g2d.setColor(getBackground());
+    g2d.fillRect(0, 0, model.getWidth() * CELL_SIZE, model.getHeight() * CELL_SIZE);
     g2d.setColor(Color.BLACK);
-    g2d.setStroke(new BasicStroke(1.5f));
+    g2d.setStroke(GRID_STROKE);
 
     for (int i = 0; i <= model.getHeight(); i++) {
       g2d.drawLine(0, i * CELL_SIZE, model.getWidth() * CELL_SIZE, i * CELL_SIZE);
@@ -116,30 +308,63 @@ public class PawnsBoardView extends JPanel {
     }
   }
 
-  private void drawBoardContent(Graphics2D g2d) {
-    for (int row = 0; row < model.getHeight(); row++) {
-      for (int col = 0; col < model.getWidth(); col++) {
-        drawCellHighlight(g2d, row, col);
-        drawCardIfPresent(g2d, row, col);
-        drawPawnsIfPresent(g2d, row, col);
-      }
+  /**
+   * Paints the background of a square that depends on its state, like its highlight, in board
+   * coordinates and clipped to the square.
+   *
+   * @param g2d the graphics to paint with.
+   * @param row the row of the square.
+   * @param col the column of the square.
+   */
+  protected void paintCellBackground(Graphics2D g2d, int row, int col) {
+    if (isHighlighted(row, col)) {
+      g2d.setColor(HIGHLIGHT);
+      g2d.fillRect(col * CELL_SIZE, row * CELL_SIZE, CELL_SIZE, CELL_SIZE);
     }
   }
 
-  private void drawCellHighlight(Graphics2D g2d, int row, int col) {
-    if (highlightedCell != null && highlightedCell.equals(new Point(col, row))) {
-      g2d.setColor(new Color(173, 216, 230, 120));
-      g2d.fillRect(col * CELL_SIZE, row * CELL_SIZE, CELL_SIZE, CELL_SIZE);
-    }
+  /**
+   * Paints the contents of a square, in board coordinates and clipped to the square.
+   *
+   * @param g2d   the graphics to paint with.
+   * @param state the state of the board being painted, to read the square from.
+   * @param row   the row of the square.
+   * @param col   the column of the square.
+   */
+  protected void paintCell(Graphics2D g2d, BoardState state, int row, int col) {
+    drawCardIfPresent(g2d, state, row, col);
+    drawPawnsIfPresent(g2d, state, row, col);
   }
 
   public void highlightCell(int row, int col) {
-    highlightedCell = new Point(col, row);
-    repaint();
+    setHighlight(new Point(col, row));
+  }
+
+  private void setHighlight(Point cell) {
+    Point old = highlightedCell;
+    highlightedCell = cell;
+    if (old != null) {
+      markDirty(old.y, old.x);
+    }
+    if (cell != null) {
+      markDirty(cell.y, cell.x);
+    }
+  }
+
+  /**
+   * Checks if a cell is currently highlighted.
+   *
+   * @param row the row to check
+   * @param col the column to check
+   * @return true if the cell is highlighted, false otherwise
+   */
+  protected boolean isHighlighted(int row, int col) {
+    Point cell = highlightedCell;
+    return cell != null && cell.x == col && cell.y == row;
   }
 
-  private void drawCardIfPresent(Graphics2D g2d, int row, int col) {
-    Card card = model.getCardAt(row, col);
+  private void drawCardIfPresent(Graphics2D g2d, BoardState state, int row, int col) {
+    Card card = state.getCardAt(row, col);
     if (card != null) {
       int x = col * CELL_SIZE + CARD_PADDING;
       int y = row * CELL_SIZE + CARD_PADDING;
@@ -151,8 +376,8 @@ public class PawnsBoardView extends JPanel {
     }
   }
 
-  private void drawPawnsIfPresent(Graphics2D g2d, int row, int col) {
-    List<Pawn> pawns = model.getPawnsAt(row, col);
+  private void drawPawnsIfPresent(Graphics2D g2d, BoardState state, int row, int col) {
+    List<Pawn> pawns = state.getPawnsAt(row, col);
     if (!pawns.isEmpty()) {
       int startX = col * CELL_SIZE + PAWN_SPACING;
       int startY = row * CELL_SIZE + (2 * CELL_SIZE / 3) + PAWN_SPACING;
@@ -7,6 +7,7 @@ import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import javax.swing.JPanel;
+import model.BoardState;
 import model.Player;
 import model.ReadOnlyBoard;
 
@@ -43,7 +44,9 @@ public class ScorePanel extends JPanel {
 
     int width = getWidth();
     int height = getHeight();
-    int rows = model.getHeight();
+    // Read one state, so the total always matches the row scores next to it.
+    BoardState state = model.getState();
+    int rows = state.getHeight();
 
     int rowHeight = height / (rows + 1);  // one extra for total score
     int fontSize = rowHeight / 3;         // dynamically sized font
@@ -52,14 +55,14 @@ public class ScorePanel extends JPanel {
     FontMetrics fm = g2d.getFontMetrics();
 
     // Draw total score clearly
-    String cumulativeScore = String.valueOf(model.getTotalScore(player));
+    String cumulativeScore = String.valueOf(state.getTotalScore(player));
     int totalWidth = fm.stringWidth(cumulativeScore);
     g2d.setColor(player.getIsRed() ? Color.RED : Color.BLUE);
     g2d.drawString(cumulativeScore, (width - totalWidth) / 2, fm.getAscent() + 5);
 
     // Clearly draw dynamic row scores
     for (int row = 0; row < rows; row++) {
-      String scoreText = String.valueOf(model.getRowScore(player, row));
+      String scoreText = String.valueOf(state.getRowScore(player, row));
       double yPosition = (row + 0.5) * rowHeight;
 
       double textWidth = fm.stringWidth(scoreText);
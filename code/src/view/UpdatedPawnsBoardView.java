@@ -2,11 +2,10 @@ package view;
 
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
-import java.awt.geom.AffineTransform;
 import java.util.List;
+import model.BoardState;
 import model.Cell;
 import model.ReadOnlyBoard;
 import model.card.Card;
@@ -18,6 +17,8 @@ import model.card.Pawn;
 public class UpdatedPawnsBoardView extends PawnsBoardView {
 
   private static final int CELL_SIZE = 100;
+  private static final Font CELL_FONT = new Font("Arial", Font.BOLD, 16);
+  private static final Font MODIFIER_FONT = new Font("Arial", Font.BOLD, 18);
   private final ReadOnlyBoard board;
   private HighContrastMode highContrastMode;
 
@@ -33,76 +34,49 @@ public class UpdatedPawnsBoardView extends PawnsBoardView {
   }
 
   @Override
-  public void paintComponent(Graphics g) {
+  protected void paintBackground(Graphics2D g2) {
     if (!highContrastMode.isEnabled()) {
-      super.paintComponent(g);
+      super.paintBackground(g2);
       return;
     }
+    // Fill background with black
+    g2.setColor(Color.BLACK);
+    g2.fillRect(0, 0, board.getWidth() * CELL_SIZE, board.getHeight() * CELL_SIZE);
+  }
 
-    Graphics2D g2 = (Graphics2D) g;
-    AffineTransform original = g2.getTransform();
-    double scaleX = (double) getWidth() / (board.getWidth() * CELL_SIZE);
-    double scaleY = (double) getHeight() / (board.getHeight() * CELL_SIZE);
-    double scale = Math.min(scaleX, scaleY);
-    g2.scale(scale, scale);
-
-    // Paint with high contrast colors
-    paintHighContrast(g2);
-
-    g2.setFont(new Font("Arial", Font.BOLD, 18));
-    for (int row = 0; row < board.getHeight(); row++) {
-      for (int col = 0; col < board.getWidth(); col++) {
-        Cell cell = board.getCell(row, col);
-        int mod = cell.getValueModifier();
-        if (mod == 0) {
-          continue;
-        }
-
-        // Use high contrast colors for modifiers
-        g2.setColor(mod > 0 ? highContrastMode.getPlayerColor(true) :
-            highContrastMode.getPlayerColor(false));
-
-        String string = (mod > 0 ? "+" : "-") + mod;
-        int x = col * CELL_SIZE + CELL_SIZE - 28;
-        int y = row * CELL_SIZE + CELL_SIZE - 8;
-        g2.drawString(string, x, y);
-      }
+  @Override
+  protected void paintCellBackground(Graphics2D g2, int row, int col) {
+    if (!highContrastMode.isEnabled()) {
+      super.paintCellBackground(g2, row, col);
+      return;
     }
-    g2.setTransform(original);
+    int x = col * CELL_SIZE;
+    int y = row * CELL_SIZE;
+    // Get appropriate colors from high contrast mode
+    g2.setColor(highContrastMode.getCellBackgroundColor(isHighlighted(row, col)));
+    g2.fillRect(x, y, CELL_SIZE, CELL_SIZE);
+    g2.setColor(Color.GRAY);
+    g2.drawRect(x, y, CELL_SIZE, CELL_SIZE);
   }
 
-  /**
-   * Paints the board using high contrast colors.
-   *
-   * @param g2 the graphics context
-   */
-  private void paintHighContrast(Graphics2D g2) {
-    // Fill background with black
-    g2.setColor(Color.BLACK);
-    g2.fillRect(0, 0, getWidth(), getHeight());
-
-    // Draw cells with high contrast colors
-    for (int row = 0; row < board.getHeight(); row++) {
-      for (int col = 0; col < board.getWidth(); col++) {
-        Cell cell = board.getCell(row, col);
-        int x = col * CELL_SIZE;
-        int y = row * CELL_SIZE;
-
-        // Determine if cell is highlighted
-        boolean isHighlighted = isHighlighted(row, col);
-
-        // Get appropriate colors from high contrast mode
-        Color bgColor = highContrastMode.getCellBackgroundColor(isHighlighted);
-
-        // Draw cell background
-        g2.setColor(bgColor);
-        g2.fillRect(x, y, CELL_SIZE, CELL_SIZE);
-        g2.setColor(Color.GRAY);
-        g2.drawRect(x, y, CELL_SIZE, CELL_SIZE);
-
-        // Draw cell contents
-        drawCellContents(g2, cell, x, y, isHighlighted);
-      }
+  @Override
+  protected void paintCell(Graphics2D g2, BoardState state, int row, int col) {
+    if (!highContrastMode.isEnabled()) {
+      super.paintCell(g2, state, row, col);
+      return;
+    }
+    Cell cell = state.getCell(row, col);
+    drawCellContents(g2, cell, col * CELL_SIZE, row * CELL_SIZE);
+
+    int mod = cell.getValueModifier();
+    if (mod != 0) {
+      // Use high contrast colors for modifiers
+      g2.setFont(MODIFIER_FONT);
+      g2.setColor(highContrastMode.getPlayerColor(mod > 0));
+      String string = (mod > 0 ? "+" : "-") + mod;
+      int x = col * CELL_SIZE + CELL_SIZE - 28;
+      int y = row * CELL_SIZE + CELL_SIZE - 8;
+      g2.drawString(string, x, y);
     }
   }
 
@@ -113,13 +87,12 @@ public class UpdatedPawnsBoardView extends PawnsBoardView {
    * @param cell          the cell to draw
    * @param x             the x coordinate
    * @param y             the y coordinate
-   * @param isHighlighted whether the cell is highlighted
    */
-  private void drawCellContents(Graphics2D g2, Cell cell, int x, int y, boolean isHighlighted) {
+  private void drawCellContents(Graphics2D g2, Cell cell, int x, int y) {
     Card card = cell.getCard();
     List<Pawn> pawns = cell.getPawns();
 
-    g2.setFont(new Font("Arial", Font.BOLD, 16));
+    g2.setFont(CELL_FONT);
 
     if (card != null) {
       // Draw card
@@ -145,20 +118,6 @@ public class UpdatedPawnsBoardView extends PawnsBoardView {
     }
   }
 
-  /**
-   * Checks if a cell is currently highlighted.
-   *
-   * @param row the row to check
-   * @param col the column to check
-   * @return true if the cell is highlighted, false otherwise
-   */
-  private boolean isHighlighted(int row, int col) {
-    Point highlightedCell = getHighlightedCell();
-    return highlightedCell != null &&
-        highlightedCell.x == col &&
-        highlightedCell.y == row;
-  }
-
   /**
    * Gets the currently highlighted cell from the parent class.
    *
@@ -189,6 +148,6 @@ public class UpdatedPawnsBoardView extends PawnsBoardView {
    */
   public void setHighContrastMode(HighContrastMode mode) {
     this.highContrastMode = mode;
-    repaint();
+    invalidateBoard();
   }
 }
\ No newline at end of file
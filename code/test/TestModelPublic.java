@@ -1,24 +1,64 @@
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import model.Board;
+import model.BoardListener;
+import model.BoardSnapshot;
+import model.BoardState;
 import model.Cell;
 import model.GameBoard;
 import model.GameCell;
+import model.PackedGameBoard;
 import model.Player;
 import model.SimplePlayer;
+import model.UpdatedGameBoard;
+import model.card.CachingReader;
 import model.card.Card;
+import model.card.CardDefinition;
+import model.card.DeckCompiler;
 import model.card.DeckReader;
 import model.card.GameCard;
 import model.card.Influence;
+import model.card.InfluenceKind;
+import model.card.MappedDeckReader;
 import model.card.Pawn;
+import model.card.Reader;
+import model.card.SimpleInfluence;
+import model.card.StreamingDeckReader;
+import model.record.GameLogReader;
+import model.record.GameLogWriter;
+import model.record.GameRecord;
+import model.record.GameRecorder;
+import model.record.ReplayEngine;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import provider.model.ModelAdapter;
+import provider.model.PlayerEnum;
+import provider.model.ProviderCard;
+import provider.model.ProviderCell;
+import provider.model.ReadonlyPawnsBoardModel;
+import strategy.AlphaBetaStrategy;
+import strategy.FillFirstStrategy;
+import strategy.MaximizeRowScoreStrategy;
+import strategy.Move;
+import strategy.Strategy;
 import view.SimpleTextualView;
 import view.TextualView;
 
@@ -200,6 +240,28 @@ public class TestModelPublic {
     assertEquals(1, anotherCell.getPawns().size());
   }
 
+  @Test
+  public void testSetPawnOwnerFlipsEveryPawn() {
+    Cell cell = new GameCell();
+    Player red = new SimplePlayer(3, true);
+    Player blue = new SimplePlayer(3, false);
+    cell.addPawn(red);
+    cell.addPawn(red);
+    List<Pawn> pawns = cell.getPawns();
+    cell.setPawnOwner(blue);
+    assertEquals(blue, cell.getPawnOwner());
+    assertEquals(2, cell.getPawnCount());
+    for (Pawn pawn : pawns) {
+      assertEquals(blue, pawn.getOwner());
+    }
+    cell.addPawn(blue);
+    assertEquals(3, pawns.size());
+    cell.clearPawns();
+    Assert.assertNull(cell.getPawnOwner());
+    assertEquals(0, pawns.size());
+    Assert.assertThrows(IllegalStateException.class, () -> cell.setPawnOwner(red));
+  }
+
   @Test
   public void testGetPawns() {
     Influence[][] influences = new Influence[5][5];
@@ -429,6 +491,161 @@ public class TestModelPublic {
     assertEquals(2, deck.get(1).getCost());
   }
 
+  @Test
+  public void testStreamingDeckReaderMatchesDeckReader() {
+    DeckReader deckReader = new DeckReader();
+    StreamingDeckReader streamingReader = new StreamingDeckReader();
+    for (String name : Arrays.asList("deck.config", "newRulesDeck.config")) {
+      String path = "docs" + File.separator + name;
+      assertSameCards(deckReader.readDeck(path), streamingReader.readDeck(path));
+      assertSameCards(deckReader.readDeckReverse(path), streamingReader.readDeckReverse(path));
+    }
+  }
+
+  @Test
+  public void testCompiledDeckMatchesDeckFile() throws IOException {
+    File compiled = File.createTempFile("compiled", MappedDeckReader.EXTENSION);
+    compiled.deleteOnExit();
+    DeckReader deckReader = new DeckReader();
+    MappedDeckReader mappedReader = new MappedDeckReader();
+    for (String name : Arrays.asList("deck.config", "newRulesDeck.config")) {
+      String path = "docs" + File.separator + name;
+      DeckCompiler.compile(path, compiled.getPath());
+      assertSameCards(deckReader.readDeck(path), mappedReader.readDeck(compiled.getPath()));
+      assertSameCards(deckReader.readDeckReverse(path),
+          mappedReader.readDeckReverse(compiled.getPath()));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMappedReaderRejectsTextDeck() {
+    new MappedDeckReader().readDeck("docs" + File.separator + "deck.config");
+  }
+
+  @Test
+  public void testDefinitionsAreSharedBetweenGames() {
+    List<CardDefinition> definitions =
+        new StreamingDeckReader().readDefinitions("docs" + File.separator + "deck.config");
+    List<Card> firstDeck = CardDefinition.newDeck(definitions);
+    List<Card> secondDeck = CardDefinition.newDeck(definitions);
+    Player first = new SimplePlayer(5, true);
+    first.setDeck(firstDeck);
+    Player second = new SimplePlayer(5, true);
+    second.setDeck(secondDeck);
+    for (int i = 0; i < definitions.size(); i++) {
+      Assert.assertNotSame(firstDeck.get(i), secondDeck.get(i));
+      Assert.assertSame(definitions.get(i), ((GameCard) firstDeck.get(i)).getDefinition());
+      Assert.assertSame(definitions.get(i), ((GameCard) secondDeck.get(i)).getDefinition());
+      assertEquals(first, firstDeck.get(i).getOwner());
+      assertEquals(second, secondDeck.get(i).getOwner());
+    }
+  }
+
+  @Test
+  public void testCachingReaderParsesEachDeckOnce() throws IOException {
+    String content = new String(Files.readAllBytes(
+        new File("docs" + File.separator + "deck.config").toPath()), StandardCharsets.UTF_8);
+    File deckFile = createTempFile("cached_deck", content);
+    CountingReader counting = new CountingReader();
+    CachingReader reader = new CachingReader(counting, 2);
+    String path = deckFile.getPath();
+
+    List<Card> first = reader.readDeck(path);
+    List<Card> second = reader.readDeck(path);
+    assertEquals(1, counting.reads);
+    Assert.assertNotSame(first.get(0), second.get(0));
+    assertSameCards(new DeckReader().readDeckReverse(path), reader.readDeckReverse(path));
+    assertEquals(1, counting.reads);
+
+    Assert.assertTrue(deckFile.setLastModified(deckFile.lastModified() - 10_000));
+    reader.readDeck(path);
+    assertEquals(2, counting.reads);
+  }
+
+  @Test
+  public void testCachingReaderEvictsLeastRecentlyUsed() throws IOException {
+    String content = new String(Files.readAllBytes(
+        new File("docs" + File.separator + "deck.config").toPath()), StandardCharsets.UTF_8);
+    String first = createTempFile("first_deck", content).getPath();
+    String second = createTempFile("second_deck", content).getPath();
+    String third = createTempFile("third_deck", content).getPath();
+    CountingReader counting = new CountingReader();
+    CachingReader reader = new CachingReader(counting, 2);
+    reader.readDefinitions(first);
+    reader.readDefinitions(second);
+    reader.readDefinitions(first);
+    reader.readDefinitions(third);
+    assertEquals(3, counting.reads);
+    reader.readDefinitions(first);
+    assertEquals(3, counting.reads);
+    reader.readDefinitions(second);
+    assertEquals(4, counting.reads);
+  }
+
+  /**
+   * Reader that counts how many times a deck is actually parsed.
+   */
+  private static final class CountingReader implements Reader {
+
+    private final Reader reader = new StreamingDeckReader();
+    private int reads;
+
+    @Override
+    public List<Card> readDeck(String filePath) {
+      return CardDefinition.newDeck(readDefinitions(filePath));
+    }
+
+    @Override
+    public List<Card> readDeckReverse(String filePath) {
+      return CardDefinition.newDeck(readDefinitionsReverse(filePath));
+    }
+
+    @Override
+    public List<CardDefinition> readDefinitions(String filePath) {
+      reads++;
+      return reader.readDefinitions(filePath);
+    }
+
+    @Override
+    public List<CardDefinition> readDefinitionsReverse(String filePath) {
+      reads++;
+      return reader.readDefinitionsReverse(filePath);
+    }
+  }
+
+  private static void assertSameCards(List<Card> expected, List<Card> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getName(), actual.get(i).getName());
+      assertEquals(expected.get(i).getCost(), actual.get(i).getCost());
+      assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+      for (int row = 0; row < 5; row++) {
+        for (int col = 0; col < 5; col++) {
+          assertEquals(expected.get(i).getInfluenceArray()[row][col].getInfluenceKind(),
+              actual.get(i).getInfluenceArray()[row][col].getInfluenceKind());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testStreamingDeckReaderReportsErrorPosition() {
+    String deck = "Fireball 3 5\r\n"
+        + "XXXXX\r\n"
+        + "XIIIX\r\n"
+        + "XICQX\r\n"
+        + "XIIIX\r\n"
+        + "XXXXX\r\n";
+    try {
+      new StreamingDeckReader().readDeck(
+          new ByteArrayInputStream(deck.getBytes(StandardCharsets.UTF_8)), false);
+      Assert.fail("Expected the grid to be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Line 4, column 4: invalid character 'Q' in grid for card Fireball",
+          e.getMessage());
+    }
+  }
+
   /*
   Test View/Game
    */
@@ -553,6 +770,176 @@ public class TestModelPublic {
     assertEquals(1, board.getTotalScore(player1));
   }
 
+  @Test
+  public void testCachedRowScoresMatchCardsOnBoard() {
+    DeckReader reader = new DeckReader();
+    String path = "docs" + File.separator + "newRulesDeck.config";
+    Player red = new SimplePlayer(5, true);
+    red.setDeck(reader.readDeck(path));
+    Player blue = new SimplePlayer(5, false);
+    blue.setDeck(reader.readDeckReverse(path));
+    Board updated = new UpdatedGameBoard(5, 7);
+    updated.startGame(red, blue);
+    Strategy greedy = new AlphaBetaStrategy(60_000, 1);
+    while (!updated.isGameOver()) {
+      Player player = updated.getTurn() ? red : blue;
+      Move move = greedy.getMove(updated, player);
+      if (move.isPass()) {
+        updated.passTurn(player);
+      } else {
+        updated.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+      }
+      Cell[][] cells = updated.getCopy();
+      for (int row = 0; row < updated.getHeight(); row++) {
+        int redScore = 0;
+        int blueScore = 0;
+        for (Cell cell : cells[row]) {
+          if (cell.getCard() != null) {
+            int score = Math.max(0, cell.getCard().getValue() + cell.getValueModifier());
+            if (cell.getCard().getOwner() == red) {
+              redScore += score;
+            } else {
+              blueScore += score;
+            }
+          }
+        }
+        assertEquals(redScore, updated.getRowScore(red, row));
+        assertEquals(blueScore, updated.getRowScore(blue, row));
+      }
+    }
+  }
+
+  @Test
+  public void testPlayableCellsMatchBoardDuringGame() {
+    DeckReader reader = new DeckReader();
+    String path = "docs" + File.separator + "newRulesDeck.config";
+    Player red = new SimplePlayer(5, true);
+    red.setDeck(reader.readDeck(path));
+    Player blue = new SimplePlayer(5, false);
+    blue.setDeck(reader.readDeckReverse(path));
+    Board updated = new UpdatedGameBoard(5, 7);
+    updated.startGame(red, blue);
+    Strategy greedy = new AlphaBetaStrategy(60_000, 1);
+    while (!updated.isGameOver()) {
+      Player player = updated.getTurn() ? red : blue;
+      Move move = greedy.getMove(updated, player);
+      if (move.isPass()) {
+        updated.passTurn(player);
+      } else {
+        updated.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+      }
+      PackedGameBoard packed = PackedGameBoard.of(updated);
+      for (Player owner : Arrays.asList(red, blue)) {
+        for (int cost = 1; cost <= 3; cost++) {
+          BitSet expected = new BitSet();
+          for (int row = 0; row < updated.getHeight(); row++) {
+            for (int col = 0; col < updated.getWidth(); col++) {
+              List<Pawn> pawns = updated.getPawnsAt(row, col);
+              if (updated.getCardAt(row, col) == null && pawns.size() >= cost
+                  && pawns.get(0).getOwner() == owner) {
+                expected.set(row * updated.getWidth() + col);
+              }
+            }
+          }
+          assertEquals(expected, updated.getPlayableCells(owner, cost));
+          assertEquals(expected, packed.getPlayableCells(owner, cost));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testChangesThroughCellsKeepCachesUpToDate() {
+    StringBuilder changed = new StringBuilder();
+    board.addListener(new BoardListener() {
+      @Override
+      public void cellChanged(int row, int col) {
+        changed.append(row).append(col).append(' ');
+      }
+
+      @Override
+      public void turnChanged(boolean redTurn) {
+        // Only changed cells are checked here.
+      }
+
+      @Override
+      public void gameOver() {
+        // Only changed cells are checked here.
+      }
+    });
+    Card card = player1.getHand().get(0);
+    board.getCell(1, 1).addPawn(player1);
+    board.getCell(1, 1).addPawn(player1);
+    Assert.assertTrue(board.getPlayableCells(player1, 2).get(6));
+    assertEquals(2, board.getState().getCell(1, 1).getPawnCount());
+    board.getCell(1, 1).setCard(card);
+    assertEquals(card.getValue(), board.getRowScore(player1, 1));
+    assertEquals(card.getValue(), board.getState().getRowScore(player1, 1));
+    Assert.assertFalse(board.getPlayableCells(player1, 1).get(6));
+    board.getPawnsAt(2, 0).get(0).setOwner(player2);
+    Assert.assertTrue(board.getPlayableCells(player2, 1).get(10));
+    Assert.assertFalse(board.getPlayableCells(player1, 1).get(10));
+    assertEquals(player2, board.getState().getCell(2, 0).getPawnOwner());
+    board.getCell(2, 0).getPawns().clear();
+    Assert.assertFalse(board.getPlayableCells(player2, 1).get(10));
+    assertEquals(0, board.getState().getCell(2, 0).getPawnCount());
+    assertEquals("11 11 11 20 20 ", changed.toString());
+  }
+
+  private static Card oneInfluenceCard(int value, int colOffset, InfluenceKind kind) {
+    Influence[][] grid = new Influence[5][5];
+    for (Influence[] row : grid) {
+      Arrays.fill(row, new SimpleInfluence(InfluenceKind.NONE));
+    }
+    grid[2][2 + colOffset] = new SimpleInfluence(kind);
+    return new GameCard("TEST", grid, 1, value);
+  }
+
+  @Test
+  public void testDestroyedCardLeavesRowScore() {
+    Player red = new SimplePlayer(1, true);
+    red.setDeck(List.of(oneInfluenceCard(1, 1, InfluenceKind.UPGRADE),
+        oneInfluenceCard(1, 0, InfluenceKind.NONE), oneInfluenceCard(1, 0, InfluenceKind.NONE)));
+    Player blue = new SimplePlayer(1, false);
+    blue.setDeck(List.of(oneInfluenceCard(3, -2, InfluenceKind.DEVALUE),
+        oneInfluenceCard(1, 0, InfluenceKind.NONE), oneInfluenceCard(1, 0, InfluenceKind.NONE)));
+    Board updated = new UpdatedGameBoard(1, 3);
+    updated.startGame(red, blue);
+    updated.placeCard(red, 0, 0, 0);
+    assertEquals(1, updated.getRowScore(red, 0));
+    updated.placeCard(blue, 0, 0, 2);
+    assertEquals(0, updated.getRowScore(red, 0));
+    assertEquals(3, updated.getRowScore(blue, 0));
+    assertEquals(3, updated.getTotalScore(blue));
+    Assert.assertNull(updated.getCardAt(0, 0));
+  }
+
+  @Test
+  public void testListenersHearEveryMove() {
+    StringBuilder events = new StringBuilder();
+    board.addListener(new BoardListener() {
+      @Override
+      public void cellChanged(int row, int col) {
+        // Only moves are checked here.
+      }
+
+      @Override
+      public void turnChanged(boolean redTurn) {
+        events.append(redTurn ? "red " : "blue ");
+      }
+
+      @Override
+      public void gameOver() {
+        events.append("over");
+      }
+    });
+    board.placeCard(player1, 0, 0, 0);
+    board.passTurn(player2);
+    board.passTurn(player1);
+    assertEquals("blue red over", events.toString());
+    Assert.assertThrows(IllegalArgumentException.class, () -> board.addListener(null));
+  }
+
   @Test
   public void testGetPlayerInvalidNull() {
     Assert.assertThrows(IllegalArgumentException.class, () -> board.passTurn(null));
@@ -576,6 +963,14 @@ public class TestModelPublic {
     Assert.assertThrows(IllegalArgumentException.class, () -> board.placeCard(player1, 3, 0, 0));
   }
 
+  @Test
+  public void testGetCopyDoesNotShareCells() {
+    Cell[][] copy = board.getCopy();
+    copy[1][1].addPawn(player1);
+    assertEquals(0, board.getCell(1, 1).getPawns().size());
+    Assert.assertNotSame(board.getCell(0, 0), copy[0][0]);
+  }
+
   @Test
   public void tetGetCellInvalidIdx() {
     Assert.assertThrows(IllegalArgumentException.class, () -> {
@@ -583,4 +978,415 @@ public class TestModelPublic {
     });
     Assert.assertThrows(IllegalArgumentException.class, () -> board.getCell(0, 8));
   }
+
+  @Test
+  public void testReplayRebuildsEveryRecordedPosition() {
+    String path = "docs" + File.separator + "deck.config";
+    Reader reader = new StreamingDeckReader();
+    Player red = new SimplePlayer(5, true);
+    Player blue = new SimplePlayer(5, false);
+    red.setDeck(reader.readDeck(path));
+    blue.setDeck(reader.readDeckReverse(path));
+    GameBoard played = new GameBoard(5, 7);
+    GameRecorder recorder = new GameRecorder(new GameRecord(true, 5, 7, 5, path, path, 0));
+    played.setRecorder(recorder);
+    played.startGame(red, blue);
+    Assert.assertThrows(IllegalStateException.class, () -> played.setRecorder(recorder));
+    List<String> positions = new ArrayList<>();
+    positions.add(new SimpleTextualView(played).toString());
+    Strategy redStrategy = new FillFirstStrategy();
+    Strategy blueStrategy = new MaximizeRowScoreStrategy();
+    while (!played.isGameOver()) {
+      Player player = played.getTurn() ? red : blue;
+      Move move = (played.getTurn() ? redStrategy : blueStrategy).getMove(played, player);
+      if (move.isPass()) {
+        played.passTurn(player);
+      } else {
+        played.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+      }
+      positions.add(new SimpleTextualView(played).toString());
+    }
+
+    GameRecord record = recorder.getRecord();
+    assertEquals(positions.size() - 1, record.getMoveCount());
+    ReplayEngine engine = new ReplayEngine();
+    for (int moves = 0; moves <= record.getMoveCount(); moves++) {
+      assertEquals(positions.get(moves), new SimpleTextualView(engine.replay(record, moves))
+          .toString());
+    }
+    GameBoard replayed = engine.replay(record, record.getMoveCount());
+    Assert.assertTrue(replayed.isGameOver());
+    assertEquals(played.getTotalScore(red), replayed.getTotalScore(replayed.getP1()));
+    assertEquals(played.getTotalScore(blue), replayed.getTotalScore(replayed.getP2()));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> engine.replay(record, record.getMoveCount() + 1));
+  }
+
+  @Test
+  public void testReplayRefusesChangedDeckFiles() throws IOException {
+    Path deck = File.createTempFile("deck", ".config").toPath();
+    deck.toFile().deleteOnExit();
+    Files.copy(Paths.get("docs", "deck.config"), deck, StandardCopyOption.REPLACE_EXISTING);
+    String path = deck.toString();
+    GameRecord start = new GameRecord(true, 3, 5, 3, path, path, 0).withDeckHashes();
+    Assert.assertNotEquals(GameRecord.NO_DECK_HASH, start.getRedDeckHash());
+    assertEquals(start.getRedDeckHash(), start.getBlueDeckHash());
+    GameRecorder recorder = new GameRecorder(start);
+    recorder.cardPlaced(0, 0, 0);
+    File logFile = File.createTempFile("games", ".log");
+    logFile.deleteOnExit();
+    Files.delete(logFile.toPath());
+    try (GameLogWriter log = new GameLogWriter(logFile.getPath())) {
+      log.append(recorder.getRecord());
+    }
+    GameRecord record;
+    try (GameLogReader log = new GameLogReader(logFile.getPath())) {
+      record = log.next();
+    }
+    assertEquals(recorder.getRecord(), record);
+    Assert.assertNotNull(new ReplayEngine().replay(record, 1).getCardAt(0, 0));
+
+    Files.writeString(deck, Files.readString(deck).replace("SECURITY 1 1", "SECURITY 1 2"));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new ReplayEngine().replay(record, 1));
+    // Records that do not hold deck hashes are replayed on the decks as they are.
+    GameRecord unhashed = new GameRecord(true, 3, 5, 3, path, path, 0);
+    assertEquals(GameRecord.NO_DECK_HASH, unhashed.getRedDeckHash());
+    assertEquals(2, new ReplayEngine().replay(unhashed, 0).getP1().getHand().get(0).getValue());
+  }
+
+  @Test
+  public void testGameLogRejectsCorruptLengthsAndCounts() throws IOException {
+    // A game on a 3x5 board with decks "r" and "b", before its move count.
+    ByteBuffer game = ByteBuffer.allocate(34).put(new byte[] {1, 3, 5, 3, 0, 1, 'r', 0, 1, 'b'});
+    game.putLong(1).putLong(2).putLong(0);
+    byte[] negativeCount = {-1, -1, -1, -1, 0x0F};
+    byte[] hugeCount = {-1, -1, -1, -1, 0x07};
+    for (byte[] count : List.of(negativeCount, hugeCount)) {
+      ByteBuffer log = ByteBuffer.allocate(64).putInt(0x4C4E5750).put((byte) 1);
+      log.put((byte) (game.capacity() + count.length)).put(game.array()).put(count);
+      Path logFile = writeTempLog(Arrays.copyOf(log.array(), log.position()));
+      try (GameLogReader reader = new GameLogReader(logFile.toString())) {
+        Assert.assertThrows(IllegalArgumentException.class, reader::next);
+      }
+    }
+    // An entry length that comes out negative.
+    Path logFile = writeTempLog(new byte[] {0x4C, 0x4E, 0x57, 0x50, 1, -1, -1, -1, -1, 0x0F});
+    try (GameLogReader reader = new GameLogReader(logFile.toString())) {
+      Assert.assertThrows(IllegalArgumentException.class, reader::next);
+    }
+    try (GameLogReader reader = new GameLogReader(logFile.toString())) {
+      Assert.assertThrows(IllegalArgumentException.class, reader::skip);
+    }
+  }
+
+  private static Path writeTempLog(byte[] bytes) throws IOException {
+    Path logFile = Files.createTempFile("games", ".log");
+    logFile.toFile().deleteOnExit();
+    return Files.write(logFile, bytes);
+  }
+
+  @Test
+  public void testGameLogAppendsAndReadsBackGames() throws IOException {
+    File logFile = File.createTempFile("games", ".log");
+    logFile.deleteOnExit();
+    Files.delete(logFile.toPath());
+    GameRecorder first = new GameRecorder(new GameRecord(true, 5, 7, 5, "red", "blue", 3));
+    first.cardPlaced(4, 2, 0);
+    first.turnPassed();
+    first.cardPlaced(0, 4, 6);
+    GameRecorder second = new GameRecorder(
+        new GameRecord(false, 101, 201, 9, GameRecord.SYNTHETIC_DECK, "", -7));
+    second.cardPlaced(8, 100, 200);
+    try (GameLogWriter log = new GameLogWriter(logFile.getPath())) {
+      log.append(first.getRecord());
+    }
+    // Opening the log again appends to it.
+    try (GameLogWriter log = new GameLogWriter(logFile.getPath())) {
+      log.append(second.getRecord());
+    }
+
+    try (GameLogReader log = new GameLogReader(logFile.getPath())) {
+      GameRecord record = log.next();
+      assertEquals(first.getRecord(), record);
+      assertEquals(3, record.getMoveCount());
+      Assert.assertTrue(record.isPass(1));
+      assertEquals(4, record.getHandIndex(0));
+      assertEquals(2, record.getRow(0));
+      assertEquals(6, record.getCol(2));
+      assertEquals(second.getRecord(), log.next());
+      Assert.assertNull(log.next());
+    }
+    try (GameLogReader log = new GameLogReader(logFile.getPath())) {
+      Assert.assertTrue(log.skip());
+      GameRecord record = log.next();
+      assertEquals(8, record.getHandIndex(0));
+      assertEquals(100, record.getRow(0));
+      assertEquals(200, record.getCol(0));
+      Assert.assertFalse(log.skip());
+    }
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new GameLogReader("docs" + File.separator + "deck.config"));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new GameLogWriter("docs" + File.separator + "deck.config"));
+  }
+
+  @Test
+  public void testSnapshotRestoresEveryPosition() {
+    DeckReader reader = new DeckReader();
+    String path = "docs" + File.separator + "newRulesDeck.config";
+    Player red = new SimplePlayer(5, true);
+    red.setDeck(reader.readDeck(path));
+    Player blue = new SimplePlayer(5, false);
+    blue.setDeck(reader.readDeckReverse(path));
+    GameBoard updated = new UpdatedGameBoard(5, 7);
+    updated.startGame(red, blue);
+    Strategy greedy = new AlphaBetaStrategy(60_000, 1);
+    // Every position is written one after another into one direct buffer.
+    ByteBuffer saved = ByteBuffer.allocateDirect(1 << 20);
+    List<String> positions = new ArrayList<>();
+    while (true) {
+      positions.add(describe(updated));
+      BoardSnapshot.write(updated, saved);
+      if (updated.isGameOver()) {
+        break;
+      }
+      Player player = updated.getTurn() ? red : blue;
+      Move move = greedy.getMove(updated, player);
+      if (move.isPass()) {
+        updated.passTurn(player);
+      } else {
+        updated.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+      }
+    }
+
+    saved.flip();
+    GameBoard middle = null;
+    for (int i = 0; i < positions.size(); i++) {
+      GameBoard restored = BoardSnapshot.read(saved);
+      Assert.assertTrue(restored instanceof UpdatedGameBoard);
+      assertEquals(positions.get(i), describe(restored));
+      if (i == positions.size() / 2) {
+        middle = restored;
+      }
+    }
+    Assert.assertFalse(saved.hasRemaining());
+
+    // A restored game plays on exactly like the original did.
+    while (!middle.isGameOver()) {
+      Player player = middle.getTurn() ? middle.getP1() : middle.getP2();
+      Move move = greedy.getMove(middle, player);
+      if (move.isPass()) {
+        middle.passTurn(player);
+      } else {
+        middle.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+      }
+    }
+    assertEquals(positions.get(positions.size() - 1), describe(middle));
+  }
+
+  @Test
+  public void testSnapshotRejectsBadBuffers() {
+    GameBoard started = (GameBoard) board;
+    ByteBuffer snapshot = BoardSnapshot.write(started);
+    assertEquals(BoardSnapshot.sizeOf(started), snapshot.remaining());
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> BoardSnapshot.write(started, ByteBuffer.allocate(snapshot.remaining() - 1)));
+    snapshot.limit(snapshot.limit() - 1);
+    Assert.assertThrows(IllegalArgumentException.class, () -> BoardSnapshot.read(snapshot));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> BoardSnapshot.read(ByteBuffer.allocate(64)));
+    // Rows and columns far too large for the buffer, after the magic number, version and flags.
+    ByteBuffer huge = BoardSnapshot.write(started).order(ByteOrder.LITTLE_ENDIAN);
+    huge.putInt(9, 99_999).putInt(13, 99_999);
+    Assert.assertThrows(IllegalArgumentException.class, () -> BoardSnapshot.read(huge));
+    Assert.assertThrows(IllegalStateException.class,
+        () -> BoardSnapshot.write(new GameBoard(5, 7)));
+  }
+
+  @Test
+  public void testModelAdapterKeepsAdaptersUntilTheyChange() {
+    ModelAdapter adapter = new ModelAdapter(player1, player2, board);
+    ProviderCell corner = adapter.getCellAt(0, 0);
+    ProviderCell farCell = adapter.getCellAt(1, 4);
+    List<ProviderCard> hand = adapter.getHand(PlayerEnum.Red);
+    ProviderCard secondCard = hand.get(1);
+    Assert.assertSame(corner, adapter.getCellAt(0, 0));
+    Assert.assertSame(hand, adapter.getHand(PlayerEnum.Red));
+
+    board.placeCard(player1, 0, 0, 0);
+    Assert.assertNotSame(corner, adapter.getCellAt(0, 0));
+    Assert.assertSame(farCell, adapter.getCellAt(1, 4));
+    Assert.assertSame(adapter.getCellAt(0, 0).getCard(), adapter.getCellAt(0, 0).getCard());
+    assertEquals(player1.getHand().size(), adapter.getHand(PlayerEnum.Red).size());
+    Assert.assertSame(secondCard, adapter.getHand(PlayerEnum.Red).get(0));
+  }
+
+  @Test
+  public void testModelAdapterStateKeepsReadingOneState() {
+    ModelAdapter adapter = new ModelAdapter(player1, player2, board);
+    ReadonlyPawnsBoardModel frame = adapter.atLatestState();
+    int handSize = frame.getHand(PlayerEnum.Red).size();
+    PlayerEnum turn = adapter.getTurn();
+    board.placeCard(player1, 0, 0, 0);
+    Assert.assertNull(frame.getCellAt(0, 0).getCard());
+    assertEquals(turn, frame.getTurn());
+    assertEquals(handSize, frame.getHand(PlayerEnum.Red).size());
+    assertEquals(0, frame.getPlayerScore(PlayerEnum.Red));
+    Assert.assertNotNull(adapter.getCellAt(0, 0).getCard());
+    Assert.assertNotEquals(turn, adapter.atLatestState().getTurn());
+  }
+
+  @Test
+  public void testListenersHearOfCellsOnceTheStateIsPublished() {
+    StringBuilder seen = new StringBuilder();
+    board.addListener(new BoardListener() {
+      @Override
+      public void cellChanged(int row, int col) {
+        BoardState state = board.getState();
+        seen.append(row).append(col)
+            .append(state.getCardAt(row, col) == null ? '-' : 'C').append(' ');
+      }
+
+      @Override
+      public void turnChanged(boolean redTurn) {
+        seen.append(redTurn == board.getState().getTurn() ? "turn " : "stale ");
+      }
+
+      @Override
+      public void gameOver() {
+        // The game does not end here.
+      }
+    });
+    board.placeCard(player1, 0, 1, 0);
+    Assert.assertTrue(seen.toString().contains("10C "));
+    Assert.assertTrue(seen.toString().endsWith("turn "));
+    Assert.assertFalse(seen.toString().contains("stale"));
+  }
+
+  @Test
+  public void testStatesArePublishedAfterEveryMove() {
+    BoardState before = board.getState();
+    Assert.assertSame(before, board.getState());
+    int pawnsBefore = before.getCell(0, 0).getPawnCount();
+    board.placeCard(player1, 0, 0, 0);
+    BoardState placed = board.getState();
+    Assert.assertTrue(placed.getVersion() > before.getVersion());
+    Assert.assertNull(before.getCardAt(0, 0));
+    assertEquals(pawnsBefore, before.getCell(0, 0).getPawnCount());
+    Assert.assertTrue(before.getTurn());
+    assertSameState(board, placed);
+
+    board.passTurn(player2);
+    BoardState passed = board.getState();
+    Assert.assertTrue(passed.isLastMovePass());
+    Assert.assertFalse(placed.isLastMovePass());
+    for (int row = 0; row < board.getHeight(); row++) {
+      Assert.assertTrue(passed.isSameRow(placed, row));
+    }
+    assertSameState(board, passed);
+    Assert.assertThrows(UnsupportedOperationException.class,
+        () -> passed.getCell(0, 1).addPawn(player1));
+    Assert.assertThrows(UnsupportedOperationException.class,
+        () -> passed.getHand(player1).remove(0));
+    Assert.assertThrows(IllegalStateException.class, () -> new GameBoard(3, 5).getState());
+  }
+
+  @Test
+  public void testStatesCanBeReadWhileTheGameIsPlayed() throws InterruptedException {
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<String> failure = new AtomicReference<>();
+    Thread reader = new Thread(() -> {
+      long version = -1;
+      while (!done.get() && failure.get() == null) {
+        BoardState state = board.getState();
+        if (state.getVersion() < version) {
+          failure.set("Version went back from " + version + " to " + state.getVersion());
+        }
+        version = state.getVersion();
+        for (int row = 0; row < state.getHeight(); row++) {
+          for (Player player : Arrays.asList(player1, player2)) {
+            int score = 0;
+            for (int col = 0; col < state.getWidth(); col++) {
+              Card card = state.getCardAt(row, col);
+              if (card != null && card.getOwner() == player) {
+                score += card.getValue();
+              }
+            }
+            if (score != state.getRowScore(player, row)) {
+              failure.set("Row " + row + " of version " + version + " does not add up.");
+            }
+          }
+        }
+      }
+    });
+    reader.start();
+    Strategy strategy = new FillFirstStrategy();
+    while (!board.isGameOver()) {
+      Player player = board.getTurn() ? player1 : player2;
+      Move move = strategy.getMove(board, player);
+      if (move.isPass()) {
+        board.passTurn(player);
+      } else {
+        board.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+      }
+    }
+    done.set(true);
+    reader.join();
+    Assert.assertNull(failure.get());
+    assertSameState(board, board.getState());
+  }
+
+  private static void assertSameState(Board board, BoardState state) {
+    assertEquals(board.getTurn(), state.getTurn());
+    assertEquals(board.isGameOver(), state.isGameOver());
+    for (Player player : Arrays.asList(board.getP1(), board.getP2())) {
+      assertEquals(board.getTotalScore(player), state.getTotalScore(player));
+      assertEquals(player.getHand(), state.getHand(player));
+      for (int row = 0; row < board.getHeight(); row++) {
+        assertEquals(board.getRowScore(player, row), state.getRowScore(player, row));
+      }
+    }
+    for (int row = 0; row < board.getHeight(); row++) {
+      for (int col = 0; col < board.getWidth(); col++) {
+        Cell cell = board.getCell(row, col);
+        Assert.assertSame(cell.getCard(), state.getCardAt(row, col));
+        Assert.assertSame(cell.getPawnOwner(), state.getCell(row, col).getPawnOwner());
+        assertEquals(cell.getPawnCount(), state.getCell(row, col).getPawnCount());
+      }
+    }
+  }
+
+  /**
+   * Describes everything a snapshot saves about a board.
+   */
+  private static String describe(Board board) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(board.getTurn()).append(board.isLastMovePass()).append(board.isGameOver());
+    for (int row = 0; row < board.getHeight(); row++) {
+      sb.append('\n').append(board.getRowScore(board.getP1(), row)).append('/')
+          .append(board.getRowScore(board.getP2(), row));
+      for (int col = 0; col < board.getWidth(); col++) {
+        Cell cell = board.getCell(row, col);
+        sb.append(' ');
+        if (cell.getCard() != null) {
+          sb.append(cell.getCard().getName()).append(cell.getCard().getOwner().getIsRed());
+        }
+        if (cell.getPawnCount() > 0) {
+          sb.append(cell.getPawnOwner().getIsRed()).append(cell.getPawnCount());
+        }
+        sb.append(cell.getValueModifier());
+      }
+    }
+    for (Player player : Arrays.asList(board.getP1(), board.getP2())) {
+      sb.append('\n').append(player.getHandSize());
+      for (Card card : player.getHand()) {
+        sb.append(' ').append(card.getName());
+      }
+      sb.append(" |");
+      for (Card card : player.getDeck()) {
+        sb.append(' ').append(card.getName());
+      }
+    }
+    return sb.toString();
+  }
 }
@@ -0,0 +1,183 @@
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import model.Board;
+import model.Cell;
+import model.GameBoard;
+import model.PackedGameBoard;
+import model.Player;
+import model.SimplePlayer;
+import model.UpdatedGameBoard;
+import model.UpdatedPackedGameBoard;
+import model.card.Card;
+import model.card.DeckReader;
+import org.junit.Assert;
+import org.junit.Test;
+import view.SimpleTextualView;
+
+/**
+ * Test class for the packed board implementations. Plays the same moves on the packed boards and
+ * on the Cell based boards and checks that both end up in the same position.
+ */
+public class TestPackedGameBoard {
+
+  private static final String PATH = "docs" + File.separator + "deck.config";
+
+  private Board start(Board board) {
+    DeckReader reader = new DeckReader();
+    Player player1 = new SimplePlayer(3, true);
+    player1.setDeck(reader.readDeck(PATH));
+    Player player2 = new SimplePlayer(3, false);
+    player2.setDeck(reader.readDeckReverse(PATH));
+    board.startGame(player1, player2);
+    return board;
+  }
+
+  private void playSameMoves(Board board) {
+    board.placeCard(board.getP1(), 0, 0, 0);
+    board.placeCard(board.getP2(), 0, 0, 4);
+    board.placeCard(board.getP1(), 0, 1, 0);
+    board.placeCard(board.getP2(), 0, 1, 4);
+    board.passTurn(board.getP1());
+    board.passTurn(board.getP2());
+  }
+
+  @Test
+  public void testInvalidPackedBoardConstructor() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new PackedGameBoard(3, 4));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new PackedGameBoard(0, 3));
+  }
+
+  @Test
+  public void testPackedBoardMatchesGameBoard() {
+    Board cells = start(new GameBoard(3, 5));
+    Board packed = start(new PackedGameBoard(3, 5));
+    playSameMoves(cells);
+    playSameMoves(packed);
+    assertEquals(new SimpleTextualView(cells).toString(),
+        new SimpleTextualView(packed).toString());
+    assertEquals(cells.getTotalScore(cells.getP1()), packed.getTotalScore(packed.getP1()));
+    assertEquals(cells.getTotalScore(cells.getP2()), packed.getTotalScore(packed.getP2()));
+    Assert.assertTrue(packed.isGameOver());
+  }
+
+  @Test
+  public void testUpdatedPackedBoardMatchesUpdatedGameBoard() {
+    Board cells = start(new UpdatedGameBoard(3, 5));
+    Board packed = start(new UpdatedPackedGameBoard(3, 5));
+    playSameMoves(cells);
+    playSameMoves(packed);
+    assertEquals(new SimpleTextualView(cells).toString(),
+        new SimpleTextualView(packed).toString());
+    for (int row = 0; row < 3; row++) {
+      assertEquals(cells.getRowScore(cells.getP2(), row), packed.getRowScore(packed.getP2(), row));
+    }
+  }
+
+  @Test
+  public void testPackedCellViewWritesThrough() {
+    Board packed = start(new PackedGameBoard(3, 5));
+    packed.getCell(1, 1).addPawn(packed.getP1());
+    assertEquals(1, packed.getPawnsAt(1, 1).size());
+    Assert.assertThrows(IllegalStateException.class,
+        () -> packed.getCell(1, 1).addPawn(packed.getP2()));
+  }
+
+  @Test
+  public void testPackedCopyIsDetached() {
+    Board packed = start(new PackedGameBoard(3, 5));
+    Cell[][] copy = packed.getCopy();
+    copy[1][1].addPawn(packed.getP1());
+    assertEquals(0, packed.getPawnsAt(1, 1).size());
+  }
+
+  @Test
+  public void testUndoRestoresSnapshot() {
+    Board cells = start(new UpdatedGameBoard(3, 5));
+    PackedGameBoard packed = PackedGameBoard.of(cells);
+    String before = new SimpleTextualView(packed).toString();
+    packed.play(cells.getP1().getHand().get(0), 0, 0);
+    packed.pass();
+    Assert.assertNotEquals(before, new SimpleTextualView(packed).toString());
+    assertEquals(2, packed.getUndoDepth());
+    packed.undo();
+    packed.undo();
+    assertEquals(before, new SimpleTextualView(packed).toString());
+    Assert.assertTrue(packed.getTurn());
+    Assert.assertThrows(IllegalStateException.class, packed::undo);
+  }
+
+  @Test
+  public void testSnapshotDoesNotChangeOriginal() {
+    Board cells = start(new GameBoard(3, 5));
+    String before = new SimpleTextualView(cells).toString();
+    PackedGameBoard packed = PackedGameBoard.of(cells);
+    packed.play(cells.getP1().getHand().get(0), 0, 0);
+    assertEquals(before, new SimpleTextualView(cells).toString());
+    assertEquals(3, cells.getP1().getHand().size());
+  }
+
+  @Test
+  public void testHashIgnoresMoveOrderAndUndo() {
+    DeckReader reader = new DeckReader();
+    Player player1 = new SimplePlayer(8, true);
+    player1.setDeck(reader.readDeck(PATH));
+    Player player2 = new SimplePlayer(8, false);
+    player2.setDeck(reader.readDeckReverse(PATH));
+    Board cells = new GameBoard(5, 7);
+    cells.startGame(player1, player2);
+    // Both cards cost a single pawn, and rows 0 and 4 are too far apart to influence each other.
+    Card first = player1.getHand().get(0);
+    Card second = player1.getHand().get(5);
+    PackedGameBoard packed = PackedGameBoard.of(cells);
+    long before = packed.getHash();
+    PackedGameBoard one = packed.copy();
+    one.play(first, 0, 0);
+    one.pass();
+    one.play(second, 4, 0);
+    PackedGameBoard two = packed.copy();
+    two.play(second, 4, 0);
+    two.pass();
+    two.play(first, 0, 0);
+    assertEquals(one.getHash(), two.getHash());
+    Assert.assertNotEquals(before, one.getHash());
+    one.undo();
+    one.undo();
+    one.undo();
+    assertEquals(before, one.getHash());
+  }
+
+  @Test
+  public void testHashIsTheSameOnEverySnapshot() {
+    Board cells = start(new GameBoard(3, 5));
+    PackedGameBoard first = PackedGameBoard.of(cells);
+    first.play(cells.getP1().getHand().get(0), 0, 0);
+    PackedGameBoard second = PackedGameBoard.of(cells);
+    second.play(cells.getP1().getHand().get(0), 0, 0);
+    assertEquals(first.getHash(), second.getHash());
+    // Another game dealt the same cards reaches the same position with the same hash.
+    Board other = start(new GameBoard(3, 5));
+    PackedGameBoard third = PackedGameBoard.of(other);
+    third.play(other.getP1().getHand().get(0), 0, 0);
+    assertEquals(first.getHash(), third.getHash());
+    cells.placeCard(cells.getP1(), 0, 0, 0);
+    assertEquals(first.getHash(), PackedGameBoard.of(cells).getHash());
+  }
+
+  @Test
+  public void testHashTellsDifferentCardsApart() {
+    DeckReader reader = new DeckReader();
+    Player player1 = new SimplePlayer(8, true);
+    player1.setDeck(reader.readDeck(PATH));
+    Player player2 = new SimplePlayer(8, false);
+    player2.setDeck(reader.readDeckReverse(PATH));
+    Board cells = new GameBoard(5, 7);
+    cells.startGame(player1, player2);
+    // Both cards cost a single pawn.
+    PackedGameBoard one = PackedGameBoard.of(cells);
+    PackedGameBoard two = one.copy();
+    one.play(player1.getHand().get(0), 0, 0);
+    two.play(player1.getHand().get(5), 0, 0);
+    Assert.assertNotEquals(one.getHash(), two.getHash());
+  }
+}
@@ -1,18 +1,29 @@
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import model.GameBoard;
 import model.Player;
+import model.SimplePlayer;
+import model.UpdatedGameBoard;
+import model.card.Card;
 import model.card.DeckReader;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import strategy.AlphaBetaStrategy;
 import strategy.BoardControlStrategy;
 import strategy.FillFirstStrategy;
 import strategy.MaximizeRowScoreStrategy;
 import strategy.MockBoard;
 import strategy.MockPlayer;
+import strategy.MonteCarloStrategy;
 import strategy.Move;
+import strategy.ParallelBoardControlStrategy;
 import strategy.Strategy;
+import strategy.TranspositionTable;
 import view.SimpleTextualView;
 import view.TextualView;
 
@@ -110,6 +121,77 @@ public class TestStrategyPublic {
 
   }
 
+  @Test
+  public void testAlphaBetaPicksLegalMoveWithoutChangingBoard() {
+    DeckReader reader = new DeckReader();
+    String path = "docs" + File.separator + "deck.config";
+    Player red = new SimplePlayer(3, true);
+    red.setDeck(reader.readDeck(path));
+    Player blue = new SimplePlayer(3, false);
+    blue.setDeck(reader.readDeckReverse(path));
+    GameBoard gameBoard = new GameBoard(3, 5);
+    gameBoard.startGame(red, blue);
+    String before = new SimpleTextualView(gameBoard).toString();
+    Move move = new AlphaBetaStrategy(200, 3).getMove(gameBoard, red);
+    Assert.assertEquals(before, new SimpleTextualView(gameBoard).toString());
+    Assert.assertFalse(move.isPass());
+    Assert.assertEquals(0, move.getCol());
+    gameBoard.placeCard(red, move.getCardIdx(), move.getRow(), move.getCol());
+  }
+
+  @Test
+  public void testMonteCarloPicksLegalMoveWithoutChangingPlayers() {
+    DeckReader reader = new DeckReader();
+    String path = "docs" + File.separator + "deck.config";
+    Player red = new SimplePlayer(3, true);
+    red.setDeck(reader.readDeck(path));
+    Player blue = new SimplePlayer(3, false);
+    blue.setDeck(reader.readDeckReverse(path));
+    GameBoard gameBoard = new GameBoard(3, 5);
+    gameBoard.startGame(red, blue);
+    String before = new SimpleTextualView(gameBoard).toString();
+    List<Card> blueHand = new ArrayList<>(blue.getHand());
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      Move move = new MonteCarloStrategy(200, pool, true, 7).getMove(gameBoard, red);
+      Assert.assertEquals(before, new SimpleTextualView(gameBoard).toString());
+      Assert.assertEquals(blueHand, blue.getHand());
+      Assert.assertFalse(move.isPass());
+      gameBoard.placeCard(red, move.getCardIdx(), move.getRow(), move.getCol());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testParallelBoardControlMatchesBoardControl() {
+    DeckReader reader = new DeckReader();
+    String path = "docs" + File.separator + "newRulesDeck.config";
+    Player red = new SimplePlayer(5, true);
+    red.setDeck(reader.readDeck(path));
+    Player blue = new SimplePlayer(5, false);
+    blue.setDeck(reader.readDeckReverse(path));
+    GameBoard gameBoard = new UpdatedGameBoard(5, 7);
+    gameBoard.startGame(red, blue);
+    Strategy sequential = new BoardControlStrategy();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Strategy parallel = new ParallelBoardControlStrategy(pool);
+      while (!gameBoard.isGameOver()) {
+        Player player = gameBoard.getTurn() ? red : blue;
+        Move move = sequential.getMove(gameBoard, player);
+        Assert.assertEquals(move, parallel.getMove(gameBoard, player));
+        if (move.isPass()) {
+          gameBoard.passTurn(player);
+        } else {
+          gameBoard.placeCard(player, move.getCardIdx(), move.getRow(), move.getCol());
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   @Test
   public void testGetBestRowScorePlaysFirstToTop() {
     Assert.assertEquals(new Move(0, 0, false, 0), maximizeRowScoreStrategy.getMove(board, player1));
@@ -181,5 +263,23 @@ public class TestStrategyPublic {
     }
   }
 
-
+  @Test
+  public void testTranspositionTableKeepsDeeperResult() {
+    TranspositionTable table = new TranspositionTable(4);
+    long[] entry = new long[2];
+    Assert.assertFalse(table.probe(42L, entry));
+    table.store(42L, 3, TranspositionTable.LOWER, -7, 5);
+    Assert.assertTrue(table.probe(42L, entry));
+    Assert.assertEquals(-7, TranspositionTable.scoreOf(entry[0]));
+    Assert.assertEquals(3, TranspositionTable.depthOf(entry[0]));
+    Assert.assertEquals(TranspositionTable.LOWER, TranspositionTable.flagOf(entry[0]));
+    Assert.assertEquals(5, entry[1]);
+    // 42 + 16 lands in the same slot, but the shallower result does not replace the deeper one.
+    table.store(42L + 16, 1, TranspositionTable.EXACT, 0, 0);
+    Assert.assertFalse(table.probe(42L + 16, entry));
+    table.newSearch();
+    table.store(42L + 16, 1, TranspositionTable.EXACT, 0, 0);
+    Assert.assertTrue(table.probe(42L + 16, entry));
+    Assert.assertFalse(table.probe(42L, entry));
+  }
 }
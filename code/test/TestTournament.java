@@ -0,0 +1,112 @@
+import controller.Tournament;
+import controller.TournamentResult;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import model.card.CardDefinition;
+import model.GameBoard;
+import model.card.DeckGenerator;
+import model.record.GameLogReader;
+import model.record.GameLogWriter;
+import model.record.GameRecord;
+import model.record.ReplayEngine;
+import org.junit.Assert;
+import org.junit.Test;
+import strategy.FillFirstStrategy;
+import strategy.MaximizeRowScoreStrategy;
+import strategy.Move;
+
+/**
+ * Test class for the headless tournament runner.
+ */
+public class TestTournament {
+
+  private static final String PATH = "docs" + File.separator + "deck.config";
+
+  @Test
+  public void testInvalidTournament() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new Tournament(true, null, PATH, FillFirstStrategy::new, FillFirstStrategy::new));
+    Tournament tournament = new Tournament(true, PATH, PATH,
+        FillFirstStrategy::new, FillFirstStrategy::new);
+    Assert.assertThrows(IllegalArgumentException.class, () -> tournament.play(-1, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> tournament.play(1, 0));
+  }
+
+  @Test
+  public void testTournamentPlaysEveryGame() {
+    Tournament tournament = new Tournament(false, PATH, PATH,
+        FillFirstStrategy::new, MaximizeRowScoreStrategy::new);
+    TournamentResult result = tournament.play(10, 3);
+    Assert.assertEquals(10, result.getGames());
+    Assert.assertEquals(10, result.getRedWins() + result.getBlueWins() + result.getTies());
+    Assert.assertEquals(0, result.getInvalidMoves());
+  }
+
+  @Test
+  public void testInvalidMovesBecomePasses() {
+    Tournament tournament = new Tournament(true, PATH, PATH,
+        () -> (board, player) -> new Move(0, 3, false, 0), FillFirstStrategy::new);
+    TournamentResult result = tournament.play(2, 1);
+    Assert.assertEquals(2, result.getGames());
+    Assert.assertTrue(result.getInvalidMoves() > 0);
+    Assert.assertEquals(0, result.getAverageRedScore(), 0.0);
+  }
+
+  @Test
+  public void testInvalidBoardSize() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new Tournament(true, PATH, PATH,
+        FillFirstStrategy::new, FillFirstStrategy::new, 5, 6, 5));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new Tournament(true, PATH, PATH,
+        FillFirstStrategy::new, FillFirstStrategy::new, 5, 7, 0));
+    // The deck file has too few cards for a 9x9 board.
+    Tournament tournament = new Tournament(true, PATH, PATH,
+        FillFirstStrategy::new, FillFirstStrategy::new, 9, 9, 5);
+    Assert.assertThrows(IllegalArgumentException.class, () -> tournament.play(1, 1));
+  }
+
+  @Test
+  public void testGeneratedDecksPlayLargeBoard() {
+    List<CardDefinition> redDeck = DeckGenerator.generate(21 * 41, false, 7);
+    Assert.assertEquals(21 * 41, redDeck.size());
+    Assert.assertEquals(redDeck.get(5).getValue(),
+        DeckGenerator.generate(21 * 41, false, 7).get(5).getValue());
+    List<CardDefinition> blueDeck = new ArrayList<>();
+    for (CardDefinition definition : redDeck) {
+      blueDeck.add(definition.reversed());
+    }
+    Tournament tournament = new Tournament(true, redDeck, blueDeck,
+        FillFirstStrategy::new, MaximizeRowScoreStrategy::new, 21, 41, 7);
+    TournamentResult result = tournament.play(2, 2);
+    Assert.assertEquals(2, result.getGames());
+    Assert.assertEquals(0, result.getInvalidMoves());
+  }
+
+  @Test
+  public void testTournamentLogsEveryGame() throws IOException {
+    File logFile = File.createTempFile("tournament", ".log");
+    logFile.deleteOnExit();
+    Tournament tournament = Tournament.synthetic(false, 11,
+        FillFirstStrategy::new, MaximizeRowScoreStrategy::new, 9, 15, 5);
+    TournamentResult result;
+    try (GameLogWriter log = new GameLogWriter(logFile.getPath())) {
+      result = tournament.play(4, 2, log);
+    }
+    ReplayEngine engine = new ReplayEngine();
+    int games = 0;
+    int redWins = 0;
+    try (GameLogReader log = new GameLogReader(logFile.getPath())) {
+      for (GameRecord record = log.next(); record != null; record = log.next()) {
+        GameBoard board = engine.replay(record, record.getMoveCount());
+        Assert.assertTrue(board.isGameOver());
+        if (board.getTotalScore(board.getP1()) > board.getTotalScore(board.getP2())) {
+          redWins++;
+        }
+        games++;
+      }
+    }
+    Assert.assertEquals(4, games);
+    Assert.assertEquals(result.getRedWins(), redWins);
+  }
+}
@@ -1,7 +1,10 @@
 package strategy;
 
+import java.util.BitSet;
 import java.util.List;
 import model.Board;
+import model.BoardListener;
+import model.BoardState;
 import model.Cell;
 import model.Player;
 import model.card.Card;
@@ -167,6 +170,17 @@ public class MockBoard implements Board {
     return false;
   }
 
+  @Override
+  public boolean isLastMovePass() {
+    log.append("isLastMovePass called\n");
+    return false;
+  }
+
+  @Override
+  public void addListener(BoardListener listener) {
+    log.append("addListener called\n");
+  }
+
   @Override
   public Cell[][] getCopy() {
     log.append("getCopy called\n");
@@ -202,6 +216,45 @@ public class MockBoard implements Board {
     return getCell(row, col).getPawns();
   }
 
+  @Override
+  public BitSet getPlayableCells(Player player, int cost) {
+    log.append("getPlayableCells called with (player=")
+        .append(player).append(",cost=")
+        .append(cost).append(")\n");
+    BitSet playable = new BitSet(height * width);
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        if (canPlace(player, cost, row, col)) {
+          playable.set(row * width + col);
+        }
+      }
+    }
+    return playable;
+  }
+
+  @Override
+  public boolean isLegalPlacement(Player player, Card card, int row, int col) {
+    log.append("isLegalPlacement called with (player=")
+        .append(player).append(",row=")
+        .append(row).append(",col=")
+        .append(col).append(")\n");
+    return row >= 0 && row < height && col >= 0 && col < width
+        && canPlace(player, card.getCost(), row, col);
+  }
+
+  @Override
+  public BoardState getState() {
+    log.append("getState called\n");
+    return BoardState.of(this);
+  }
+
+  private boolean canPlace(Player player, int cost, int row, int col) {
+    Cell cell = board[row][col];
+    List<Pawn> pawns = cell.getPawns();
+    return cell.getCard() == null && !pawns.isEmpty()
+        && pawns.get(0).getOwner().equals(player) && pawns.size() >= cost;
+  }
+
   private void applyInfluence(Player player, Card card, int placedRow, int placedCol) {
     Influence[][] grid = card.getInfluenceArray();
     for (int row = 0; row < 5; row++) {
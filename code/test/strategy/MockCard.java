@@ -3,6 +3,7 @@ package strategy;
 import model.Player;
 import model.card.Card;
 import model.card.Influence;
+import model.card.InfluenceMask;
 
 /**
  * Mock card class for testing. Allows cards to be read in, but there are no rules.
@@ -62,6 +63,11 @@ public class MockCard implements Card {
     return copyInfluenceArray(influence);
   }
 
+  @Override
+  public InfluenceMask getInfluenceMask() {
+    return InfluenceMask.compile(influence);
+  }
+
   /**
    * Helper to copy 5x5 grid to not expose internal array.
    *
@@ -56,6 +56,35 @@ public class MockCell implements Cell {
     return pawns;
   }
 
+  @Override
+  public Player getPawnOwner() {
+    log.append("Cell(").append(row).append(",").append(col).append(").getPawnOwner called\n");
+    return pawns.isEmpty() ? null : pawns.get(0).getOwner();
+  }
+
+  @Override
+  public int getPawnCount() {
+    log.append("Cell(").append(row).append(",").append(col).append(").getPawnCount called\n");
+    return pawns.size();
+  }
+
+  @Override
+  public void setPawnOwner(Player owner) {
+    log.append("Cell(").append(row).append(",").append(col)
+        .append(").setPawnOwner called with owner=")
+        .append(owner)
+        .append("\n");
+    for (Pawn pawn : pawns) {
+      pawn.setOwner(owner);
+    }
+  }
+
+  @Override
+  public void clearPawns() {
+    log.append("Cell(").append(row).append(",").append(col).append(").clearPawns called\n");
+    pawns.clear();
+  }
+
   @Override
   public void addPawn(Player owner) {
     log.append("Cell(").append(row).append(",").append(col)